@@ -0,0 +1,63 @@
+package com.shakhbary.arabic_news_podcast.benchmarks;
+
+import com.shakhbary.arabic_news_podcast.config.AccessTokenService;
+import com.shakhbary.arabic_news_podcast.config.AppUserPrincipal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Per-request credential check: HTTP Basic re-runs a BCrypt match (strength 10, as configured in
+ * SecurityConfig) while a bearer access token is verified with one HMAC-SHA256.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthenticationBenchmark {
+
+  private static final String PASSWORD = "correct horse battery staple";
+
+  private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+  private final AccessTokenService accessTokenService =
+      new AccessTokenService("", "", Duration.ofMinutes(15), Duration.ofDays(1));
+
+  private String passwordHash;
+  private String accessToken;
+
+  @Setup
+  public void setUp() {
+    passwordHash = passwordEncoder.encode(PASSWORD);
+    accessToken =
+        accessTokenService
+            .issue(
+                UUID.randomUUID(), "listener", List.of(new SimpleGrantedAuthority("ROLE_USER")))
+            .value();
+  }
+
+  @Benchmark
+  public boolean basicBcryptMatch() {
+    return passwordEncoder.matches(PASSWORD, passwordHash);
+  }
+
+  @Benchmark
+  public Optional<AppUserPrincipal> bearerTokenVerify() {
+    return accessTokenService.verify(accessToken);
+  }
+}
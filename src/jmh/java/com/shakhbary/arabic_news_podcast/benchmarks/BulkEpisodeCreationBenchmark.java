@@ -0,0 +1,140 @@
+package com.shakhbary.arabic_news_podcast.benchmarks;
+
+import com.shakhbary.arabic_news_podcast.dtos.ArticleDto;
+import com.shakhbary.arabic_news_podcast.dtos.AudioDto;
+import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.pipeline.AgentEpisodeStreamReader;
+import com.shakhbary.arabic_news_podcast.pipeline.ArticleFingerprintFilter;
+import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService;
+import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService.IngestReport;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeAutomationServiceImpl;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.hibernate.Session;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * One bulk import (what POST /api/admin/automation/bulk-create-episodes runs after validation)
+ * against the in-memory H2 database of the test profile. {@code perEpisodeSaves} is the former path
+ * (one unbatched insert per row, the whole import in one persistence context); {@code
+ * batchedChunks} is the current one. H2 has no network round trips, so the gap on MySQL with
+ * rewriteBatchedStatements is larger than measured here.
+ *
+ * <p>Run with: {@code mvn -Pjmh test-compile exec:exec -Djmh.args="BulkEpisodeCreationBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkEpisodeCreationBenchmark {
+
+  @Param({"1000", "10000"})
+  private int episodes;
+
+  private ConfigurableApplicationContext context;
+  private EpisodeAutomationService episodeAutomationService;
+  private EntityManager entityManager;
+  private JdbcTemplate jdbcTemplate;
+  private TransactionTemplate transaction;
+  private List<CreateSampleDto> samples;
+  private int iteration;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(
+                EpisodeListReadBenchmark.BenchmarkPersistence.class,
+                EpisodeAutomationServiceImpl.class,
+                AgentEpisodeStreamReader.class,
+                ArticleFingerprintFilter.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties("spring.jpa.properties.hibernate.generate_statistics=false")
+            .run();
+    episodeAutomationService = context.getBean(EpisodeAutomationService.class);
+    entityManager = context.getBean(EntityManager.class);
+    jdbcTemplate = context.getBean(JdbcTemplate.class);
+    transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+  }
+
+  /** Fresh articles every iteration, so none are skipped as already ingested */
+  @Setup(Level.Iteration)
+  public void freshImport() {
+    jdbcTemplate.update("DELETE FROM episodes");
+    jdbcTemplate.update("DELETE FROM audios");
+    jdbcTemplate.update("DELETE FROM articles");
+    iteration++;
+    samples = IntStream.range(0, episodes).mapToObj(i -> sample(iteration + "-" + i)).toList();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<EpisodeDto> perEpisodeSaves() {
+    return transaction.execute(
+        status -> {
+          entityManager.unwrap(Session.class).setJdbcBatchSize(1);
+          List<EpisodeDto> created = new ArrayList<>(samples.size());
+          samples.forEach(sample -> created.add(episodeAutomationService.createEpisode(sample)));
+          return created;
+        });
+  }
+
+  @Benchmark
+  public IngestReport batchedChunks() {
+    return episodeAutomationService.createBulkEpisodes(samples);
+  }
+
+  private static CreateSampleDto sample(String i) {
+    EpisodeDto episode = new EpisodeDto();
+    episode.setTitle("Episode " + i);
+    episode.setDescription("Description of episode " + i);
+    episode.setScriptUrlPath("https://storage/script/" + i);
+
+    ArticleDto article = new ArticleDto();
+    article.setTitle("Article " + i);
+    article.setCategory("sports");
+    article.setAuthor("author");
+    article.setPublisher("publisher");
+    article.setContentRawUrl("https://storage/raw/" + i);
+    article.setScriptUrl("https://storage/script/" + i);
+
+    AudioDto audio = new AudioDto();
+    audio.setDuration(600);
+    audio.setFormat("mp3");
+    audio.setUrlPath("https://storage/audio/" + i);
+
+    CreateSampleDto sample = new CreateSampleDto();
+    sample.setEpisodeDto(episode);
+    sample.setArticleDto(article);
+    sample.setAudioDto(audio);
+    return sample;
+  }
+}
@@ -0,0 +1,166 @@
+package com.shakhbary.arabic_news_podcast.benchmarks;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeListItem;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapper;
+import com.shakhbary.arabic_news_podcast.models.Article;
+import com.shakhbary.arabic_news_podcast.models.Audio;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Entity hydration vs constructor projection for an episode list page, against the in-memory H2
+ * database of the test profile. {@code entityPage} is the former list path (fetch-joined managed
+ * entities, MapStruct copy, description truncated in Java); {@code projectionPage} is the current
+ * one. Both run in a read-only transaction, as the service methods do.
+ *
+ * <p>Run with: {@code mvn -Pjmh test-compile exec:exec -Djmh.args="EpisodeListReadBenchmark -prof
+ * gc"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EpisodeListReadBenchmark {
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  private ConfigurableApplicationContext context;
+  private EntityManager entityManager;
+  private EpisodeRepository episodeRepository;
+  private EpisodeMapper episodeMapper;
+  private TransactionTemplate readOnly;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(BenchmarkPersistence.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties("spring.jpa.properties.hibernate.generate_statistics=false")
+            .run();
+    entityManager = context.getBean(EntityManager.class);
+    episodeRepository = context.getBean(EpisodeRepository.class);
+    episodeMapper = context.getBean(EpisodeMapper.class);
+    PlatformTransactionManager transactionManager =
+        context.getBean(PlatformTransactionManager.class);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> seed(1_000));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public List<EpisodeDto> entityPage() {
+    return readOnly.execute(
+        status ->
+            entityManager
+                .createQuery(
+                    "SELECT e FROM Episode e LEFT JOIN FETCH e.article LEFT JOIN FETCH e.audio "
+                        + "ORDER BY e.creationDate DESC, e.id DESC",
+                    Episode.class)
+                .setMaxResults(pageSize)
+                .getResultList()
+                .stream()
+                .map(
+                    episode -> {
+                      EpisodeDto dto = episodeMapper.episodeToEpisodeDto(episode);
+                      dto.setDescription(truncate(episode.getDescription()));
+                      return dto;
+                    })
+                .toList());
+  }
+
+  @Benchmark
+  public List<EpisodeDto> projectionPage() {
+    return readOnly.execute(
+        status -> {
+          List<EpisodeListItem> items = episodeRepository.findFirstSlice(Limit.of(pageSize));
+          return items.stream().map(episodeMapper::episodeListItemToEpisodeDto).toList();
+        });
+  }
+
+  private static String truncate(String s) {
+    if (s == null || s.length() <= 180) return s;
+    return s.substring(0, 177) + "...";
+  }
+
+  private void seed(int count) {
+    OffsetDateTime now = OffsetDateTime.now();
+    String description = "أخبار اليوم ".repeat(40);
+    for (int i = 0; i < count; i++) {
+      OffsetDateTime created = now.minusMinutes(i);
+
+      Article article = new Article();
+      article.setTitle("Article " + i);
+      article.setCategory(i % 2 == 0 ? "sports" : "economy");
+      article.setAuthor("author");
+      article.setPublisher("publisher");
+      article.setContentRawUrl("https://storage/raw/" + UUID.randomUUID());
+      article.setScriptUrl("https://storage/script/" + UUID.randomUUID());
+      article.setFetchDate(created);
+      entityManager.persist(article);
+
+      Audio audio = new Audio();
+      audio.setArticle(article);
+      audio.setDuration(600);
+      audio.setFormat("mp3");
+      audio.setUrlPath("https://storage/audio/" + UUID.randomUUID());
+      audio.setCreationDate(created);
+      entityManager.persist(audio);
+
+      Episode episode = new Episode();
+      episode.setArticle(article);
+      episode.setAudio(audio);
+      episode.setTitle("Episode " + i);
+      episode.setDescription(description);
+      episode.setScriptUrlPath(article.getScriptUrl());
+      episode.setCreationDate(created);
+      entityManager.persist(episode);
+    }
+  }
+
+  /** Persistence-only context: JPA, the repositories and the mappers, without web or security. */
+  @Configuration
+  @EnableAutoConfiguration
+  @EntityScan(basePackageClasses = Episode.class)
+  @EnableJpaRepositories(basePackageClasses = EpisodeRepository.class)
+  @ComponentScan(basePackageClasses = EpisodeMapper.class)
+  static class BenchmarkPersistence {}
+}
@@ -0,0 +1,102 @@
+package com.shakhbary.arabic_news_podcast.benchmarks;
+
+import com.shakhbary.arabic_news_podcast.dtos.ArticleDto;
+import com.shakhbary.arabic_news_podcast.dtos.AudioDto;
+import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapper;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Article;
+import com.shakhbary.arabic_news_podcast.models.Audio;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * MapStruct mappings on the read path (entity to DTO, once per listed or detailed episode) and the
+ * ingest path (sample DTO to entity graph, once per created episode).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpisodeMapperBenchmark {
+
+  private final EpisodeMapper episodeMapper = new EpisodeMapperImpl();
+
+  private Episode episode;
+  private CreateSampleDto sample;
+
+  @Setup
+  public void setUp() {
+    OffsetDateTime now = OffsetDateTime.now();
+
+    Article article = new Article();
+    article.setId(UUID.randomUUID());
+    article.setTitle("عنوان المقال");
+    article.setCategory("economy");
+    article.setAuthor("author");
+    article.setPublisher("publisher");
+    article.setContentRawUrl("https://storage/raw/" + UUID.randomUUID());
+    article.setScriptUrl("https://storage/script/" + UUID.randomUUID());
+    article.setFetchDate(now);
+
+    Audio audio = new Audio();
+    audio.setDuration(1_245);
+    audio.setFormat("mp3");
+    audio.setUrlPath("https://storage/audio/" + UUID.randomUUID());
+
+    episode = new Episode();
+    episode.setId(UUID.randomUUID());
+    episode.setArticle(article);
+    episode.setAudio(audio);
+    episode.setTitle("نشرة الأخبار الاقتصادية");
+    episode.setDescription("أخبار اليوم ".repeat(20));
+    episode.setScriptUrlPath(article.getScriptUrl());
+    episode.setCreationDate(now);
+
+    EpisodeDto episodeDto = new EpisodeDto();
+    episodeDto.setTitle(episode.getTitle());
+    episodeDto.setDescription(episode.getDescription());
+    episodeDto.setScriptUrlPath(episode.getScriptUrlPath());
+    ArticleDto articleDto = new ArticleDto();
+    articleDto.setTitle(article.getTitle());
+    articleDto.setCategory(article.getCategory());
+    articleDto.setAuthor(article.getAuthor());
+    articleDto.setPublisher(article.getPublisher());
+    articleDto.setPublicationDate(now);
+    articleDto.setContentRawUrl(article.getContentRawUrl());
+    articleDto.setScriptUrl(article.getScriptUrl());
+    AudioDto audioDto = new AudioDto();
+    audioDto.setDuration(audio.getDuration());
+    audioDto.setFormat(audio.getFormat());
+    audioDto.setUrlPath(audio.getUrlPath());
+    sample = new CreateSampleDto();
+    sample.setEpisodeDto(episodeDto);
+    sample.setArticleDto(articleDto);
+    sample.setAudioDto(audioDto);
+  }
+
+  @Benchmark
+  public EpisodeDto episodeToEpisodeDto() {
+    return episodeMapper.episodeToEpisodeDto(episode);
+  }
+
+  @Benchmark
+  public Episode sampleEpisodeToEpisode() {
+    return episodeMapper.sampleEpisodeToEpisode(sample);
+  }
+}
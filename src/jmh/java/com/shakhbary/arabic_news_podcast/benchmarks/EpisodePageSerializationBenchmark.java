@@ -0,0 +1,86 @@
+package com.shakhbary.arabic_news_podcast.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson serialization of an /api/episodes page with the application's settings (ISO-8601 dates,
+ * UTC), with and without {@code spring.jackson.serialization.indent-output}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpisodePageSerializationBenchmark {
+
+  @Param({"20", "100"})
+  private int pageSize;
+
+  @Param({"true", "false"})
+  private boolean indentOutput;
+
+  private ObjectMapper objectMapper;
+  private Page<EpisodeDto> page;
+
+  @Setup
+  public void setUp() {
+    objectMapper =
+        Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .timeZone("UTC")
+            .indentOutput(indentOutput)
+            .build();
+
+    OffsetDateTime now = OffsetDateTime.now();
+    List<EpisodeDto> content =
+        IntStream.range(0, pageSize)
+            .mapToObj(
+                i ->
+                    new EpisodeDto(
+                        UUID.randomUUID(),
+                        "نشرة الأخبار " + i,
+                        "أخبار اليوم ".repeat(15),
+                        "https://storage/script/" + UUID.randomUUID(),
+                        "https://storage/image/" + UUID.randomUUID(),
+                        now.minusMinutes(i),
+                        "https://storage/audio/" + UUID.randomUUID(),
+                        1_245,
+                        UUID.randomUUID(),
+                        "عنوان المقال " + i,
+                        "author",
+                        "publisher",
+                        "economy",
+                        3.5,
+                        12))
+            .toList();
+    page = new PageImpl<>(content, PageRequest.of(0, pageSize), 1_000);
+  }
+
+  @Benchmark
+  public byte[] serializePage() throws Exception {
+    return objectMapper.writeValueAsBytes(page);
+  }
+}
@@ -0,0 +1,163 @@
+package com.shakhbary.arabic_news_podcast.benchmarks;
+
+import com.shakhbary.arabic_news_podcast.dtos.UserListeningAggregate;
+import com.shakhbary.arabic_news_podcast.models.Article;
+import com.shakhbary.arabic_news_podcast.models.Audio;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository;
+import com.shakhbary.arabic_news_podcast.repositories.UserRepository;
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * A heavy listener's stats, against the in-memory H2 database of the test profile. {@code
+ * entityScan} is the former path (load every progress row, lazily load each episode's audio for the
+ * completion percentage, load the in-progress rows again just to count them); {@code
+ * singleAggregate} is the current one.
+ *
+ * <p>Run with: {@code mvn -Pjmh test-compile exec:exec -Djmh.args="UserListeningStatsBenchmark"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserListeningStatsBenchmark {
+
+  @Param({"10000"})
+  private int progressRows;
+
+  private ConfigurableApplicationContext context;
+  private EpisodeProgressRepository episodeProgressRepository;
+  private UserRepository userRepository;
+  private TransactionTemplate readOnly;
+  private UUID userId;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(EpisodeListReadBenchmark.BenchmarkPersistence.class)
+            .web(WebApplicationType.NONE)
+            .profiles("test")
+            .properties(
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                // H2 would otherwise answer the repeated, unchanged aggregate from its result cache
+                "spring.datasource.url=jdbc:h2:mem:podcast;MODE=MySQL;DATABASE_TO_LOWER=TRUE;"
+                    + "DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE")
+            .run();
+    episodeProgressRepository = context.getBean(EpisodeProgressRepository.class);
+    userRepository = context.getBean(UserRepository.class);
+    PlatformTransactionManager transactionManager =
+        context.getBean(PlatformTransactionManager.class);
+    readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+    EntityManager entityManager = context.getBean(EntityManager.class);
+    userId =
+        new TransactionTemplate(transactionManager)
+            .execute(status -> seed(entityManager, progressRows));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public double[] entityScan() {
+    return readOnly.execute(
+        status -> {
+          long completed = episodeProgressRepository.countCompletedEpisodesByUser(userId);
+          List<EpisodeProgress> inProgress = episodeProgressRepository.findInProgressEpisodes(userId);
+          long inProgressCount = inProgress.stream().filter(ep -> !ep.isCompleted()).count();
+          double average =
+              episodeProgressRepository.findAllByUserOrdered(userId).stream()
+                  .mapToDouble(EpisodeProgress::calculateCompletionPercentage)
+                  .average()
+                  .orElse(0.0);
+          return new double[] {completed, inProgressCount, average};
+        });
+  }
+
+  @Benchmark
+  public UserListeningAggregate singleAggregate() {
+    return readOnly.execute(
+        status -> userRepository.findListeningAggregate(userId).orElseThrow());
+  }
+
+  private static UUID seed(EntityManager entityManager, int count) {
+    OffsetDateTime now = OffsetDateTime.now();
+    User user = new User();
+    user.setUsername("heavy-listener");
+    user.setEmail("heavy-listener@example.com");
+    user.setPassword("{noop}secret");
+    user.setCreationDate(now);
+    entityManager.persist(user);
+
+    for (int i = 0; i < count; i++) {
+      Article article = new Article();
+      article.setTitle("Article " + i);
+      article.setCategory("sports");
+      article.setAuthor("author");
+      article.setPublisher("publisher");
+      article.setContentRawUrl("https://storage/raw/" + UUID.randomUUID());
+      article.setScriptUrl("https://storage/script/" + UUID.randomUUID());
+      article.setFetchDate(now);
+      entityManager.persist(article);
+
+      Audio audio = new Audio();
+      audio.setArticle(article);
+      audio.setDuration(600);
+      audio.setFormat("mp3");
+      audio.setUrlPath("https://storage/audio/" + UUID.randomUUID());
+      audio.setCreationDate(now);
+      entityManager.persist(audio);
+
+      Episode episode = new Episode();
+      episode.setArticle(article);
+      episode.setAudio(audio);
+      episode.setTitle("Episode " + i);
+      episode.setScriptUrlPath(article.getScriptUrl());
+      episode.setCreationDate(now.minusMinutes(i));
+      entityManager.persist(episode);
+
+      EpisodeProgress progress = new EpisodeProgress();
+      progress.setUser(user);
+      progress.setEpisode(episode);
+      progress.setLastPositionSeconds(i % 601);
+      progress.setCompleted(i % 601 >= 570);
+      progress.setLastPlayedDate(now.minusMinutes(i));
+      entityManager.persist(progress);
+
+      if (i % 500 == 499) {
+        entityManager.flush();
+        entityManager.clear();
+        user = entityManager.getReference(User.class, user.getId());
+      }
+    }
+    return user.getId();
+  }
+}
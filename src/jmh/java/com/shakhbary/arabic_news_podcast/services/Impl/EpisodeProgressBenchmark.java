@@ -0,0 +1,64 @@
+package com.shakhbary.arabic_news_podcast.services.Impl;
+
+import com.shakhbary.arabic_news_podcast.models.Audio;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Per-DTO progress calculations: every {@code EpisodeProgressDto} computes the completion
+ * percentage and formats the position and the remaining time. Lives in the service package to
+ * reach the package-private {@link EpisodeProgressServiceImpl#formatDuration(long)}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EpisodeProgressBenchmark {
+
+  /** Under a minute, minutes only, and past the hour (HH:MM:SS branch) */
+  @Param({"45", "1245", "4000"})
+  private long positionSeconds;
+
+  private EpisodeProgress progress;
+
+  @Setup
+  public void setUp() {
+    Audio audio = new Audio();
+    audio.setDuration(5_400);
+    Episode episode = new Episode();
+    episode.setAudio(audio);
+
+    progress = new EpisodeProgress();
+    progress.setEpisode(episode);
+    progress.setLastPositionSeconds(positionSeconds);
+  }
+
+  @Benchmark
+  public double calculateCompletionPercentage() {
+    return progress.calculateCompletionPercentage();
+  }
+
+  @Benchmark
+  public String getFormattedPosition() {
+    return progress.getFormattedPosition();
+  }
+
+  @Benchmark
+  public String formatDuration() {
+    return EpisodeProgressServiceImpl.formatDuration(positionSeconds);
+  }
+}
@@ -0,0 +1,111 @@
+package com.shakhbary.arabic_news_podcast.analytics;
+
+import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
+import com.shakhbary.arabic_news_podcast.tracking.StoredProgress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Drop-off histogram of one episode, kept in primitive arrays: the number of listeners whose last
+ * position falls into each minute (completed listeners are counted separately), plus the listener
+ * total and the sum of all last positions for the average completion.
+ *
+ * <p>Updated per progress transition by removing the previous state and adding the new one, so
+ * reads are O(minutes) and never scan {@code episode_progress}. All access is synchronized on the
+ * instance.
+ */
+public final class DropOffHistogram {
+
+  /** Positions past this many minutes share the last bucket */
+  static final int MAX_MINUTES = (int) (EpisodeProgress.MAX_POSITION_SECONDS / 60);
+
+  private int[] minuteCounts;
+  private long listeners;
+  private long completions;
+  private long positionSecondsSum;
+
+  /** Point-in-time copy of a histogram. */
+  public record Snapshot(
+      int[] minuteCounts, long listeners, long completions, long positionSecondsSum) {}
+
+  DropOffHistogram(int[] minuteCounts, long listeners, long completions, long positionSecondsSum) {
+    this.minuteCounts = minuteCounts;
+    this.listeners = listeners;
+    this.completions = completions;
+    this.positionSecondsSum = positionSecondsSum;
+  }
+
+  static DropOffHistogram empty() {
+    return new DropOffHistogram(new int[0], 0, 0, 0);
+  }
+
+  /**
+   * Move one listener from its previous state to its current one.
+   *
+   * @param previous State before the write, or null for a new listener
+   * @param current State after the write
+   */
+  synchronized void apply(StoredProgress previous, StoredProgress current) {
+    if (previous == null) {
+      listeners++;
+    } else {
+      add(previous, -1);
+    }
+    add(current, 1);
+  }
+
+  synchronized void addBucket(long minute, long count) {
+    int bucket = bucket(minute);
+    ensureCapacity(bucket);
+    minuteCounts[bucket] += (int) count;
+  }
+
+  synchronized void addTotals(long listeners, long completions, long positionSecondsSum) {
+    this.listeners += listeners;
+    this.completions += completions;
+    this.positionSecondsSum += positionSecondsSum;
+  }
+
+  synchronized Snapshot snapshot() {
+    return new Snapshot(minuteCounts.clone(), listeners, completions, positionSecondsSum);
+  }
+
+  /** Packs the minute counts as big-endian ints, without trailing empty minutes. */
+  static byte[] encodeMinuteCounts(int[] minuteCounts) {
+    int length = minuteCounts.length;
+    while (length > 0 && minuteCounts[length - 1] == 0) {
+      length--;
+    }
+    ByteBuffer buffer = ByteBuffer.allocate(length * Integer.BYTES);
+    buffer.asIntBuffer().put(minuteCounts, 0, length);
+    return buffer.array();
+  }
+
+  static int[] decodeMinuteCounts(byte[] packed) {
+    int[] counts = new int[packed.length / Integer.BYTES];
+    ByteBuffer.wrap(packed).asIntBuffer().get(counts);
+    return counts;
+  }
+
+  private void add(StoredProgress state, int sign) {
+    positionSecondsSum += sign * state.positionSeconds();
+    if (state.completed()) {
+      completions += sign;
+      return;
+    }
+    int minute = bucket(state.positionSeconds() / 60);
+    ensureCapacity(minute);
+    minuteCounts[minute] += sign;
+  }
+
+  /** Positions are clamped before they are stored; this only guards the array bounds */
+  private static int bucket(long minute) {
+    return (int) Math.min(Math.max(minute, 0), MAX_MINUTES - 1);
+  }
+
+  private void ensureCapacity(int minute) {
+    if (minute >= minuteCounts.length) {
+      minuteCounts = Arrays.copyOf(minuteCounts, Math.max(minute + 1, minuteCounts.length * 2));
+    }
+  }
+}
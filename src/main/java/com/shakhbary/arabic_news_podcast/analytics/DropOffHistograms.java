@@ -0,0 +1,172 @@
+package com.shakhbary.arabic_news_podcast.analytics;
+
+import com.shakhbary.arabic_news_podcast.events.ProgressChangedEvent;
+import com.shakhbary.arabic_news_podcast.models.EpisodeDropOffHistogram;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeDropOffHistogramRepository;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository.DropOffBucketCount;
+import jakarta.annotation.PreDestroy;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Owns the per-episode drop-off histograms. A histogram is loaded on first use from {@code
+ * episode_dropoff_histogram}, or built from {@code episode_progress} with one grouped query if it
+ * was never persisted, and is then kept current from {@link ProgressChangedEvent}s. Changed
+ * histograms are written back periodically and at shutdown.
+ *
+ * <p>The in-memory copy is authoritative, so a single instance must own the histograms. Transitions
+ * of concurrent writes to the same row may be applied from slightly stale previous states; the
+ * figures are analytics, and {@link #rebuild} recomputes them exactly from {@code
+ * episode_progress}.
+ */
+@Component
+@Slf4j
+public class DropOffHistograms {
+
+  private final EpisodeDropOffHistogramRepository histogramRepository;
+  private final EpisodeProgressRepository episodeProgressRepository;
+  private final TransactionTemplate transactionTemplate;
+
+  private final Map<UUID, DropOffHistogram> histograms = new ConcurrentHashMap<>();
+  private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+
+  public DropOffHistograms(
+      EpisodeDropOffHistogramRepository histogramRepository,
+      EpisodeProgressRepository episodeProgressRepository,
+      PlatformTransactionManager transactionManager) {
+    this.histogramRepository = histogramRepository;
+    this.episodeProgressRepository = episodeProgressRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /**
+   * Get a copy of an episode's histogram.
+   *
+   * @param episodeId Episode ID
+   * @return Current histogram (empty if nobody has played the episode)
+   */
+  public DropOffHistogram.Snapshot snapshot(UUID episodeId) {
+    return histograms.computeIfAbsent(episodeId, id -> load(id, new AtomicBoolean())).snapshot();
+  }
+
+  /** Move the listener's bucket once the progress write is committed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProgressChanged(ProgressChangedEvent event) {
+    DropOffHistogram histogram = histograms.get(event.episodeId());
+    if (histogram == null) {
+      AtomicBoolean builtFromProgress = new AtomicBoolean();
+      histogram = histograms.computeIfAbsent(event.episodeId(), id -> load(id, builtFromProgress));
+      if (builtFromProgress.get()) {
+        return; // built from committed rows, which already include this write
+      }
+    }
+    histogram.apply(event.previous(), event.current());
+    dirty.add(event.episodeId());
+  }
+
+  /**
+   * Recompute an episode's histogram from {@code episode_progress}, replacing the in-memory copy.
+   * The result is persisted by the next flush.
+   *
+   * @param episodeId Episode ID
+   */
+  public void rebuild(UUID episodeId) {
+    histograms.put(episodeId, buildFromProgress(episodeId));
+    dirty.add(episodeId);
+  }
+
+  /**
+   * Write every histogram changed since the last flush. Histograms that fail to write stay dirty
+   * and are retried by the next flush.
+   *
+   * @return Number of histograms written
+   */
+  @Scheduled(fixedDelayString = "${app.analytics.dropoff.flush-interval-ms:30000}")
+  public synchronized int flush() {
+    List<UUID> changed = List.copyOf(dirty);
+    if (changed.isEmpty()) {
+      return 0;
+    }
+    // Cleared before the snapshot, so changes made during the write are flushed next time
+    dirty.removeAll(changed);
+    try {
+      OffsetDateTime now = OffsetDateTime.now();
+      transactionTemplate.executeWithoutResult(
+          status -> changed.forEach(episodeId -> write(episodeId, now)));
+      log.debug("Flushed {} drop-off histograms", changed.size());
+      return changed.size();
+    } catch (RuntimeException e) {
+      log.error(
+          "Drop-off histogram flush of {} episodes failed: {}", changed.size(), e.getMessage());
+      dirty.addAll(changed);
+      return 0;
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    int written = flush();
+    log.info("Drop-off histograms flushed {} episodes at shutdown", written);
+  }
+
+  private void write(UUID episodeId, OffsetDateTime now) {
+    DropOffHistogram.Snapshot snapshot = histograms.get(episodeId).snapshot();
+    histogramRepository.upsert(
+        episodeId,
+        DropOffHistogram.encodeMinuteCounts(snapshot.minuteCounts()),
+        snapshot.listeners(),
+        snapshot.completions(),
+        snapshot.positionSecondsSum(),
+        now);
+  }
+
+  private DropOffHistogram load(UUID episodeId, AtomicBoolean builtFromProgress) {
+    return histogramRepository
+        .findById(episodeId)
+        .map(DropOffHistograms::fromStored)
+        .orElseGet(
+            () -> {
+              builtFromProgress.set(true);
+              dirty.add(episodeId);
+              return buildFromProgress(episodeId);
+            });
+  }
+
+  private static DropOffHistogram fromStored(EpisodeDropOffHistogram stored) {
+    return new DropOffHistogram(
+        DropOffHistogram.decodeMinuteCounts(stored.getMinuteCounts()),
+        stored.getListenerCount(),
+        stored.getCompletedCount(),
+        stored.getPositionSecondsSum());
+  }
+
+  private DropOffHistogram buildFromProgress(UUID episodeId) {
+    DropOffHistogram histogram = DropOffHistogram.empty();
+    long listeners = 0;
+    long completions = 0;
+    long positionSecondsSum = 0;
+    for (DropOffBucketCount bucket : episodeProgressRepository.countDropOffBuckets(episodeId)) {
+      listeners += bucket.getListeners();
+      positionSecondsSum += bucket.getPositionSeconds();
+      if (bucket.getBucket() < 0) {
+        completions += bucket.getListeners();
+      } else {
+        histogram.addBucket(bucket.getBucket(), bucket.getListeners());
+      }
+    }
+    histogram.addTotals(listeners, completions, positionSecondsSum);
+    return histogram;
+  }
+}
@@ -0,0 +1,231 @@
+package com.shakhbary.arabic_news_podcast.analytics;
+
+import com.shakhbary.arabic_news_podcast.events.ProgressChangedEvent;
+import com.shakhbary.arabic_news_podcast.tracking.StoredProgress;
+import com.shakhbary.arabic_news_podcast.tracking.UuidBytes;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Accumulates per-episode engagement deltas in memory and adds them to {@code episode_engagement}
+ * periodically with one batch of relative upserts, like ListeningTimeAccumulator does for users.
+ *
+ * <p>Counting rules, applied to committed {@link ProgressChangedEvent}s:
+ *
+ * <ul>
+ *   <li>A new progress row is a new listener and a play
+ *   <li>Moving back into the first minute after having passed it starts another play
+ *   <li>A row becoming completed is a completion (completion is sticky, so at most one per
+ *       listener)
+ * </ul>
+ *
+ * Seconds listened come from the players' listening time reports.
+ */
+@Component
+@Slf4j
+public class EngagementCounters {
+
+  static final long RESTART_WINDOW_SECONDS = 60;
+
+  private static final String ADD_SQL =
+      "INSERT INTO episode_engagement (episode_id, play_count, listener_count, completed_count, seconds_listened, updated_date) "
+          + "VALUES (?, ?, ?, ?, ?, ?) "
+          + "ON DUPLICATE KEY UPDATE play_count = play_count + VALUES(play_count), listener_count = listener_count + VALUES(listener_count), "
+          + "completed_count = completed_count + VALUES(completed_count), seconds_listened = seconds_listened + VALUES(seconds_listened), "
+          + "updated_date = VALUES(updated_date)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<UUID, Deltas> pending = new ConcurrentHashMap<>();
+
+  /** Unflushed engagement of one episode. */
+  public record Engagement(long plays, long listeners, long completions, long secondsListened) {}
+
+  public EngagementCounters(
+      JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /** Count the plays, listeners and completions a committed progress write represents. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onProgressChanged(ProgressChangedEvent event) {
+    StoredProgress previous = event.previous();
+    StoredProgress current = event.current();
+    boolean newListener = previous == null;
+    boolean restarted =
+        !newListener
+            && previous.positionSeconds() >= RESTART_WINDOW_SECONDS
+            && current.positionSeconds() < RESTART_WINDOW_SECONDS;
+    boolean completed = current.completed() && (newListener || !previous.completed());
+    if (!newListener && !restarted && !completed) {
+      return;
+    }
+
+    Deltas deltas = deltas(event.episodeId());
+    if (newListener) {
+      deltas.listeners.increment();
+    }
+    if (newListener || restarted) {
+      deltas.plays.increment();
+    }
+    if (completed) {
+      deltas.completions.increment();
+    }
+  }
+
+  /**
+   * Record listened seconds for an episode. Non-positive amounts are ignored.
+   *
+   * @param episodeId Episode being played
+   * @param seconds Seconds listened since the last report
+   */
+  public void addSecondsListened(UUID episodeId, long seconds) {
+    if (seconds > 0) {
+      deltas(episodeId).seconds.add(seconds);
+    }
+  }
+
+  /**
+   * Get the engagement recorded for an episode but not yet written.
+   *
+   * @param episodeId Episode ID
+   * @return Unflushed deltas (zeros if none)
+   */
+  public Engagement pending(UUID episodeId) {
+    Deltas deltas = pending.get(episodeId);
+    return deltas == null ? new Engagement(0, 0, 0, 0) : deltas.sum();
+  }
+
+  /**
+   * Drain every episode's deltas and add them as one batch. If the batch fails, each episode is
+   * retried on its own: deltas of episodes that no longer exist are dropped, and any other failure
+   * adds them back for the next flush, so one bad row cannot block the others.
+   *
+   * @return Number of episodes written
+   */
+  @Scheduled(fixedDelayString = "${app.analytics.engagement.flush-interval-ms:10000}")
+  public synchronized int flush() {
+    List<UUID> episodeIds = new ArrayList<>();
+    List<Engagement> batch = new ArrayList<>();
+    for (Map.Entry<UUID, Deltas> entry : pending.entrySet()) {
+      Engagement drained = entry.getValue().sumThenReset();
+      if (!drained.equals(new Engagement(0, 0, 0, 0))) {
+        episodeIds.add(entry.getKey());
+        batch.add(drained);
+      }
+    }
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    Timestamp now = Timestamp.from(Instant.now());
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              jdbcTemplate.batchUpdate(
+                  ADD_SQL,
+                  new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                      setAddValues(ps, episodeIds.get(i), batch.get(i), now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                      return batch.size();
+                    }
+                  }));
+      log.debug("Flushed engagement counters for {} episodes", batch.size());
+      return batch.size();
+    } catch (RuntimeException e) {
+      log.error(
+          "Engagement flush for {} episodes failed, retrying them one by one: {}",
+          batch.size(),
+          e.getMessage());
+    }
+
+    int written = 0;
+    for (int i = 0; i < batch.size(); i++) {
+      UUID episodeId = episodeIds.get(i);
+      Engagement engagement = batch.get(i);
+      try {
+        jdbcTemplate.update(ADD_SQL, ps -> setAddValues(ps, episodeId, engagement, now));
+        written++;
+      } catch (DataIntegrityViolationException e) {
+        log.warn("Dropping engagement of unknown episode {}: {}", episodeId, e.getMessage());
+        pending.remove(episodeId);
+      } catch (RuntimeException e) {
+        log.error("Engagement flush for episode {} failed: {}", episodeId, e.getMessage());
+        deltas(episodeId).add(engagement);
+      }
+    }
+    return written;
+  }
+
+  private static void setAddValues(
+      PreparedStatement ps, UUID episodeId, Engagement engagement, Timestamp now)
+      throws SQLException {
+    ps.setBytes(1, UuidBytes.toBytes(episodeId));
+    ps.setLong(2, engagement.plays());
+    ps.setLong(3, engagement.listeners());
+    ps.setLong(4, engagement.completions());
+    ps.setLong(5, engagement.secondsListened());
+    ps.setTimestamp(6, now);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    int written = flush();
+    log.info("Engagement counters flushed {} episodes at shutdown", written);
+  }
+
+  private Deltas deltas(UUID episodeId) {
+    // Kept for the process lifetime, see ListeningTimeAccumulator
+    return pending.computeIfAbsent(episodeId, id -> new Deltas());
+  }
+
+  private static final class Deltas {
+    private final LongAdder plays = new LongAdder();
+    private final LongAdder listeners = new LongAdder();
+    private final LongAdder completions = new LongAdder();
+    private final LongAdder seconds = new LongAdder();
+
+    Engagement sum() {
+      return new Engagement(plays.sum(), listeners.sum(), completions.sum(), seconds.sum());
+    }
+
+    Engagement sumThenReset() {
+      return new Engagement(
+          plays.sumThenReset(),
+          listeners.sumThenReset(),
+          completions.sumThenReset(),
+          seconds.sumThenReset());
+    }
+
+    void add(Engagement engagement) {
+      plays.add(engagement.plays());
+      listeners.add(engagement.listeners());
+      completions.add(engagement.completions());
+      seconds.add(engagement.secondsListened());
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package com.shakhbary.arabic_news_podcast.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.events.RatingChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Size-bounded cache of episode details ({@link EpisodeDto}) keyed by episode ID.
+ *
+ * <p>Episodes never change after ingest, so entries are only ever touched by rating changes, which
+ * invalidate the entry once committed. An invalidation waits for a load of the same episode that is
+ * in flight, so a load that read the ratings before the commit cannot outlive it. Entries also
+ * expire after a TTL, which bounds the damage of any change that bypasses the rating events.
+ * Eviction uses Caffeine's W-TinyLFU policy, which keeps frequently requested episodes resident
+ * under scans. Hit, miss and eviction counters are published as {@code cache.*} metrics with {@code
+ * cache=episodeDetail}.
+ *
+ * <p>Cached instances are shared between requests and must be treated as read-only.
+ */
+@Component
+@Slf4j
+public class EpisodeDetailCache {
+
+  static final String CACHE_NAME = "episodeDetail";
+
+  private final Cache<UUID, EpisodeDto> cache;
+
+  public EpisodeDetailCache(
+      @Value("${app.cache.episode-detail.max-size:10000}") long maxSize,
+      @Value("${app.cache.episode-detail.ttl:30m}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  /**
+   * Get an episode's details, loading them on a miss. Concurrent misses for the same episode share
+   * one load; a loader exception is propagated and nothing is cached.
+   *
+   * @param episodeId Episode ID
+   * @param loader Loads the details from the database
+   * @return Cached or freshly loaded details
+   */
+  public EpisodeDto get(UUID episodeId, Function<UUID, EpisodeDto> loader) {
+    return cache.get(episodeId, loader);
+  }
+
+  /**
+   * Get an episode's details only if cached.
+   *
+   * @param episodeId Episode ID
+   * @return Cached details, or null
+   */
+  public EpisodeDto getIfPresent(UUID episodeId) {
+    return cache.getIfPresent(episodeId);
+  }
+
+  /**
+   * Drop an episode's cached details.
+   *
+   * @param episodeId Episode ID
+   */
+  public void invalidate(UUID episodeId) {
+    cache.invalidate(episodeId);
+  }
+
+  /** Drop a rated episode's cached details once the rating is committed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRatingChanged(RatingChangedEvent event) {
+    cache.invalidate(event.episodeId());
+  }
+}
@@ -0,0 +1,61 @@
+package com.shakhbary.arabic_news_podcast.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shakhbary.arabic_news_podcast.events.UserAccountChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Size-bounded, time-limited cache of loaded {@link UserDetails} keyed by username, used by the
+ * DaoAuthenticationProvider so that HTTP Basic requests do not query users and roles every time.
+ *
+ * <p>Entries are dropped when a {@link UserAccountChangedEvent} commits. The expiry bounds how long
+ * changes made outside the application (e.g. directly in the database) can go unnoticed; a changed
+ * password is picked up immediately because the provider reloads the user when the cached password
+ * does not match. Hit, miss and eviction counters are published as {@code cache.*} metrics with
+ * {@code cache=userDetails}.
+ */
+@Component
+public class UserDetailsCache implements UserCache {
+
+  static final String CACHE_NAME = "userDetails";
+
+  private final Cache<String, UserDetails> cache;
+
+  public UserDetailsCache(
+      @Value("${app.cache.user-details.max-size:10000}") long maxSize,
+      @Value("${app.cache.user-details.ttl:5m}") Duration ttl,
+      MeterRegistry meterRegistry) {
+    this.cache =
+        Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttl).recordStats().build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  @Override
+  public UserDetails getUserFromCache(String username) {
+    return cache.getIfPresent(username);
+  }
+
+  @Override
+  public void putUserInCache(UserDetails user) {
+    cache.put(user.getUsername(), user);
+  }
+
+  @Override
+  public void removeUserFromCache(String username) {
+    cache.invalidate(username);
+  }
+
+  /** Drop a user's cached details once the account change is committed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onUserAccountChanged(UserAccountChangedEvent event) {
+    removeUserFromCache(event.username());
+  }
+}
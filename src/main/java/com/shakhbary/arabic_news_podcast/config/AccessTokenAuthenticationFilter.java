@@ -0,0 +1,73 @@
+package com.shakhbary.arabic_news_podcast.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextHolderStrategy;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Authenticates requests that carry an {@code Authorization: Bearer} access token. Requests without
+ * one fall through to HTTP Basic, which the admin tooling still uses. An invalid or expired token
+ * is rejected with 401 rather than silently treated as anonymous, so clients know to refresh.
+ *
+ * <p>Registered only inside the security filter chain (see SecurityConfig), not as a servlet
+ * filter.
+ */
+@RequiredArgsConstructor
+public class AccessTokenAuthenticationFilter extends OncePerRequestFilter {
+
+  static final String BEARER_PREFIX = "Bearer ";
+
+  private final AccessTokenService accessTokenService;
+  private final SecurityContextHolderStrategy securityContextHolderStrategy =
+      SecurityContextHolder.getContextHolderStrategy();
+
+  /** Extracts the bearer token from the Authorization header, if there is one */
+  public static Optional<String> bearerToken(String authorizationHeader) {
+    if (authorizationHeader == null
+        || !authorizationHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+      return Optional.empty();
+    }
+    return Optional.of(authorizationHeader.substring(BEARER_PREFIX.length()).trim());
+  }
+
+  @Override
+  protected boolean shouldNotFilter(HttpServletRequest request) {
+    // The refresh endpoint verifies (possibly expired) tokens itself
+    return "/api/auth/refresh".equals(request.getServletPath());
+  }
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+      throws ServletException, IOException {
+    Optional<String> token = bearerToken(request.getHeader(HttpHeaders.AUTHORIZATION));
+    if (token.isEmpty()) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    Optional<AppUserPrincipal> principal = accessTokenService.verify(token.get());
+    if (principal.isEmpty()) {
+      response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer error=\"invalid_token\"");
+      response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired access token");
+      return;
+    }
+
+    SecurityContext context = securityContextHolderStrategy.createEmptyContext();
+    context.setAuthentication(
+        UsernamePasswordAuthenticationToken.authenticated(
+            principal.get(), null, principal.get().getAuthorities()));
+    securityContextHolderStrategy.setContext(context);
+    filterChain.doFilter(request, response);
+  }
+}
@@ -0,0 +1,185 @@
+package com.shakhbary.arabic_news_podcast.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed access tokens, so that authenticated requests are
+ * checked with one MAC computation instead of a BCrypt password match.
+ *
+ * <p>Token format: {@code kid.payload.signature}, where the payload is the base64url encoding of
+ * {@code userId|expiresAtEpochSeconds|roles|username} and the signature covers {@code kid.payload}.
+ *
+ * <p>Key rotation: {@code app.auth.token.signing-keys} lists every key that is still accepted as
+ * {@code kid:base64Secret} pairs, and new tokens are signed with {@code
+ * app.auth.token.active-key-id}. To rotate, add the new key, switch the active id, and drop the old
+ * key once the token TTL plus the refresh grace period has passed. Without configured keys an
+ * ephemeral key is generated, so tokens do not survive a restart and are not shared between
+ * instances.
+ */
+@Component
+@Slf4j
+public class AccessTokenService {
+
+  private static final String ALGORITHM = "HmacSHA256";
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  private final Map<String, SecretKeySpec> keys;
+  private final String activeKeyId;
+  private final Duration ttl;
+  private final Duration refreshGrace;
+
+  /** A signed token and the instant it stops being accepted */
+  public record IssuedToken(String value, Instant expiresAt) {}
+
+  public AccessTokenService(
+      @Value("${app.auth.token.signing-keys:}") String signingKeys,
+      @Value("${app.auth.token.active-key-id:}") String activeKeyId,
+      @Value("${app.auth.token.ttl:15m}") Duration ttl,
+      @Value("${app.auth.token.refresh-grace:1d}") Duration refreshGrace) {
+    this.keys = parseKeys(signingKeys);
+    if (keys.isEmpty()) {
+      log.warn("No access token signing keys configured; using an ephemeral key");
+      byte[] secret = new byte[32];
+      new SecureRandom().nextBytes(secret);
+      keys.put("ephemeral", new SecretKeySpec(secret, ALGORITHM));
+    }
+    this.activeKeyId = activeKeyId.isBlank() ? keys.keySet().iterator().next() : activeKeyId;
+    if (!keys.containsKey(this.activeKeyId)) {
+      throw new IllegalStateException("Unknown active signing key id: " + this.activeKeyId);
+    }
+    this.ttl = ttl;
+    this.refreshGrace = refreshGrace;
+  }
+
+  /** Issues a token for the given user that expires after the configured TTL */
+  public IssuedToken issue(
+      UUID userId, String username, Collection<? extends GrantedAuthority> authorities) {
+    return issue(userId, username, authorities, Instant.now());
+  }
+
+  IssuedToken issue(
+      UUID userId,
+      String username,
+      Collection<? extends GrantedAuthority> authorities,
+      Instant issuedAt) {
+    Instant expiresAt = issuedAt.plus(ttl).truncatedTo(ChronoUnit.SECONDS);
+    String roles =
+        authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.joining(","));
+    String payload = userId + "|" + expiresAt.getEpochSecond() + "|" + roles + "|" + username;
+    String signed =
+        activeKeyId + "." + ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    return new IssuedToken(
+        signed + "." + ENCODER.encodeToString(sign(keys.get(activeKeyId), signed)), expiresAt);
+  }
+
+  /**
+   * Verifies a token's signature and expiry.
+   *
+   * @return The principal the token was issued for, or empty if the token is malformed, signed with
+   *     an unknown key, tampered with or expired
+   */
+  public Optional<AppUserPrincipal> verify(String token) {
+    return verify(token, Instant.now(), Duration.ZERO);
+  }
+
+  /**
+   * Verifies a token for refreshing. Tokens that expired less than the refresh grace period ago are
+   * still accepted; the caller is expected to reload the user before issuing a new token.
+   */
+  public Optional<AppUserPrincipal> verifyForRefresh(String token) {
+    return verify(token, Instant.now(), refreshGrace);
+  }
+
+  Optional<AppUserPrincipal> verify(String token, Instant now, Duration grace) {
+    int firstDot = token.indexOf('.');
+    int lastDot = token.lastIndexOf('.');
+    if (firstDot <= 0 || lastDot == firstDot) {
+      return Optional.empty();
+    }
+    SecretKeySpec key = keys.get(token.substring(0, firstDot));
+    if (key == null) {
+      return Optional.empty();
+    }
+    try {
+      byte[] expected = sign(key, token.substring(0, lastDot));
+      byte[] actual = DECODER.decode(token.substring(lastDot + 1));
+      if (!MessageDigest.isEqual(expected, actual)) {
+        return Optional.empty();
+      }
+
+      String payload =
+          new String(
+              DECODER.decode(token.substring(firstDot + 1, lastDot)), StandardCharsets.UTF_8);
+      String[] claims = payload.split("\\|", 4);
+      Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(claims[1]));
+      if (!now.isBefore(expiresAt.plus(grace))) {
+        return Optional.empty();
+      }
+      Set<GrantedAuthority> authorities =
+          claims[2].isEmpty()
+              ? Set.of()
+              : Arrays.stream(claims[2].split(","))
+                  .map(SimpleGrantedAuthority::new)
+                  .collect(Collectors.toUnmodifiableSet());
+      // Token-authenticated principals never carry a password
+      return Optional.of(
+          new AppUserPrincipal(UUID.fromString(claims[0]), claims[3], null, true, authorities));
+    } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+      return Optional.empty();
+    }
+  }
+
+  private static byte[] sign(SecretKeySpec key, String content) {
+    try {
+      // Mac instances are not thread-safe, and creating one is cheap next to a BCrypt match
+      Mac mac = Mac.getInstance(ALGORITHM);
+      mac.init(key);
+      return mac.doFinal(content.getBytes(StandardCharsets.UTF_8));
+    } catch (GeneralSecurityException e) {
+      throw new IllegalStateException("HMAC-SHA256 is not available", e);
+    }
+  }
+
+  private static Map<String, SecretKeySpec> parseKeys(String signingKeys) {
+    Map<String, SecretKeySpec> parsed = new LinkedHashMap<>();
+    for (String entry : signingKeys.split(",")) {
+      if (entry.isBlank()) {
+        continue;
+      }
+      int separator = entry.indexOf(':');
+      String keyId = separator > 0 ? entry.substring(0, separator).trim() : "";
+      if (keyId.isEmpty() || keyId.contains(".")) {
+        throw new IllegalStateException("Signing keys must be configured as kid:base64Secret");
+      }
+      byte[] secret = Base64.getDecoder().decode(entry.substring(separator + 1).trim());
+      if (secret.length < 32) {
+        throw new IllegalStateException("Signing key " + keyId + " must be at least 256 bits");
+      }
+      parsed.put(keyId, new SecretKeySpec(secret, ALGORITHM));
+    }
+    return parsed;
+  }
+}
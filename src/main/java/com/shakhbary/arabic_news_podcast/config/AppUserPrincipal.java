@@ -0,0 +1,37 @@
+package com.shakhbary.arabic_news_podcast.config;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Authenticated principal built by CustomUserDetailsService. Carries the user's ID so that
+ * controllers can pass it straight to services (via {@code @AuthenticationPrincipal}) instead of
+ * looking the user up by username again on every request.
+ *
+ * <p>Deliberately not a CredentialsContainer: the authentication manager would otherwise erase the
+ * password hash of an instance that may be shared with a user cache.
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode(of = "id")
+@ToString(exclude = "password")
+public class AppUserPrincipal implements UserDetails {
+
+  private final UUID id;
+  private final String username;
+  private final String password;
+  private final boolean enabled;
+  private final Set<GrantedAuthority> authorities;
+
+  @Override
+  public Collection<? extends GrantedAuthority> getAuthorities() {
+    return authorities;
+  }
+}
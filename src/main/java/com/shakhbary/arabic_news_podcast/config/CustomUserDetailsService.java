@@ -17,7 +17,8 @@ import org.springframework.stereotype.Service;
  * database for authentication.
  *
  * <p>Features: - Loads user by username from database - Maps user roles to Spring Security
- * authorities - Supports account enabled/disabled status
+ * authorities - Supports account enabled/disabled status - Exposes the user ID through {@link
+ * AppUserPrincipal}
  */
 @Service
 @RequiredArgsConstructor
@@ -38,13 +39,8 @@ public class CustomUserDetailsService implements UserDetailsService {
             .map(role -> new SimpleGrantedAuthority(role.getName()))
             .collect(Collectors.toSet());
 
-    return new org.springframework.security.core.userdetails.User(
-        user.getUsername(),
-        user.getPassword(),
-        user.isEnabled(), // Account enabled
-        true, // Account not expired
-        true, // Credentials not expired
-        true, // Account not locked
-        authorities);
+    // Account expiry, locking and credential expiry are not modelled and default to valid
+    return new AppUserPrincipal(
+        user.getId(), user.getUsername(), user.getPassword(), user.isEnabled(), authorities);
   }
 }
@@ -1,28 +1,31 @@
 package com.shakhbary.arabic_news_podcast.config;
 
+import com.shakhbary.arabic_news_podcast.cache.UserDetailsCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.Customizer;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.web.cors.CorsConfigurationSource;
 
 /**
  * Spring Security configuration with authentication and CORS support.
  *
- * <p>Features: - Basic Authentication with username/password - Role-based access control (ADMIN,
- * USER) - Password encryption with BCrypt - CORS enabled for Angular frontend - Stateless session
- * management (REST API)
+ * <p>Features: - Signed bearer access tokens issued at login - Basic Authentication with
+ * username/password - Role-based access control (ADMIN, USER) - Password encryption with BCrypt -
+ * CORS enabled for Angular frontend - Stateless session management (REST API)
  *
  * <p>Authentication: - Uses CustomUserDetailsService to load users from database - Passwords are
- * hashed with BCrypt - Basic Auth header: Authorization: Basic base64(username:password)
+ * hashed with BCrypt - Bearer header: Authorization: Bearer {accessToken}, verified with one HMAC
+ * (see AccessTokenService) - Basic Auth header: Authorization: Basic base64(username:password)
  */
 @Configuration
 @EnableWebSecurity
@@ -31,6 +34,8 @@ public class SecurityConfig {
 
   private final CustomUserDetailsService userDetailsService;
   private final CorsConfigurationSource anpCorsConfigSource;
+  private final AccessTokenService accessTokenService;
+  private final UserDetailsCache userDetailsCache;
 
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -50,16 +55,22 @@ public class SecurityConfig {
                     .permitAll() // User registration
                     .requestMatchers("/api/auth/login")
                     .permitAll() // User login
+                    .requestMatchers("/api/auth/refresh")
+                    .permitAll() // Access token refresh (verifies the token itself)
                     .requestMatchers("/api/episodes/**")
                     .permitAll() // Browse episodes
                     .requestMatchers("/api/audio/**")
                     .permitAll() // Stream audio
                     .requestMatchers("/api/home/**")
                     .permitAll() // Homepage content
+                    .requestMatchers("/actuator/health")
+                    .permitAll() // Liveness/readiness probes
 
                     // Admin endpoints - require ADMIN role
                     .requestMatchers("/api/admin/**")
                     .hasRole("ADMIN")
+                    .requestMatchers("/actuator/**")
+                    .hasRole("ADMIN") // Metrics
 
                     // User endpoints - require USER or ADMIN role
                     .requestMatchers("/api/users/**")
@@ -74,7 +85,13 @@ public class SecurityConfig {
                     .anyRequest()
                     .permitAll())
 
-        // Enable HTTP Basic Authentication
+        // Basic credentials are checked by this chain's own manager, so loaded users are cached
+        .authenticationManager(new ProviderManager(basicAuthenticationProvider()))
+
+        // Signed access tokens first; HTTP Basic stays available for admin tooling
+        .addFilterBefore(
+            new AccessTokenAuthenticationFilter(accessTokenService),
+            BasicAuthenticationFilter.class)
         .httpBasic(Customizer.withDefaults())
 
         // Stateless session management (no server-side sessions)
@@ -86,24 +103,21 @@ public class SecurityConfig {
   }
 
   /**
-   * Password encoder for hashing user passwords. Uses BCrypt algorithm with strength 10 (default).
+   * Authentication provider for HTTP Basic. Configured to use CustomUserDetailsService and BCrypt
+   * password encoder, with loaded users cached in UserDetailsCache.
    */
-  @Bean
-  public PasswordEncoder passwordEncoder() {
-    return new BCryptPasswordEncoder();
+  private DaoAuthenticationProvider basicAuthenticationProvider() {
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+    provider.setPasswordEncoder(passwordEncoder());
+    provider.setUserCache(userDetailsCache);
+    return provider;
   }
 
   /**
-   * Authentication manager for authenticating users. Configured to use CustomUserDetailsService and
-   * BCrypt password encoder.
+   * Password encoder for hashing user passwords. Uses BCrypt algorithm with strength 10 (default).
    */
   @Bean
-  public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
-    AuthenticationManagerBuilder authBuilder =
-        http.getSharedObject(AuthenticationManagerBuilder.class);
-
-    authBuilder.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder());
-
-    return authBuilder.build();
+  public PasswordEncoder passwordEncoder() {
+    return new BCryptPasswordEncoder();
   }
 }
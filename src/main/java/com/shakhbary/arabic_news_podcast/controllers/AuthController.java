@@ -1,5 +1,10 @@
 package com.shakhbary.arabic_news_podcast.controllers;
 
+import com.shakhbary.arabic_news_podcast.config.AccessTokenAuthenticationFilter;
+import com.shakhbary.arabic_news_podcast.config.AccessTokenService;
+import com.shakhbary.arabic_news_podcast.config.AppUserPrincipal;
+import com.shakhbary.arabic_news_podcast.config.CustomUserDetailsService;
+import com.shakhbary.arabic_news_podcast.dtos.AccessTokenDto;
 import com.shakhbary.arabic_news_podcast.dtos.LoginRequestDto;
 import com.shakhbary.arabic_news_podcast.dtos.LoginResponseDto;
 import com.shakhbary.arabic_news_podcast.dtos.UserDto;
@@ -12,8 +17,11 @@ import java.nio.charset.StandardCharsets;
 import java.time.OffsetDateTime;
 import java.util.Base64;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -30,6 +38,8 @@ public class AuthController {
   private final UserService userService;
   private final PasswordEncoder passwordEncoder;
   private final UserRepository userRepository;
+  private final AccessTokenService accessTokenService;
+  private final CustomUserDetailsService userDetailsService;
 
   /**
    * Register a new user. This endpoint is public to allow new users to register. Assigns ROLE_USER
@@ -46,11 +56,12 @@ public class AuthController {
   }
 
   /**
-   * Login endpoint - validates credentials and returns user info. Client should store credentials
-   * and use Basic Auth for subsequent requests.
+   * Login endpoint - validates credentials and returns user info. Client should send the returned
+   * access token as a Bearer token for subsequent requests, which avoids a BCrypt check per
+   * request. Encoded Basic Auth credentials are still returned for existing clients.
    *
    * @param loginRequest Login credentials (username and password)
-   * @return LoginResponseDto containing user info and encoded credentials
+   * @return LoginResponseDto containing user info, access token and encoded credentials
    */
   @PostMapping("/login")
   public ResponseEntity<LoginResponseDto> login(@RequestBody @Valid LoginRequestDto loginRequest) {
@@ -82,7 +93,16 @@ public class AuthController {
     user.setLastLoginDate(OffsetDateTime.now());
     userRepository.save(user);
 
-    // 6. Return user info + encoded credentials
+    // 6. Issue a signed access token carrying the user's ID and roles
+    AccessTokenService.IssuedToken accessToken =
+        accessTokenService.issue(
+            user.getId(),
+            user.getUsername(),
+            user.getRoles().stream()
+                .map(role -> new SimpleGrantedAuthority(role.getName()))
+                .toList());
+
+    // 7. Return user info + tokens
     UserDto userDto =
         new UserDto(
             user.getId(),
@@ -95,9 +115,49 @@ public class AuthController {
 
     LoginResponseDto response =
         new LoginResponseDto(
-            userDto, encodedCredentials, "Basic" // Auth type
-            );
+            userDto,
+            encodedCredentials,
+            "Basic", // Auth type of the encoded credentials
+            accessToken.value(),
+            accessToken.expiresAt());
 
     return ResponseEntity.ok(response);
   }
+
+  /**
+   * Exchange an access token for a fresh one. Tokens that expired less than the refresh grace
+   * period ago are accepted. The user is reloaded, so disabled accounts and role changes take
+   * effect here without a password check.
+   *
+   * @param authorization Authorization header carrying the current token as a Bearer token
+   * @return A new access token and its expiry
+   */
+  @PostMapping("/refresh")
+  public AccessTokenDto refresh(
+      @RequestHeader(name = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+    AppUserPrincipal presented =
+        AccessTokenAuthenticationFilter.bearerToken(authorization)
+            .flatMap(accessTokenService::verifyForRefresh)
+            .orElseThrow(
+                () ->
+                    new ResponseStatusException(
+                        HttpStatus.UNAUTHORIZED, "Invalid or expired access token"));
+
+    AppUserPrincipal current;
+    try {
+      current = (AppUserPrincipal) userDetailsService.loadUserByUsername(presented.getUsername());
+    } catch (UsernameNotFoundException e) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired access token");
+    }
+    if (!current.getId().equals(presented.getId())) {
+      throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid or expired access token");
+    }
+    if (!current.isEnabled()) {
+      throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Account is disabled");
+    }
+
+    AccessTokenService.IssuedToken token =
+        accessTokenService.issue(current.getId(), current.getUsername(), current.getAuthorities());
+    return new AccessTokenDto(token.value(), token.expiresAt());
+  }
 }
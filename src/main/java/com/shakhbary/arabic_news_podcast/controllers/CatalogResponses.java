@@ -0,0 +1,91 @@
+package com.shakhbary.arabic_news_podcast.controllers;
+
+import com.shakhbary.arabic_news_podcast.feed.CatalogVersion;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Builds conditional responses for the public catalog reads. The validators are checked before the
+ * body supplier runs, so a matching If-None-Match / If-Modified-Since answers 304 without touching
+ * the services or the database.
+ */
+@Component
+class CatalogResponses {
+
+  private final CatalogVersion catalogVersion;
+  private final CacheControl cacheControl;
+
+  CatalogResponses(
+      CatalogVersion catalogVersion,
+      @Value("${app.http.catalog-cache-max-age:60s}") Duration maxAge) {
+    this.catalogVersion = catalogVersion;
+    // Public reads: shared caches (CDN) may store them, but must revalidate once stale
+    this.cacheControl = CacheControl.maxAge(maxAge).cachePublic().mustRevalidate();
+  }
+
+  /**
+   * Answer with the current catalog validators.
+   *
+   * @param request Current request (carries the conditional headers)
+   * @param body Produces the response body; only called when the client copy is stale
+   * @return 304 without body, or 200 with the body and caching headers
+   */
+  <T> ResponseEntity<T> conditional(WebRequest request, Supplier<T> body) {
+    return conditional(
+        request, catalogVersion.currentEtag(), catalogVersion.lastModified(), null, body);
+  }
+
+  /**
+   * Answer with the validators of a prebuilt representation that covers one day (the daily feed).
+   * The day is part of the ETag, so the representation changes at midnight even when the catalog
+   * does not.
+   *
+   * @param request Current request (carries the conditional headers)
+   * @param version Catalog version the representation was built from
+   * @param day Day the representation covers
+   * @param lastModified Last-Modified of the representation
+   * @param contentType Content type of the body, or null to let Spring negotiate it
+   * @param body Produces the response body; only called when the client copy is stale
+   * @return 304 without body, or 200 with the body and caching headers
+   */
+  <T> ResponseEntity<T> conditional(
+      WebRequest request,
+      long version,
+      LocalDate day,
+      Instant lastModified,
+      MediaType contentType,
+      Supplier<T> body) {
+    return conditional(
+        request, catalogVersion.etagFor(version, day), lastModified, contentType, body);
+  }
+
+  private <T> ResponseEntity<T> conditional(
+      WebRequest request,
+      String etag,
+      Instant lastModified,
+      MediaType contentType,
+      Supplier<T> body) {
+    if (request.checkNotModified(etag, lastModified.toEpochMilli())) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(etag)
+          .lastModified(lastModified)
+          .cacheControl(cacheControl)
+          .build();
+    }
+    ResponseEntity.BodyBuilder builder =
+        ResponseEntity.ok().eTag(etag).lastModified(lastModified).cacheControl(cacheControl);
+    if (contentType != null) {
+      builder.contentType(contentType);
+    }
+    return builder.body(body.get());
+  }
+}
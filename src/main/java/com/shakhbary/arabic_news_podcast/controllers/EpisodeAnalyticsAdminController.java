@@ -0,0 +1,57 @@
+package com.shakhbary.arabic_news_podcast.controllers;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeEngagementDto;
+import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService;
+import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService.EpisodeAnalyticsDto;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for episode listening analytics.
+ *
+ * <p>Security: Admin-only endpoints under /api/admin/* are protected by authentication.
+ */
+@RestController
+@RequestMapping("/api/admin/episodes")
+@RequiredArgsConstructor
+@Slf4j
+public class EpisodeAnalyticsAdminController {
+
+  private final EpisodeProgressService episodeProgressService;
+
+  /**
+   * Get an episode's analytics: plays, unique listeners, completions, seconds listened, average
+   * completion and the most common drop-off minutes.
+   *
+   * @param id Episode ID
+   * @return Episode analytics
+   */
+  @GetMapping("/{id}/analytics")
+  public EpisodeAnalyticsDto getAnalytics(@PathVariable(name = "id") UUID id) {
+    log.info("API: Getting analytics for episode {}", id);
+    return episodeProgressService.getEpisodeAnalytics(id);
+  }
+
+  /**
+   * List all episodes with their engagement counters.
+   *
+   * @param sort Sort field: plays, listeners, completions or secondsListened (default plays)
+   * @param direction Sort direction, default DESC
+   * @param page Page number (0-based), default 0
+   * @param size Page size (max 100), default 20
+   * @return Page of episode engagement figures
+   */
+  @GetMapping("/engagement")
+  public Page<EpisodeEngagementDto> listEngagement(
+      @RequestParam(defaultValue = "plays", name = "sort") String sort,
+      @RequestParam(defaultValue = "DESC", name = "direction") Sort.Direction direction,
+      @RequestParam(defaultValue = "0", name = "page") Integer page,
+      @RequestParam(defaultValue = "20", name = "size") Integer size) {
+    log.info("API: Listing episode engagement sorted by {} {}", sort, direction);
+    return episodeProgressService.listEpisodeEngagement(sort, direction, page, Math.min(size, 100));
+  }
+}
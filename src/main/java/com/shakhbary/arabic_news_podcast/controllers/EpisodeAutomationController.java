@@ -2,7 +2,9 @@ package com.shakhbary.arabic_news_podcast.controllers;
 
 import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeFailureDto;
 import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService;
+import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService.IngestReport;
 import com.shakhbary.arabic_news_podcast.validator.EpisodeAutomationValidator;
 import java.io.IOException;
 import java.util.List;
@@ -43,12 +45,22 @@ public class EpisodeAutomationController {
     episodeAutomationValidator.validateBulkCreation(createSampleDtoList);
 
     // Process episode creation
-    List<EpisodeDto> createdEpisodes =
-        episodeAutomationService.createBulkEpisodes(createSampleDtoList);
+    IngestReport report = episodeAutomationService.createBulkEpisodes(createSampleDtoList);
+    String message =
+        report.failures().isEmpty()
+            ? "Successfully processed " + report.created().size() + " episodes"
+            : "Processed "
+                + report.created().size()
+                + " episodes; "
+                + report.failures().size()
+                + " failed and were dead-lettered";
+    if (report.deduplicated() > 0) {
+      message += "; skipped " + report.deduplicated() + " already ingested";
+    }
     return ResponseEntity.status(HttpStatus.CREATED)
         .body(
             new AutomationResponse(
-                "Successfully processed " + createdEpisodes.size() + " episodes", createdEpisodes));
+                message, report.created(), report.failures(), report.deduplicated()));
   }
 
   /**
@@ -72,7 +84,9 @@ public class EpisodeAutomationController {
         .body(
             new AutomationResponse(
                 "Successfully processed episode: " + createdEpisode.getTitle(),
-                List.of(createdEpisode)));
+                List.of(createdEpisode),
+                List.of(),
+                0));
   }
 
   /**
@@ -81,6 +95,13 @@ public class EpisodeAutomationController {
    *
    * @param message Human-readable success message
    * @param episodes List of created/processed episodes
+   * @param failures Episodes that could not be saved (bulk creation only)
+   * @param deduplicated Episodes skipped because their article was already ingested (bulk creation
+   *     only)
    */
-  public record AutomationResponse(String message, List<EpisodeDto> episodes) {}
+  public record AutomationResponse(
+      String message,
+      List<EpisodeDto> episodes,
+      List<EpisodeFailureDto> failures,
+      int deduplicated) {}
 }
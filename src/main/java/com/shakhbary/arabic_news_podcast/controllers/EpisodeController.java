@@ -1,5 +1,6 @@
 package com.shakhbary.arabic_news_podcast.controllers;
 
+import com.shakhbary.arabic_news_podcast.dtos.CursorPageDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
 import com.shakhbary.arabic_news_podcast.services.EpisodeService;
 import java.util.UUID;
@@ -8,7 +9,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for managing podcast episodes.
@@ -25,38 +28,62 @@ import org.springframework.web.bind.annotation.*;
 public class EpisodeController {
 
   private final EpisodeService episodeService;
+  private final CatalogResponses catalogResponses;
 
   /**
-   * Get a paginated list of all episodes. Public endpoint - no authentication required.
+   * Get a paginated list of all episodes. Public endpoint - no authentication required. Supports
+   * conditional GET (ETag / Last-Modified of the catalog).
    *
    * @param page Page number (0-based), default 0
    * @param size Page size (max 100), default 20
    * @return Paginated list of episodes
    */
   @GetMapping("/api/episodes")
-  public Page<EpisodeDto> listEpisodes(
+  public ResponseEntity<Page<EpisodeDto>> listEpisodes(
       @RequestParam(defaultValue = "0", name = "page") Integer page,
-      @RequestParam(defaultValue = "20", name = "size") Integer size) {
+      @RequestParam(defaultValue = "20", name = "size") Integer size,
+      WebRequest request) {
     log.info("Listing episodes. Received parameters - page: {}, size: {}", page, size);
     Pageable pageable = PageRequest.of(page, Math.min(size, 100));
-    return episodeService.listEpisodes(pageable);
+    return catalogResponses.conditional(request, () -> episodeService.listEpisodes(pageable));
+  }
+
+  /**
+   * Get a slice of all episodes using cursor (keyset) pagination, newest first. Public endpoint -
+   * no authentication required. Cheaper than the page-based listing for deep pages because no total
+   * count is computed.
+   *
+   * @param cursor Opaque cursor from the previous response's nextCursor (omit for the first slice)
+   * @param size Slice size (max 100), default 20
+   * @return Slice of episodes and the cursor of the next slice
+   */
+  @GetMapping("/api/episodes/cursor")
+  public CursorPageDto<EpisodeDto> listEpisodesByCursor(
+      @RequestParam(required = false, name = "cursor") String cursor,
+      @RequestParam(defaultValue = "20", name = "size") Integer size) {
+    log.info(
+        "Listing episodes by cursor. Received parameters - cursor: {}, size: {}", cursor, size);
+    return episodeService.listEpisodesByCursor(cursor, Math.min(Math.max(size, 1), 100));
   }
 
   /**
-   * Get a specific episode by ID. Public endpoint - no authentication required.
+   * Get a specific episode by ID. Public endpoint - no authentication required. Supports
+   * conditional GET (ETag / Last-Modified of the catalog).
    *
    * @param id Episode ID
    * @return Episode details
    */
   @GetMapping("/api/episodes/{id}")
-  public EpisodeDto getEpisode(@PathVariable(name = "id") UUID id) {
-    return episodeService.getEpisode(id);
+  public ResponseEntity<EpisodeDto> getEpisode(
+      @PathVariable(name = "id") UUID id, WebRequest request) {
+    return catalogResponses.conditional(request, () -> episodeService.getEpisode(id));
   }
 
   /**
    * Search for episodes by title and/or category. Public endpoint - no authentication required.
+   * Results of a title search are ranked by relevance.
    *
-   * @param title Optional title search term (partial match)
+   * @param title Optional free-text search term (matches titles, descriptions and article titles)
    * @param category Optional category filter (exact match)
    * @param page Page number (0-based), default 0
    * @param size Page size (max 100), default 20
@@ -77,4 +104,30 @@ public class EpisodeController {
     Pageable pageable = PageRequest.of(page, Math.min(size, 100));
     return episodeService.searchEpisodes(title, category, pageable);
   }
+
+  /**
+   * Search for episodes by title and/or category using cursor (keyset) pagination, newest first.
+   * Public endpoint - no authentication required.
+   *
+   * @param title Optional title search term (partial match)
+   * @param category Optional category filter (exact match)
+   * @param cursor Opaque cursor from the previous response's nextCursor (omit for the first slice)
+   * @param size Slice size (max 100), default 20
+   * @return Slice of matching episodes and the cursor of the next slice
+   */
+  @GetMapping("/api/episodes/search/cursor")
+  public CursorPageDto<EpisodeDto> searchByCursor(
+      @RequestParam(required = false, name = "title") String title,
+      @RequestParam(required = false, name = "category") String category,
+      @RequestParam(required = false, name = "cursor") String cursor,
+      @RequestParam(defaultValue = "20", name = "size") Integer size) {
+    log.info(
+        "Searching episodes by cursor. Parameters - title: '{}', category: '{}', cursor: {}, size: {}",
+        title,
+        category,
+        cursor,
+        size);
+    return episodeService.searchEpisodesByCursor(
+        title, category, cursor, Math.min(Math.max(size, 1), 100));
+  }
 }
@@ -1,16 +1,18 @@
 package com.shakhbary.arabic_news_podcast.controllers;
 
+import com.shakhbary.arabic_news_podcast.config.AppUserPrincipal;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressUpdateDto;
 import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService;
 import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService.UserListeningStatsDto;
 import com.shakhbary.arabic_news_podcast.services.UserProfileService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -40,15 +42,16 @@ public class EpisodeProgressController {
    * user's current position in an episode. User is determined from authentication token.
    *
    * @param updateDto Progress update data (episode ID, position, etc.)
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return Updated progress information
    */
   @PostMapping
   @ResponseStatus(HttpStatus.OK)
   public EpisodeProgressDto updateProgress(
-      @RequestBody @Valid EpisodeProgressUpdateDto updateDto, Authentication authentication) {
+      @RequestBody @Valid EpisodeProgressUpdateDto updateDto,
+      @AuthenticationPrincipal AppUserPrincipal principal) {
 
-    return episodeProgressService.updateProgress(updateDto, authentication.getName());
+    return episodeProgressService.updateProgress(updateDto, principal.getId());
   }
 
   /**
@@ -56,38 +59,40 @@ public class EpisodeProgressController {
    * completion status. User is determined from authentication token.
    *
    * @param episodeId Episode ID
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return Episode progress information
    */
   @GetMapping("/episodes/{episodeId}")
   public EpisodeProgressDto getEpisodeProgress(
-      @PathVariable(name = "episodeId") UUID episodeId, Authentication authentication) {
+      @PathVariable(name = "episodeId") UUID episodeId,
+      @AuthenticationPrincipal AppUserPrincipal principal) {
 
-    return episodeProgressService.getProgress(episodeId, authentication.getName());
+    return episodeProgressService.getProgress(episodeId, principal.getId());
   }
 
   /**
    * Get all in-progress episodes for a user (Continue Listening feature). Returns episodes that the
    * user has started but not completed. User is determined from authentication token.
    *
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return List of in-progress episodes with their current positions
    */
   @GetMapping("/in-progress")
-  public List<EpisodeProgressDto> getInProgressEpisodes(Authentication authentication) {
-    return episodeProgressService.getInProgressEpisodes(authentication.getName());
+  public List<EpisodeProgressDto> getInProgressEpisodes(
+      @AuthenticationPrincipal AppUserPrincipal principal) {
+    return episodeProgressService.getInProgressEpisodes(principal.getId());
   }
 
   /**
    * Get user's listening statistics. Returns total listening time, episodes completed, etc. User is
    * determined from authentication token.
    *
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return User's listening statistics
    */
   @GetMapping("/stats")
-  public UserListeningStatsDto getUserStats(Authentication authentication) {
-    return episodeProgressService.getUserListeningStats(authentication.getName());
+  public UserListeningStatsDto getUserStats(@AuthenticationPrincipal AppUserPrincipal principal) {
+    return episodeProgressService.getUserListeningStats(principal.getId());
   }
 
   // ==========================================
@@ -96,21 +101,21 @@ public class EpisodeProgressController {
 
   /**
    * Track listening time for a user. Call this periodically while the episode is playing, or when
-   * the user pauses/stops. This updates the total listening time for the user's profile. User is
-   * determined from authentication token.
+   * the user pauses/stops. This updates the total listening time for the user's profile and the
+   * episode's engagement figures. User is determined from authentication token.
    *
-   * @param episodeId Episode ID (for context/logging)
+   * @param episodeId Episode ID
    * @param secondsListened Number of seconds listened in this session
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    */
   @PostMapping("/episodes/{episodeId}/track-listening")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public void trackListeningTime(
       @PathVariable(name = "episodeId") UUID episodeId,
       @RequestParam(name = "secondsListened") Long secondsListened,
-      Authentication authentication) {
+      @AuthenticationPrincipal AppUserPrincipal principal) {
 
-    userProfileService.trackListeningTime(secondsListened, authentication.getName());
+    userProfileService.trackListeningTime(episodeId, secondsListened, principal.getId());
   }
 
   /**
@@ -119,16 +124,18 @@ public class EpisodeProgressController {
    *
    * @param episodeId Episode ID
    * @param positionSeconds Current position in seconds
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    */
   @PostMapping("/episodes/{episodeId}/position")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public void updateEpisodePosition(
       @PathVariable(name = "episodeId") UUID episodeId,
-      @RequestParam(name = "positionSeconds") Long positionSeconds,
-      Authentication authentication) {
+      @RequestParam(name = "positionSeconds")
+          @Min(value = 0, message = "Position must be non-negative")
+          Long positionSeconds,
+      @AuthenticationPrincipal AppUserPrincipal principal) {
 
-    userProfileService.updateEpisodeProgress(episodeId, positionSeconds, authentication.getName());
+    userProfileService.updateEpisodeProgress(episodeId, positionSeconds, principal.getId());
   }
 
   /**
@@ -137,15 +144,17 @@ public class EpisodeProgressController {
    *
    * @param episodeId Episode ID
    * @param positionSeconds Final position in seconds (typically the episode duration)
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    */
   @PostMapping("/episodes/{episodeId}/complete")
   @ResponseStatus(HttpStatus.NO_CONTENT)
   public void markEpisodeCompleted(
       @PathVariable(name = "episodeId") UUID episodeId,
-      @RequestParam(name = "positionSeconds") Long positionSeconds,
-      Authentication authentication) {
+      @RequestParam(name = "positionSeconds")
+          @Min(value = 0, message = "Position must be non-negative")
+          Long positionSeconds,
+      @AuthenticationPrincipal AppUserPrincipal principal) {
 
-    userProfileService.markEpisodeCompleted(episodeId, positionSeconds, authentication.getName());
+    userProfileService.markEpisodeCompleted(episodeId, positionSeconds, principal.getId());
   }
 }
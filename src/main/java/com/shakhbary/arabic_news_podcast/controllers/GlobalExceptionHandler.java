@@ -7,13 +7,18 @@ import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.server.ResponseStatusException;
 
 /**
@@ -98,6 +103,44 @@ public class GlobalExceptionHandler {
     return ValidationError.of("Validation failed", errors);
   }
 
+  /**
+   * Handle constraint violations on request parameters and path variables (400 Bad Request).
+   * Returns the failing parameters by name.
+   */
+  @ExceptionHandler(HandlerMethodValidationException.class)
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ValidationError handleParameterValidationErrors(HandlerMethodValidationException ex) {
+    Map<String, String> errors = new HashMap<>();
+
+    ex.getParameterValidationResults()
+        .forEach(
+            result ->
+                result
+                    .getResolvableErrors()
+                    .forEach(
+                        error ->
+                            errors.put(
+                                parameterName(result.getMethodParameter()),
+                                error.getDefaultMessage())));
+
+    log.warn("Validation failed: {} parameter(s) with errors", errors.size());
+    return ValidationError.of("Validation failed", errors);
+  }
+
+  /** The request name of a parameter, falling back to its name in the method signature. */
+  private static String parameterName(MethodParameter parameter) {
+    RequestParam requestParam = parameter.getParameterAnnotation(RequestParam.class);
+    if (requestParam != null && !requestParam.name().isEmpty()) {
+      return requestParam.name();
+    }
+    PathVariable pathVariable = parameter.getParameterAnnotation(PathVariable.class);
+    if (pathVariable != null && !pathVariable.name().isEmpty()) {
+      return pathVariable.name();
+    }
+    parameter.initParameterNameDiscovery(new DefaultParameterNameDiscoverer());
+    return String.valueOf(parameter.getParameterName());
+  }
+
   /** Handle DuplicateResourceException (409 Conflict). */
   @ExceptionHandler(DuplicateResourceException.class)
   @ResponseStatus(HttpStatus.CONFLICT)
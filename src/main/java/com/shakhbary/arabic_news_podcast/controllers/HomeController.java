@@ -1,11 +1,13 @@
 package com.shakhbary.arabic_news_podcast.controllers;
 
-import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
-import com.shakhbary.arabic_news_podcast.services.EpisodeService;
-import java.util.List;
+import com.shakhbary.arabic_news_podcast.feed.DailyFeedSnapshot;
+import com.shakhbary.arabic_news_podcast.feed.DailyFeedSnapshotHolder;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * REST controller for homepage and discovery features. Provides endpoints for featured content and
@@ -17,22 +19,33 @@ import org.springframework.web.bind.annotation.*;
 @Slf4j
 public class HomeController {
 
-  private final EpisodeService episodeService;
+  private final DailyFeedSnapshotHolder dailyFeedSnapshotHolder;
+  private final CatalogResponses catalogResponses;
 
   /**
    * Get daily featured episodes for the homepage. Returns a curated list of episodes for user
-   * discovery.
+   * discovery. Served from a pre-serialized snapshot (see {@link DailyFeedSnapshotHolder}), so this
+   * endpoint does not touch the database. Supports conditional GET (ETag / Last-Modified of the
+   * snapshot; both change at midnight, when yesterday's episodes leave the feed).
    *
    * @param limit Number of episodes to return (min 1, max 10), default 5
-   * @return List of daily featured episodes
+   * @return JSON list of daily featured episodes
    */
   @GetMapping("/daily")
-  public List<EpisodeDto> daily(@RequestParam(defaultValue = "5", name = "limit") Integer limit) {
+  public ResponseEntity<byte[]> daily(
+      @RequestParam(defaultValue = "5", name = "limit") Integer limit, WebRequest request) {
     log.info("Getting daily featured episodes. limit is: {}", limit);
     if (limit == null) {
       limit = 5;
     }
-    int safeLimit = Math.min(Math.max(limit, 1), 10);
-    return episodeService.listDailyEpisodes(safeLimit);
+    int safeLimit = Math.min(Math.max(limit, 1), DailyFeedSnapshotHolder.MAX_LIMIT);
+    DailyFeedSnapshot snapshot = dailyFeedSnapshotHolder.current();
+    return catalogResponses.conditional(
+        request,
+        snapshot.catalogVersion(),
+        snapshot.day(),
+        snapshot.lastModified(),
+        MediaType.APPLICATION_JSON,
+        () -> snapshot.slice(safeLimit));
   }
 }
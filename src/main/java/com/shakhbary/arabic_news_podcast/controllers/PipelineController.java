@@ -1,12 +1,16 @@
 package com.shakhbary.arabic_news_podcast.controllers;
 
-import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
-import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeAutomationServiceImpl;
-import java.util.List;
-import java.util.Map;
+import com.shakhbary.arabic_news_podcast.dtos.PipelineJobDto;
+import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
+import com.shakhbary.arabic_news_podcast.pipeline.PipelineJob;
+import com.shakhbary.arabic_news_podcast.pipeline.PipelineJobs;
+import java.net.URI;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -17,29 +21,27 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class PipelineController {
 
-  private final EpisodeAutomationServiceImpl episodeAutomationService;
+  private final PipelineJobs pipelineJobs;
 
-  /** Run the complete automated pipeline */
+  /**
+   * Start the complete automated pipeline in the background. Responds 202 with the job, whose
+   * progress can be polled at the Location header; 409 if a run is already in progress.
+   */
   @PostMapping("/run-daily-pipeline")
-  public ResponseEntity<?> runDailyPipeline() {
-    log.info("API: Running daily podcast pipeline...");
-
-    try {
-      List<EpisodeDto> episodes = episodeAutomationService.automatedDailyPipeline();
+  public ResponseEntity<PipelineJobDto> runDailyPipeline() {
+    log.info("API: Starting daily podcast pipeline job...");
+    PipelineJob job = pipelineJobs.submit();
+    return ResponseEntity.accepted()
+        .location(URI.create("/api/podcast/jobs/" + job.getId()))
+        .body(job.snapshot());
+  }
 
-      return ResponseEntity.ok(
-          Map.of(
-              "success",
-              true,
-              "message",
-              "Pipeline completed successfully",
-              "count",
-              episodes.size(),
-              "episodes",
-              episodes));
-    } catch (Exception e) {
-      log.error("Pipeline failed: {}", e.getMessage());
-      return ResponseEntity.status(500).body(Map.of("success", false, "error", e.getMessage()));
-    }
+  /** Status, timings and per-episode failures of a recent pipeline job */
+  @GetMapping("/jobs/{jobId}")
+  public ResponseEntity<PipelineJobDto> getJob(@PathVariable(name = "jobId") UUID jobId) {
+    return pipelineJobs
+        .find(jobId)
+        .map(job -> ResponseEntity.ok(job.snapshot()))
+        .orElseThrow(() -> new ResourceNotFoundException("Pipeline job not found: " + jobId));
   }
 }
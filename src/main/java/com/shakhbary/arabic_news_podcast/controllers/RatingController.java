@@ -1,12 +1,13 @@
 package com.shakhbary.arabic_news_podcast.controllers;
 
+import com.shakhbary.arabic_news_podcast.config.AppUserPrincipal;
 import com.shakhbary.arabic_news_podcast.dtos.RatingRequestDto;
 import com.shakhbary.arabic_news_podcast.dtos.RatingResponseDto;
 import com.shakhbary.arabic_news_podcast.services.RatingService;
 import com.shakhbary.arabic_news_podcast.validator.RatingValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -27,19 +28,18 @@ public class RatingController {
    * authentication token.
    *
    * @param request Rating request containing episode ID and rating value (1-5)
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return Rating response with confirmation
    */
   @PostMapping
   @ResponseStatus(HttpStatus.CREATED)
   public RatingResponseDto rateEpisode(
-      @RequestBody RatingRequestDto request, Authentication authentication) {
+      @RequestBody RatingRequestDto request, @AuthenticationPrincipal AppUserPrincipal principal) {
 
     // Validation
     ratingValidator.validateRatingRequest(request);
 
     // Rate Episode
-    return ratingService.rateEpisode(
-        request.episodeId(), request.rating(), authentication.getName());
+    return ratingService.rateEpisode(request.episodeId(), request.rating(), principal.getId());
   }
 }
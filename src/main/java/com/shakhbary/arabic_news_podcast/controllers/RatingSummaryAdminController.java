@@ -0,0 +1,33 @@
+package com.shakhbary.arabic_news_podcast.controllers;
+
+import com.shakhbary.arabic_news_podcast.services.RatingSummaryService;
+import com.shakhbary.arabic_news_podcast.services.RatingSummaryService.ReconciliationResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for maintaining episode rating summaries.
+ *
+ * <p>Security: Admin-only endpoints under /api/admin/* are protected by authentication.
+ */
+@RestController
+@RequestMapping("/api/admin/ratings")
+@RequiredArgsConstructor
+@Slf4j
+public class RatingSummaryAdminController {
+
+  private final RatingSummaryService ratingSummaryService;
+
+  /**
+   * Rebuild all episode rating summaries from the ratings table. Use this to reconcile the
+   * incrementally maintained summaries if they are suspected to have drifted.
+   *
+   * @return Statistics about the rebuild run
+   */
+  @PostMapping("/summary/rebuild")
+  public ReconciliationResult rebuildSummaries() {
+    log.info("API: Rebuilding episode rating summaries...");
+    return ratingSummaryService.rebuildSummaries();
+  }
+}
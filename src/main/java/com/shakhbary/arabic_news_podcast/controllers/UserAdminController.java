@@ -0,0 +1,37 @@
+package com.shakhbary.arabic_news_podcast.controllers;
+
+import com.shakhbary.arabic_news_podcast.dtos.UserDto;
+import com.shakhbary.arabic_news_podcast.services.UserService;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for administering user accounts.
+ *
+ * <p>Security: Admin-only endpoints under /api/admin/* are protected by authentication.
+ */
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+@Slf4j
+public class UserAdminController {
+
+  private final UserService userService;
+
+  /**
+   * Enable or disable a user's account. Takes effect for Basic Auth immediately and for access
+   * tokens at their next refresh.
+   *
+   * @param id User ID
+   * @param enabled Whether the account should be enabled
+   * @return Updated user information
+   */
+  @PatchMapping("/{id}/enabled")
+  public UserDto setEnabled(
+      @PathVariable(name = "id") UUID id, @RequestParam(name = "enabled") boolean enabled) {
+    log.info("API: Setting user {} enabled={}", id, enabled);
+    return userService.setUserEnabled(id, enabled);
+  }
+}
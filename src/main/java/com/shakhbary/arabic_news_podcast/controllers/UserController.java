@@ -1,5 +1,6 @@
 package com.shakhbary.arabic_news_podcast.controllers;
 
+import com.shakhbary.arabic_news_podcast.config.AppUserPrincipal;
 import com.shakhbary.arabic_news_podcast.dtos.UpdateUserDto;
 import com.shakhbary.arabic_news_podcast.dtos.UserDto;
 import com.shakhbary.arabic_news_podcast.dtos.UserProfileDto;
@@ -8,7 +9,7 @@ import com.shakhbary.arabic_news_podcast.services.UserService;
 import jakarta.validation.Valid;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 /**
@@ -27,12 +28,13 @@ public class UserController {
    * Get user information by ID. Users can only view their own profile unless they have ADMIN role.
    *
    * @param id User ID
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return User information
    */
   @GetMapping("/{id}")
-  public UserDto getUser(@PathVariable(name = "id") UUID id, Authentication authentication) {
-    return userService.getUser(id, authentication.getName());
+  public UserDto getUser(
+      @PathVariable(name = "id") UUID id, @AuthenticationPrincipal AppUserPrincipal principal) {
+    return userService.getUser(id, principal.getId());
   }
 
   /**
@@ -41,19 +43,19 @@ public class UserController {
    *
    * @param id User ID
    * @param updateDto Update data containing firstName and/or lastName
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return Updated user information
    */
   @PatchMapping("/{id}")
   public UserDto updateUserName(
       @PathVariable(name = "id") UUID id,
       @RequestBody @Valid UpdateUserDto updateDto,
-      Authentication authentication) {
+      @AuthenticationPrincipal AppUserPrincipal principal) {
 
     updateDto.validateNotEmpty();
 
     return userService.updateUserName(
-        id, updateDto.firstName(), updateDto.lastName(), authentication.getName());
+        id, updateDto.firstName(), updateDto.lastName(), principal.getId());
   }
 
   /**
@@ -61,12 +63,12 @@ public class UserController {
    * their own profile unless they have ADMIN role.
    *
    * @param id User ID
-   * @param authentication Current authenticated user
+   * @param principal Current authenticated user
    * @return Complete user profile with stats
    */
   @GetMapping("/{id}/profile")
   public UserProfileDto getProfile(
-      @PathVariable(name = "id") UUID id, Authentication authentication) {
-    return userProfileService.getUserProfile(id, authentication.getName());
+      @PathVariable(name = "id") UUID id, @AuthenticationPrincipal AppUserPrincipal principal) {
+    return userProfileService.getUserProfile(id, principal.getId());
   }
 }
@@ -0,0 +1,6 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import java.time.Instant;
+
+/** A refreshed access token, sent as Authorization: Bearer {accessToken} until expiresAt. */
+public record AccessTokenDto(String accessToken, Instant expiresAt) {}
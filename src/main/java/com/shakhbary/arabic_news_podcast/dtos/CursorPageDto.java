@@ -0,0 +1,14 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import java.util.List;
+
+/**
+ * One slice of a keyset-paginated listing. Unlike {@link org.springframework.data.domain.Page} it
+ * carries no total count; clients continue with {@code nextCursor} until it is null.
+ *
+ * @param content Items of this slice
+ * @param size Requested slice size
+ * @param nextCursor Opaque cursor for the following slice, or null if this is the last one
+ * @param hasNext Whether another slice exists
+ */
+public record CursorPageDto<T>(List<T> content, int size, String nextCursor, boolean hasNext) {}
@@ -0,0 +1,56 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import com.shakhbary.arabic_news_podcast.exceptions.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in the episode catalog for keyset pagination. Episodes are ordered by (creationDate
+ * DESC, id DESC); the cursor holds the sort key of the last episode a client has seen.
+ *
+ * <p>The encoded form is opaque to clients: URL-safe Base64 of "epochSecond.nano:uuid".
+ */
+public record EpisodeCursor(OffsetDateTime creationDate, UUID id) {
+
+  public static EpisodeCursor of(EpisodeDto episode) {
+    return new EpisodeCursor(episode.getCreationDate(), episode.getId());
+  }
+
+  /**
+   * Encode this cursor into the opaque string handed to clients.
+   *
+   * @return URL-safe Base64 cursor
+   */
+  public String encode() {
+    Instant instant = creationDate.toInstant();
+    String raw = instant.getEpochSecond() + "." + instant.getNano() + ":" + id;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decode a cursor previously produced by {@link #encode()}.
+   *
+   * @param cursor Opaque cursor string from the client
+   * @return Decoded cursor
+   * @throws BadRequestException if the cursor is malformed
+   */
+  public static EpisodeCursor decode(String cursor) {
+    try {
+      String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      int separator = raw.indexOf(':');
+      String[] timestamp = raw.substring(0, separator).split("\\.");
+      Instant instant =
+          Instant.ofEpochSecond(Long.parseLong(timestamp[0]), Long.parseLong(timestamp[1]));
+      UUID id = UUID.fromString(raw.substring(separator + 1));
+      return new EpisodeCursor(instant.atOffset(ZoneOffset.UTC), id);
+    } catch (RuntimeException e) {
+      throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import java.util.UUID;
+
+/**
+ * Engagement figures of one episode for analytics and admin listings. Episodes nobody has played
+ * yet report zeros.
+ */
+public record EpisodeEngagementDto(
+    UUID episodeId,
+    String title,
+    long plays,
+    long uniqueListeners,
+    long completions,
+    long secondsListened) {}
@@ -0,0 +1,11 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+/**
+ * An episode of an ingest (daily pipeline or bulk creation) that could not be saved. It was
+ * recorded in ingest_dead_letters for inspection and replay.
+ *
+ * @param index Position of the episode in the agent's response or the bulk payload
+ * @param title Episode (or article) title, if it could be read
+ * @param error Why it was rejected
+ */
+public record EpisodeFailureDto(int index, String title, String error) {}
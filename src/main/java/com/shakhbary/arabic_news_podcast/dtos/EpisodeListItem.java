@@ -0,0 +1,24 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Read-only row of an episode list view, produced by a constructor projection so that list
+ * endpoints select only the columns they render and never hydrate managed entities. The description
+ * is already truncated to 180 characters by the query.
+ */
+public record EpisodeListItem(
+    UUID id,
+    String title,
+    String description,
+    String scriptUrlPath,
+    String imageUrl,
+    OffsetDateTime creationDate,
+    String audioUrlPath,
+    Long durationSeconds,
+    UUID articleId,
+    String articleTitle,
+    String articleAuthor,
+    String articlePublisher,
+    String articleCategory) {}
@@ -1,10 +1,14 @@
 package com.shakhbary.arabic_news_podcast.dtos;
 
+import java.time.Instant;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-/** DTO for login response. Contains user info and encoded credentials for Basic Auth. */
+/**
+ * DTO for login response. Contains user info, a signed access token for the Bearer scheme and
+ * encoded credentials for Basic Auth.
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,6 +23,15 @@ public class LoginResponseDto {
    */
   private String credentials;
 
-  /** Authentication type (always "Basic" for this implementation) */
+  /** Authentication type of the credentials field (always "Basic") */
   private String authType;
+
+  /**
+   * Signed access token. Preferred over Basic Auth for subsequent requests: Authorization: Bearer
+   * {accessToken}. Renew it before expiresAt through POST /api/auth/refresh.
+   */
+  private String accessToken;
+
+  /** When the access token stops being accepted */
+  private Instant expiresAt;
 }
@@ -0,0 +1,36 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import com.shakhbary.arabic_news_podcast.pipeline.PipelineJob;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Point-in-time status of a daily pipeline job, as reported by GET /api/podcast/jobs/{id}.
+ *
+ * @param id Job ID
+ * @param status Lifecycle state
+ * @param stage Current (or, once finished, last) stage; null while queued
+ * @param submittedAt When the job was accepted
+ * @param startedAt When the job started running, or null while queued
+ * @param finishedAt When the job finished, or null while queued or running
+ * @param durationMillis Running time so far, or the total once finished (null while queued)
+ * @param episodesReceived Episodes read from the agent's response so far
+ * @param episodesPersisted Episodes saved so far
+ * @param episodesDeduplicated Episodes skipped because their article was already stored
+ * @param failures Episodes that could not be saved (dead-lettered)
+ * @param error Why the job failed, or null
+ */
+public record PipelineJobDto(
+    UUID id,
+    PipelineJob.Status status,
+    PipelineJob.Stage stage,
+    Instant submittedAt,
+    Instant startedAt,
+    Instant finishedAt,
+    Long durationMillis,
+    int episodesReceived,
+    int episodesPersisted,
+    int episodesDeduplicated,
+    List<EpisodeFailureDto> failures,
+    String error) {}
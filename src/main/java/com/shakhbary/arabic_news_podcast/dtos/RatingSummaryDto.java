@@ -0,0 +1,9 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import java.util.UUID;
+
+/**
+ * Aggregated rating figures for a single episode. Produced by a grouped query so that list views
+ * can resolve ratings for a whole page in one statement.
+ */
+public record RatingSummaryDto(UUID episodeId, double averageRating, long ratingCount) {}
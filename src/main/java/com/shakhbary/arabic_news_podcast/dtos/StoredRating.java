@@ -0,0 +1,9 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+import java.util.UUID;
+
+/**
+ * The id and value of a stored rating. Read before a rating upsert so the episode summary can be
+ * adjusted by the difference and the response can carry the existing rating id.
+ */
+public record StoredRating(UUID id, int rating) {}
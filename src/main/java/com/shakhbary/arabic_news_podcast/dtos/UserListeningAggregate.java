@@ -0,0 +1,16 @@
+package com.shakhbary.arabic_news_podcast.dtos;
+
+/**
+ * A user's stored listening total and progress figures, aggregated by the database in one statement
+ * so that listening stats never load the user's progress rows.
+ *
+ * @param secondsListened Stored listening total (without unflushed reports)
+ * @param completedEpisodes Number of completed episodes
+ * @param inProgressEpisodes Number of started but not completed episodes
+ * @param averageCompletion Average of each progress row's completion (0.0 to 1.0)
+ */
+public record UserListeningAggregate(
+    long secondsListened,
+    long completedEpisodes,
+    long inProgressEpisodes,
+    double averageCompletion) {}
@@ -0,0 +1,11 @@
+package com.shakhbary.arabic_news_podcast.events;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+
+/**
+ * Published whenever a new episode (with its article and audio) has been persisted. Listeners that
+ * keep in-memory read models should react after the surrounding transaction commits.
+ *
+ * @param episode The created episode
+ */
+public record EpisodeCreatedEvent(EpisodeDto episode) {}
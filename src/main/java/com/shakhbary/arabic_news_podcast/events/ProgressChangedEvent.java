@@ -0,0 +1,26 @@
+package com.shakhbary.arabic_news_podcast.events;
+
+import com.shakhbary.arabic_news_podcast.tracking.PendingProgress;
+import com.shakhbary.arabic_news_podcast.tracking.StoredProgress;
+import java.util.UUID;
+
+/**
+ * Published whenever an {@code episode_progress} row is written. Listeners that keep in-memory read
+ * models should react after the surrounding transaction commits.
+ *
+ * @param userId The listening user
+ * @param episodeId The episode
+ * @param previous The row's state before the write, or null if the write created it
+ * @param current The row's state after the write
+ */
+public record ProgressChangedEvent(
+    UUID userId, UUID episodeId, StoredProgress previous, StoredProgress current) {
+
+  /** Event for a progress upsert applied to a row in the given previous state (null if absent). */
+  public static ProgressChangedEvent of(
+      UUID userId, UUID episodeId, StoredProgress previous, PendingProgress write) {
+    StoredProgress current =
+        previous != null ? previous.apply(write) : StoredProgress.inserted(write);
+    return new ProgressChangedEvent(userId, episodeId, previous, current);
+  }
+}
@@ -0,0 +1,17 @@
+package com.shakhbary.arabic_news_podcast.events;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * Published whenever a user creates or updates a rating. Listeners that keep in-memory read models
+ * should react after the surrounding transaction commits.
+ *
+ * @param episodeId The rated episode
+ * @param userId The rating user
+ * @param rating The new rating value (1-5)
+ * @param previousRating The user's previous rating value, or null for a new rating
+ * @param ratingDate When the rating was given
+ */
+public record RatingChangedEvent(
+    UUID episodeId, UUID userId, int rating, Integer previousRating, OffsetDateTime ratingDate) {}
@@ -0,0 +1,13 @@
+package com.shakhbary.arabic_news_podcast.events;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a change affects how a user authenticates: the account is enabled or disabled,
+ * the password changes or the roles change. Cached authentication data for the user must be dropped
+ * once the surrounding transaction commits.
+ *
+ * @param userId The changed user
+ * @param username The changed user's username (the authentication cache key)
+ */
+public record UserAccountChangedEvent(UUID userId, String username) {}
@@ -0,0 +1,125 @@
+package com.shakhbary.arabic_news_podcast.feed;
+
+import com.shakhbary.arabic_news_podcast.events.EpisodeCreatedEvent;
+import com.shakhbary.arabic_news_podcast.events.RatingChangedEvent;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Monotonic version of the public episode catalog, used as the validator for conditional GETs.
+ *
+ * <p>The version is bumped after every committed episode creation or rating change, so a client
+ * holding the current ETag is guaranteed to hold current data. The ETag also carries a per-process
+ * boot id, so validators issued before a restart never match afterwards.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogVersion {
+
+  private final EpisodeRepository episodeRepository;
+  private final EpisodeRatingSummaryRepository episodeRatingSummaryRepository;
+
+  private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+  private final AtomicLong version = new AtomicLong();
+  private volatile Instant lastModified = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+  /**
+   * @return Current catalog version
+   */
+  public long current() {
+    return version.get();
+  }
+
+  /**
+   * Build the strong ETag of a catalog version.
+   *
+   * @param catalogVersion Version the response was built from
+   * @return Quoted ETag value
+   */
+  public String etagFor(long catalogVersion) {
+    return "\"" + bootId + "-" + catalogVersion + "\"";
+  }
+
+  /**
+   * Build the strong ETag of a representation that also depends on the day, such as the daily feed
+   * whose contents change at midnight without a catalog change.
+   *
+   * @param catalogVersion Version the response was built from
+   * @param day Day the response covers
+   * @return Quoted ETag value
+   */
+  public String etagFor(long catalogVersion, LocalDate day) {
+    return "\"" + bootId + "-" + catalogVersion + "-" + day + "\"";
+  }
+
+  /**
+   * @return ETag of the current catalog version
+   */
+  public String currentEtag() {
+    return etagFor(version.get());
+  }
+
+  /**
+   * @return When the catalog last changed (second precision, as in the Last-Modified header)
+   */
+  public Instant lastModified() {
+    return lastModified;
+  }
+
+  /** Take the initial Last-Modified from the newest episode or rating in the database. */
+  @EventListener(ApplicationReadyEvent.class)
+  public void initializeLastModified() {
+    OffsetDateTime latestEpisode = episodeRepository.findLatestCreationDate();
+    OffsetDateTime latestRating = episodeRatingSummaryRepository.findLatestRatingDate();
+    OffsetDateTime latest = latestEpisode;
+    if (latestRating != null && (latest == null || latestRating.isAfter(latest))) {
+      latest = latestRating;
+    }
+    if (latest != null) {
+      lastModified = latest.toInstant().truncatedTo(ChronoUnit.SECONDS);
+    }
+    log.info("Catalog validators initialized. etag: {}, lastModified: {}", currentEtag(), latest);
+  }
+
+  // Ordered first so read models rebuilt by later listeners never see an older version
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEpisodeCreated(EpisodeCreatedEvent event) {
+    bump(event.episode().getCreationDate());
+  }
+
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRatingChanged(RatingChangedEvent event) {
+    bump(event.ratingDate());
+  }
+
+  /**
+   * Record a catalog change.
+   *
+   * @param changedAt When the change happened (null means now)
+   */
+  void bump(OffsetDateTime changedAt) {
+    Instant changed =
+        (changedAt == null ? Instant.now() : changedAt.toInstant()).truncatedTo(ChronoUnit.SECONDS);
+    if (changed.isAfter(lastModified)) {
+      lastModified = changed;
+    }
+    version.incrementAndGet();
+  }
+}
@@ -0,0 +1,36 @@
+package com.shakhbary.arabic_news_podcast.feed;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Immutable, pre-serialized daily home feed. Every supported limit (1..max) is serialized once at
+ * build time, so serving a request is just writing the prepared bytes.
+ *
+ * @param day The day whose episodes the snapshot contains
+ * @param builtAt When the snapshot was built
+ * @param catalogVersion Catalog version read before the snapshot was built (see {@link
+ *     CatalogVersion})
+ * @param lastModified Catalog Last-Modified read before the snapshot was built, or the start of
+ *     {@code day} if that is later
+ * @param episodeCount Number of episodes available in the snapshot
+ * @param slices JSON array of the first {@code n} episodes at index {@code n - 1}
+ */
+public record DailyFeedSnapshot(
+    LocalDate day,
+    Instant builtAt,
+    long catalogVersion,
+    Instant lastModified,
+    int episodeCount,
+    byte[][] slices) {
+
+  /**
+   * Get the serialized feed for the requested limit.
+   *
+   * @param limit Requested number of episodes (1..slices.length)
+   * @return JSON array of at most {@code limit} episodes
+   */
+  public byte[] slice(int limit) {
+    return slices[Math.min(Math.max(limit, 1), slices.length) - 1];
+  }
+}
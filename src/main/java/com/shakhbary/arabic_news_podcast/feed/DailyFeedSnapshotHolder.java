@@ -0,0 +1,166 @@
+package com.shakhbary.arabic_news_podcast.feed;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.events.EpisodeCreatedEvent;
+import com.shakhbary.arabic_news_podcast.events.RatingChangedEvent;
+import com.shakhbary.arabic_news_podcast.services.EpisodeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Holds the current {@link DailyFeedSnapshot} for /api/home/daily.
+ *
+ * <p>The snapshot is rebuilt at startup, at midnight rollover, and after episodes or ratings are
+ * committed (the daily pipeline, bulk imports, and rating averages shown on the cards). Rebuild
+ * requests are coalesced on a single background thread, so a bulk import of many episodes triggers
+ * one or two rebuilds rather than one each.
+ */
+@Component
+@Slf4j
+public class DailyFeedSnapshotHolder {
+
+  /** Largest limit accepted by /api/home/daily */
+  public static final int MAX_LIMIT = 10;
+
+  private final EpisodeService episodeService;
+  private final ObjectMapper objectMapper;
+  private final CatalogVersion catalogVersion;
+
+  private final ExecutorService rebuildExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "daily-feed-rebuild");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final AtomicBoolean rebuildPending = new AtomicBoolean(false);
+  private volatile DailyFeedSnapshot snapshot;
+
+  public DailyFeedSnapshotHolder(
+      EpisodeService episodeService,
+      ObjectMapper objectMapper,
+      CatalogVersion catalogVersion,
+      MeterRegistry meterRegistry) {
+    this.episodeService = episodeService;
+    this.objectMapper = objectMapper;
+    this.catalogVersion = catalogVersion;
+    Gauge.builder("podcast.daily_feed.snapshot.age", this, DailyFeedSnapshotHolder::ageSeconds)
+        .description("Seconds since the daily home feed snapshot was built")
+        .baseUnit("seconds")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Get the current snapshot, building it synchronously if none exists yet or the day has rolled
+   * over without a rebuild.
+   *
+   * @return Snapshot for today
+   */
+  public DailyFeedSnapshot current() {
+    return current(LocalDate.now());
+  }
+
+  DailyFeedSnapshot current(LocalDate today) {
+    DailyFeedSnapshot current = snapshot;
+    if (current == null || !current.day().equals(today)) {
+      current = rebuild(today);
+    }
+    return current;
+  }
+
+  /** Build and publish a fresh snapshot from the database. */
+  public DailyFeedSnapshot rebuild() {
+    return rebuild(LocalDate.now());
+  }
+
+  synchronized DailyFeedSnapshot rebuild(LocalDate day) {
+    // Read the validators first: a change racing with the rebuild then only costs a re-download
+    long version = catalogVersion.current();
+    // The feed changes at midnight without a catalog change, so it is never older than its day
+    Instant startOfDay = day.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    Instant catalogLastModified = catalogVersion.lastModified();
+    Instant lastModified =
+        catalogLastModified.isAfter(startOfDay) ? catalogLastModified : startOfDay;
+    List<EpisodeDto> episodes = episodeService.listDailyEpisodes(MAX_LIMIT);
+
+    byte[][] slices = new byte[MAX_LIMIT][];
+    try {
+      for (int limit = 1; limit <= MAX_LIMIT; limit++) {
+        slices[limit - 1] =
+            objectMapper.writeValueAsBytes(episodes.subList(0, Math.min(limit, episodes.size())));
+      }
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Could not serialize daily feed snapshot", e);
+    }
+
+    DailyFeedSnapshot rebuilt =
+        new DailyFeedSnapshot(day, Instant.now(), version, lastModified, episodes.size(), slices);
+    snapshot = rebuilt;
+    log.info("Daily feed snapshot rebuilt with {} episodes", episodes.size());
+    return rebuilt;
+  }
+
+  /** Rebuild in the background; requests arriving while one is pending are merged into it. */
+  public void requestRebuild() {
+    if (rebuildPending.compareAndSet(false, true)) {
+      rebuildExecutor.execute(
+          () -> {
+            rebuildPending.set(false);
+            try {
+              rebuild();
+            } catch (Exception e) {
+              log.error("Daily feed snapshot rebuild failed: {}", e.getMessage());
+            }
+          });
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    requestRebuild();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEpisodeCreated(EpisodeCreatedEvent event) {
+    requestRebuild();
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRatingChanged(RatingChangedEvent event) {
+    requestRebuild();
+  }
+
+  @Scheduled(cron = "0 0 0 * * *") // Midnight rollover: yesterday's episodes leave the feed
+  public void onMidnight() {
+    requestRebuild();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    rebuildExecutor.shutdownNow();
+  }
+
+  private double ageSeconds() {
+    DailyFeedSnapshot current = snapshot;
+    return current == null
+        ? Double.NaN
+        : Duration.between(current.builtAt(), Instant.now()).toMillis() / 1000.0;
+  }
+}
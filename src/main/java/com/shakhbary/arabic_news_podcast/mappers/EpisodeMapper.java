@@ -1,11 +1,15 @@
 package com.shakhbary.arabic_news_podcast.mappers;
 
+import com.shakhbary.arabic_news_podcast.dtos.ArticleDto;
 import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeListItem;
 import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.pipeline.ContentFingerprint;
 import java.time.OffsetDateTime;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 @Mapper(componentModel = "spring", imports = OffsetDateTime.class)
 public interface EpisodeMapper {
@@ -18,6 +22,10 @@ public interface EpisodeMapper {
   @Mapping(source = "article.category", target = "articleCategory")
   EpisodeDto episodeToEpisodeDto(Episode episode);
 
+  @Mapping(target = "averageRating", ignore = true)
+  @Mapping(target = "ratingCount", ignore = true)
+  EpisodeDto episodeListItemToEpisodeDto(EpisodeListItem item);
+
   @Mapping(source = "episodeDto.title", target = "title")
   @Mapping(source = "episodeDto.description", target = "description")
   @Mapping(source = "episodeDto.imageUrl", target = "imageUrl")
@@ -35,5 +43,14 @@ public interface EpisodeMapper {
   @Mapping(source = "articleDto.contentRawUrl", target = "article.contentRawUrl")
   @Mapping(source = "articleDto.scriptUrl", target = "article.scriptUrl")
   @Mapping(expression = "java(OffsetDateTime.now())", target = "article.fetchDate")
+  @Mapping(
+      source = "articleDto",
+      target = "article.contentFingerprint",
+      qualifiedByName = "contentFingerprint")
   Episode sampleEpisodeToEpisode(CreateSampleDto sampleDto);
+
+  @Named("contentFingerprint")
+  default String contentFingerprint(ArticleDto article) {
+    return ContentFingerprint.of(article);
+  }
 }
@@ -19,7 +19,11 @@ import org.springframework.data.annotation.CreatedDate;
       @Index(name = "idx_article_category", columnList = "category"),
       @Index(name = "idx_article_author", columnList = "author"),
       @Index(name = "idx_article_fetch_date", columnList = "fetch_date")
-    })
+    },
+    uniqueConstraints =
+        @UniqueConstraint(
+            name = "uk_article_content_fingerprint",
+            columnNames = {"content_fingerprint"}))
 public class Article {
 
   @Id
@@ -49,6 +53,9 @@ public class Article {
   @Column(name = "script_url", nullable = false)
   private String scriptUrl;
 
+  @Column(name = "content_fingerprint", length = 64)
+  private String contentFingerprint; // see ContentFingerprint; null only for pre-V8 duplicates
+
   @CreatedDate
   @Column(name = "fetch_date", nullable = false, updatable = false)
   private OffsetDateTime fetchDate;
@@ -0,0 +1,43 @@
+package com.shakhbary.arabic_news_podcast.models;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * Persisted drop-off histogram of one episode: how many listeners' last position falls into each
+ * minute of the episode, stored as a packed array of 32-bit counts, plus listener and completion
+ * totals. Maintained in memory by DropOffHistograms and written back periodically; it can always be
+ * rebuilt from episode_progress.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "episode_dropoff_histogram")
+public class EpisodeDropOffHistogram {
+
+  @Id
+  @Column(name = "episode_id")
+  private UUID episodeId;
+
+  /* DATA */
+
+  @Lob
+  @Column(name = "minute_counts", nullable = false)
+  private byte[] minuteCounts; // big-endian int per minute, index = minute of the last position
+
+  @Column(name = "listener_count", nullable = false)
+  private long listenerCount;
+
+  @Column(name = "completed_count", nullable = false)
+  private long completedCount;
+
+  @Column(name = "position_seconds_sum", nullable = false)
+  private long positionSecondsSum;
+
+  @Column(name = "updated_date", nullable = false)
+  private OffsetDateTime updatedDate;
+}
@@ -0,0 +1,41 @@
+package com.shakhbary.arabic_news_podcast.models;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * Engagement counters of one episode: plays, distinct listeners, completions and seconds listened.
+ * Rows only ever receive deltas, accumulated in memory by EngagementCounters and added in periodic
+ * batches, so reads never count over episode_progress.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "episode_engagement")
+public class EpisodeEngagement {
+
+  @Id
+  @Column(name = "episode_id")
+  private UUID episodeId;
+
+  /* DATA */
+
+  @Column(name = "play_count", nullable = false)
+  private long playCount;
+
+  @Column(name = "listener_count", nullable = false)
+  private long listenerCount;
+
+  @Column(name = "completed_count", nullable = false)
+  private long completedCount;
+
+  @Column(name = "seconds_listened", nullable = false)
+  private long secondsListened;
+
+  @Column(name = "updated_date", nullable = false)
+  private OffsetDateTime updatedDate;
+}
@@ -59,8 +59,29 @@ public class EpisodeProgress {
   @Column(name = "play_count", nullable = false)
   private int playCount = 1;
 
+  /** Share of the episode after which it counts as completed */
+  public static final double COMPLETION_THRESHOLD = 0.95;
+
   // Utility methods for dynamic calculations
 
+  /** Upper bound for positions in episodes whose duration is unknown */
+  public static final long MAX_POSITION_SECONDS = 24 * 60 * 60;
+
+  /**
+   * Limits a client-reported position to the episode's duration (or to {@link
+   * #MAX_POSITION_SECONDS} when the duration is unknown), so stored positions stay meaningful.
+   */
+  public static long clampPosition(long positionSeconds, long durationSeconds) {
+    long limit = durationSeconds > 0 ? durationSeconds : MAX_POSITION_SECONDS;
+    return Math.min(Math.max(positionSeconds, 0), limit);
+  }
+
+  /** Whether a position reaches the completion threshold of an episode of the given duration */
+  public static boolean reachesCompletion(long positionSeconds, long durationSeconds) {
+    return durationSeconds > 0
+        && Math.min(1.0, (double) positionSeconds / durationSeconds) >= COMPLETION_THRESHOLD;
+  }
+
   /** Calculate completion percentage based on current position and episode duration */
   public double calculateCompletionPercentage() {
     if (episode == null || episode.getAudio() == null) {
@@ -80,7 +101,7 @@ public class EpisodeProgress {
 
     // Auto-mark as completed if user reached 95% or more
     double completionPercentage = calculateCompletionPercentage();
-    if (completionPercentage >= 0.95) {
+    if (completionPercentage >= COMPLETION_THRESHOLD) {
       this.isCompleted = true;
     }
   }
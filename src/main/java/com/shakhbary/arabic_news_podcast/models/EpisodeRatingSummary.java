@@ -0,0 +1,55 @@
+package com.shakhbary.arabic_news_podcast.models;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * Pre-aggregated rating figures for one episode (sum, count and a 1-5 star histogram). Rows are
+ * maintained incrementally by the rating write path and can be rebuilt from the ratings table, so
+ * reads never have to aggregate over ratings.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "episode_rating_summary")
+public class EpisodeRatingSummary {
+
+  @Id
+  @Column(name = "episode_id")
+  private UUID episodeId;
+
+  /* DATA */
+
+  @Column(name = "rating_sum", nullable = false)
+  private long ratingSum;
+
+  @Column(name = "rating_count", nullable = false)
+  private long ratingCount;
+
+  @Column(name = "count_1", nullable = false)
+  private long oneStarCount;
+
+  @Column(name = "count_2", nullable = false)
+  private long twoStarCount;
+
+  @Column(name = "count_3", nullable = false)
+  private long threeStarCount;
+
+  @Column(name = "count_4", nullable = false)
+  private long fourStarCount;
+
+  @Column(name = "count_5", nullable = false)
+  private long fiveStarCount;
+
+  @Column(name = "last_rating_date")
+  private OffsetDateTime lastRatingDate;
+
+  /** Average rating, or 0.0 when the episode has not been rated yet */
+  public double getAverageRating() {
+    return ratingCount == 0 ? 0.0 : (double) ratingSum / ratingCount;
+  }
+}
@@ -0,0 +1,59 @@
+package com.shakhbary.arabic_news_podcast.models;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import lombok.*;
+
+/**
+ * An ingested episode that could not be saved, even on its own after its chunk failed. Keeps the
+ * original JSON so it can be fixed and re-posted to the bulk creation endpoint.
+ */
+@Setter
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(
+    name = "ingest_dead_letters",
+    indexes = {
+      @Index(name = "idx_dead_letter_job_id", columnList = "job_id"),
+      @Index(name = "idx_dead_letter_creation_date", columnList = "creation_date")
+    })
+public class IngestDeadLetter {
+
+  /** Where the episode came from */
+  public enum Source {
+    PIPELINE,
+    BULK
+  }
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.UUID)
+  private UUID id;
+
+  /* DATA */
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "source", nullable = false, length = 20)
+  private Source source;
+
+  @Column(name = "job_id")
+  private UUID jobId; // pipeline job, null for bulk creation
+
+  @Column(name = "item_index", nullable = false)
+  private int itemIndex;
+
+  @Column(name = "title", length = 250)
+  private String title;
+
+  @Lob
+  @Column(name = "payload")
+  private String payload; // episode as JSON
+
+  @Column(name = "error", nullable = false, length = 1000)
+  private String error;
+
+  @Column(name = "creation_date", nullable = false, updatable = false)
+  private OffsetDateTime creationDate;
+}
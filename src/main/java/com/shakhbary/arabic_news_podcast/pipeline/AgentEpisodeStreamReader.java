@@ -0,0 +1,124 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads the agent's episode payload with Jackson's streaming parser and hands over each episode as
+ * soon as it has been read, so only one episode is held in memory at a time and the first one can
+ * be saved while the agent is still generating the rest. Accepted shapes:
+ *
+ * <ul>
+ *   <li>NDJSON: one episode object per line
+ *   <li>a JSON array of episode objects, possibly sent in chunks
+ *   <li>the original envelope {@code {"success": true, "episodes": [...]}}; {@code success} should
+ *       come first, as episodes read before a {@code false} are already handed over
+ * </ul>
+ *
+ * <p>An episode that is valid JSON but cannot be mapped to a {@link CreateSampleDto} is rejected on
+ * its own; malformed JSON ends the stream.
+ */
+@Component
+@RequiredArgsConstructor
+public class AgentEpisodeStreamReader {
+
+  private final ObjectMapper objectMapper;
+
+  /** Receives episodes in stream order; indexes count every episode read, including rejects */
+  public interface Handler {
+
+    void accept(int index, CreateSampleDto episode);
+
+    void reject(int index, JsonNode episode, String error);
+  }
+
+  /**
+   * Read the whole payload.
+   *
+   * @param body Response body, read but not closed
+   * @param ndjson Whether the body is NDJSON rather than a JSON document
+   * @param handler Receives each episode as it is read
+   * @return Number of episodes read
+   * @throws RuntimeException if the envelope reports failure or has no success flag
+   * @throws IOException if the body is malformed or cannot be read
+   */
+  public int read(InputStream body, boolean ndjson, Handler handler) throws IOException {
+    try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+      if (ndjson) {
+        return readEpisodes(parser, null, handler);
+      }
+      JsonToken first = parser.nextToken();
+      if (first == JsonToken.START_ARRAY) {
+        return readEpisodes(parser, JsonToken.END_ARRAY, handler);
+      }
+      if (first == JsonToken.START_OBJECT) {
+        return readEnvelope(parser, handler);
+      }
+      throw new RuntimeException("Unexpected agent response: " + first);
+    }
+  }
+
+  private int readEnvelope(JsonParser parser, Handler handler) throws IOException {
+    int count = 0;
+    Boolean success = null;
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String field = parser.currentName();
+      JsonToken value = parser.nextToken();
+      if ("success".equals(field)) {
+        success = value == JsonToken.VALUE_TRUE;
+        if (!success) {
+          throw new RuntimeException("Agent processing failed");
+        }
+      } else if ("episodes".equals(field) && value == JsonToken.START_ARRAY) {
+        count += readEpisodes(parser, JsonToken.END_ARRAY, handler);
+      } else {
+        parser.skipChildren();
+      }
+    }
+    if (success == null) {
+      throw new RuntimeException("Agent processing failed");
+    }
+    return count;
+  }
+
+  /** Reads episode objects until the given token, or until end of input if it is null */
+  private int readEpisodes(JsonParser parser, JsonToken end, Handler handler) throws IOException {
+    int index = 0;
+    for (JsonToken token = parser.nextToken(); token != end; token = parser.nextToken()) {
+      if (token == null) {
+        throw new IOException("Agent response ended before all episodes were read");
+      }
+      JsonNode node = parser.readValueAsTree();
+      CreateSampleDto episode = null;
+      String error = "Episode is not an object";
+      try {
+        episode = node.isObject() ? objectMapper.treeToValue(node, CreateSampleDto.class) : null;
+      } catch (IOException | IllegalArgumentException e) {
+        error = e.getMessage();
+      }
+      if (episode != null) {
+        handler.accept(index, episode);
+      } else {
+        handler.reject(index, node, error);
+      }
+      index++;
+    }
+    return index;
+  }
+
+  /** Best-effort title of an episode, for failure reports */
+  public static String titleOf(JsonNode node) {
+    if (node == null) {
+      return null;
+    }
+    String title = node.path("episode").path("title").textValue();
+    return title != null ? title : node.path("article").path("title").textValue();
+  }
+}
@@ -0,0 +1,116 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import com.shakhbary.arabic_news_podcast.repositories.ArticleRepository;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Bloom filter over the content fingerprints of all stored articles, so that ingesting new articles
+ * (the common case) skips the duplicate lookup. A negative answer is definite; a positive one may
+ * be false and is confirmed against the unique index on articles.content_fingerprint.
+ *
+ * <p>Loaded from the database at startup; until then every fingerprint is treated as a possible
+ * duplicate. Bits are never cleared, so deleted articles only cost an extra lookup. The filter is
+ * sized for {@code app.ingest.fingerprint-filter.expected-articles}; beyond that the false positive
+ * rate grows but answers stay correct.
+ */
+@Component
+@Slf4j
+public class ArticleFingerprintFilter {
+
+  private final ArticleRepository articleRepository;
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+  private volatile boolean ready = false;
+
+  public ArticleFingerprintFilter(
+      ArticleRepository articleRepository,
+      @Value("${app.ingest.fingerprint-filter.expected-articles:100000}") int expectedArticles,
+      @Value("${app.ingest.fingerprint-filter.false-positive-rate:0.01}")
+          double falsePositiveRate) {
+    this.articleRepository = articleRepository;
+    // Optimal sizing: m = -n ln p / (ln 2)^2 bits, k = m / n ln 2 hash functions
+    double n = Math.max(1, expectedArticles);
+    long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+    this.bits = new AtomicLongArray((int) Math.max(1, (m + 63) / 64));
+    this.bitCount = bits.length() * 64L;
+    this.hashCount = Math.max(1, (int) Math.round(bitCount / n * Math.log(2)));
+  }
+
+  /** Load every stored fingerprint once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    List<String> fingerprints = articleRepository.findAllContentFingerprints();
+    fingerprints.forEach(this::add);
+    ready = true;
+    log.info(
+        "Article fingerprint filter loaded: {} articles, {} bits, {} hashes in {} ms",
+        fingerprints.size(),
+        bitCount,
+        hashCount,
+        System.currentTimeMillis() - start);
+  }
+
+  /**
+   * Whether an article with this fingerprint may already be stored.
+   *
+   * @param fingerprint {@link ContentFingerprint} of the article
+   * @return false only if it is certainly not stored
+   */
+  public boolean mightContain(String fingerprint) {
+    if (!ready) {
+      return true;
+    }
+    long h1 = hash1(fingerprint);
+    long h2 = hash2(fingerprint);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Record a stored (or about to be stored) article.
+   *
+   * @param fingerprint {@link ContentFingerprint} of the article
+   */
+  public void add(String fingerprint) {
+    long h1 = hash1(fingerprint);
+    long h2 = hash2(fingerprint);
+    for (int i = 0; i < hashCount; i++) {
+      long bit = Math.floorMod(h1 + i * h2, bitCount);
+      int word = (int) (bit >>> 6);
+      long mask = 1L << bit;
+      long current;
+      do {
+        current = bits.get(word);
+      } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+    }
+  }
+
+  public boolean isReady() {
+    return ready;
+  }
+
+  /* The fingerprint is already a SHA-256, so its two leading 64-bit words serve as independent hashes */
+
+  private static long hash1(String fingerprint) {
+    return Long.parseUnsignedLong(fingerprint, 0, 16, 16);
+  }
+
+  private static long hash2(String fingerprint) {
+    return Long.parseUnsignedLong(fingerprint, 16, 32, 16) | 1; // never 0, so the probes differ
+  }
+}
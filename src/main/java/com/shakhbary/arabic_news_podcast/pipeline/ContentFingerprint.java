@@ -0,0 +1,80 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import com.shakhbary.arabic_news_podcast.dtos.ArticleDto;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * Identity of an article's content for deduplicating ingests: the hex SHA-256 of its normalized
+ * content URL, title and publisher, one per line. Normalization collapses whitespace runs to one
+ * space, trims, lowercases, and drops trailing slashes from the URL, so that re-scraped copies of
+ * an article map to the same fingerprint. Migration V8 backfills existing rows with the same rules,
+ * so each step here mirrors its MySQL counterpart: whitespace is the Unicode White_Space set that
+ * ICU's {@code [[:space:]]} matches (including no-break spaces), trimming removes only the space
+ * character as {@code TRIM} does, and lowercasing maps each code point on its own as {@code LOWER}
+ * does.
+ */
+public final class ContentFingerprint {
+
+  private static final Pattern WHITESPACE =
+      Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
+
+  private ContentFingerprint() {}
+
+  /**
+   * @param article Ingested article
+   * @return 64 lowercase hex characters, or null without an article
+   */
+  public static String of(ArticleDto article) {
+    return article == null
+        ? null
+        : of(article.getContentRawUrl(), article.getTitle(), article.getPublisher());
+  }
+
+  /**
+   * @param contentRawUrl Article content URL
+   * @param title Article title
+   * @param publisher Article publisher, may be null
+   * @return 64 lowercase hex characters
+   */
+  public static String of(String contentRawUrl, String title, String publisher) {
+    String url = normalize(contentRawUrl);
+    int end = url.length();
+    while (end > 0 && url.charAt(end - 1) == '/') {
+      end--;
+    }
+    String content = url.substring(0, end) + "\n" + normalize(title) + "\n" + normalize(publisher);
+    try {
+      byte[] digest =
+          MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  private static String normalize(String value) {
+    if (value == null) {
+      return "";
+    }
+    String collapsed = WHITESPACE.matcher(value).replaceAll(" ");
+    int start = 0;
+    int end = collapsed.length();
+    while (start < end && collapsed.charAt(start) == ' ') {
+      start++;
+    }
+    while (end > start && collapsed.charAt(end - 1) == ' ') {
+      end--;
+    }
+    // Not String.toLowerCase, which maps some characters to two or by their context
+    return collapsed
+        .substring(start, end)
+        .codePoints()
+        .map(Character::toLowerCase)
+        .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
+        .toString();
+  }
+}
@@ -0,0 +1,112 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeFailureDto;
+import com.shakhbary.arabic_news_podcast.dtos.PipelineJobDto;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+
+/**
+ * One run of the daily pipeline. The running pipeline reports its stage and per-episode outcomes
+ * here while pollers read {@link #snapshot}s, so all state is guarded by the instance lock.
+ */
+public class PipelineJob {
+
+  public enum Status {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+  }
+
+  public enum Stage {
+    CALLING_AGENT,
+    PARSING,
+    PERSISTING
+  }
+
+  @Getter private final UUID id;
+  private final Instant submittedAt;
+
+  private Status status = Status.QUEUED;
+  private Stage stage;
+  private Instant startedAt;
+  private Instant finishedAt;
+  private int episodesReceived;
+  private int episodesPersisted;
+  private int episodesDeduplicated;
+  private final List<EpisodeFailureDto> failures = new ArrayList<>();
+  private String error;
+
+  PipelineJob(UUID id, Instant submittedAt) {
+    this.id = id;
+    this.submittedAt = submittedAt;
+  }
+
+  /** Move on to the given stage */
+  public synchronized void enterStage(Stage stage) {
+    this.stage = stage;
+  }
+
+  /** Count an episode read from the agent's response, before it is persisted */
+  public synchronized void episodeReceived() {
+    episodesReceived++;
+  }
+
+  public synchronized void episodePersisted() {
+    episodesPersisted++;
+  }
+
+  /** Count episodes skipped because their article was already stored */
+  public synchronized void episodesDeduplicated(int count) {
+    episodesDeduplicated += count;
+  }
+
+  public synchronized void episodeFailed(int index, String title, String reason) {
+    failures.add(new EpisodeFailureDto(index, title, reason));
+  }
+
+  synchronized void start() {
+    status = Status.RUNNING;
+    startedAt = Instant.now();
+  }
+
+  synchronized void succeed() {
+    status = Status.SUCCEEDED;
+    finishedAt = Instant.now();
+  }
+
+  synchronized void fail(String reason) {
+    status = Status.FAILED;
+    error = reason;
+    finishedAt = Instant.now();
+  }
+
+  synchronized boolean isFinished() {
+    return status == Status.SUCCEEDED || status == Status.FAILED;
+  }
+
+  public synchronized PipelineJobDto snapshot() {
+    Long durationMillis =
+        startedAt == null
+            ? null
+            : Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now())
+                .toMillis();
+    return new PipelineJobDto(
+        id,
+        status,
+        stage,
+        submittedAt,
+        startedAt,
+        finishedAt,
+        durationMillis,
+        episodesReceived,
+        episodesPersisted,
+        episodesDeduplicated,
+        List.copyOf(failures),
+        error);
+  }
+}
@@ -0,0 +1,115 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import com.shakhbary.arabic_news_podcast.exceptions.DuplicateResourceException;
+import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs daily pipeline jobs on a dedicated thread, so neither an HTTP request thread nor a database
+ * connection is held while the agent scrapes, and keeps the most recent jobs for status polling.
+ * Only one job may be queued or running at a time; further submissions are rejected.
+ *
+ * <p>Jobs live in memory: their status is lost on restart and is only visible on the instance that
+ * ran them.
+ */
+@Component
+@Slf4j
+public class PipelineJobs {
+
+  private final EpisodeAutomationService episodeAutomationService;
+  private final Map<UUID, PipelineJob> jobs;
+  private PipelineJob active;
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "pipeline-job");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public PipelineJobs(
+      EpisodeAutomationService episodeAutomationService,
+      @Value("${app.pipeline.jobs.retained:50}") int retainedJobs) {
+    this.episodeAutomationService = episodeAutomationService;
+    this.jobs =
+        new LinkedHashMap<>() {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<UUID, PipelineJob> eldest) {
+            return size() > retainedJobs;
+          }
+        };
+  }
+
+  /**
+   * Queue a run of the daily pipeline.
+   *
+   * @return The queued job
+   * @throws DuplicateResourceException if a run is already queued or running
+   */
+  public synchronized PipelineJob submit() {
+    if (active != null && !active.isFinished()) {
+      throw new DuplicateResourceException(
+          "A daily pipeline run is already in progress: job " + active.getId());
+    }
+    PipelineJob job = new PipelineJob(UUID.randomUUID(), Instant.now());
+    jobs.put(job.getId(), job);
+    active = job;
+    executor.execute(() -> run(job));
+    log.info("Queued daily pipeline job {}", job.getId());
+    return job;
+  }
+
+  /**
+   * Find a recent job.
+   *
+   * @param jobId Job ID
+   * @return The job, or empty if it is unknown or no longer retained
+   */
+  public synchronized Optional<PipelineJob> find(UUID jobId) {
+    return Optional.ofNullable(jobs.get(jobId));
+  }
+
+  /** Scheduled daily run; skipped if a manually started run is still in progress. */
+  @Scheduled(cron = "0 0 9 * * *") // CRON expression for 9:00 AM daily
+  public void scheduledRun() {
+    try {
+      submit();
+    } catch (DuplicateResourceException e) {
+      log.warn("Skipping scheduled daily pipeline: {}", e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void run(PipelineJob job) {
+    job.start();
+    try {
+      episodeAutomationService.runDailyPipeline(job);
+      job.succeed();
+      log.info("Daily pipeline job {} succeeded", job.getId());
+    } catch (RuntimeException e) {
+      log.error("Daily pipeline job {} failed: {}", job.getId(), e.getMessage());
+      job.fail(e.getMessage());
+    } catch (Error e) {
+      // Finish the job even then, or it would block every later run until a restart
+      log.error("Daily pipeline job {} aborted", job.getId(), e);
+      job.fail(e.toString());
+      throw e;
+    }
+  }
+}
@@ -1,9 +1,23 @@
 package com.shakhbary.arabic_news_podcast.repositories;
 
 import com.shakhbary.arabic_news_podcast.models.Article;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ArticleRepository extends JpaRepository<Article, UUID> {}
+public interface ArticleRepository extends JpaRepository<Article, UUID> {
+
+  /* description: Returns the content fingerprint of every article, to preload the duplicate filter */
+  @Query("SELECT a.contentFingerprint FROM Article a WHERE a.contentFingerprint IS NOT NULL")
+  List<String> findAllContentFingerprints();
+
+  /* description: Returns which of the given content fingerprints are already stored */
+  @Query("SELECT a.contentFingerprint FROM Article a WHERE a.contentFingerprint IN :fingerprints")
+  List<String> findExistingContentFingerprints(
+      @Param("fingerprints") Collection<String> fingerprints);
+}
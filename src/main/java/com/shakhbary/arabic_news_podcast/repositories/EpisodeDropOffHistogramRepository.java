@@ -0,0 +1,34 @@
+package com.shakhbary.arabic_news_podcast.repositories;
+
+import com.shakhbary.arabic_news_podcast.models.EpisodeDropOffHistogram;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EpisodeDropOffHistogramRepository
+    extends JpaRepository<EpisodeDropOffHistogram, UUID> {
+
+  /*
+   * description: Writes an episode's histogram in one statement, replacing any stored version
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO episode_dropoff_histogram (episode_id, minute_counts, listener_count, completed_count, position_seconds_sum, updated_date) "
+              + "VALUES (:episodeId, :minuteCounts, :listeners, :completions, :positionSecondsSum, :updatedDate) "
+              + "ON DUPLICATE KEY UPDATE minute_counts = VALUES(minute_counts), listener_count = VALUES(listener_count), "
+              + "completed_count = VALUES(completed_count), position_seconds_sum = VALUES(position_seconds_sum), updated_date = VALUES(updated_date)")
+  void upsert(
+      @Param("episodeId") UUID episodeId,
+      @Param("minuteCounts") byte[] minuteCounts,
+      @Param("listeners") long listeners,
+      @Param("completions") long completions,
+      @Param("positionSecondsSum") long positionSecondsSum,
+      @Param("updatedDate") OffsetDateTime updatedDate);
+}
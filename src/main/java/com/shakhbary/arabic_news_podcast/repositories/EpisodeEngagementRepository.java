@@ -0,0 +1,26 @@
+package com.shakhbary.arabic_news_podcast.repositories;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeEngagementDto;
+import com.shakhbary.arabic_news_podcast.models.EpisodeEngagement;
+import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EpisodeEngagementRepository extends JpaRepository<EpisodeEngagement, UUID> {
+
+  /*
+   * description: Lists every episode with its stored engagement counters (zeros if it has no row yet). Sortable by
+   * g.playCount, g.listenerCount, g.completedCount and g.secondsListened.
+   */
+  @Query(
+      value =
+          "SELECT new com.shakhbary.arabic_news_podcast.dtos.EpisodeEngagementDto(e.id, e.title, "
+              + "COALESCE(g.playCount, 0), COALESCE(g.listenerCount, 0), COALESCE(g.completedCount, 0), COALESCE(g.secondsListened, 0)) "
+              + "FROM Episode e LEFT JOIN EpisodeEngagement g ON g.episodeId = e.id",
+      countQuery = "SELECT COUNT(e) FROM Episode e")
+  Page<EpisodeEngagementDto> findEngagement(Pageable pageable);
+}
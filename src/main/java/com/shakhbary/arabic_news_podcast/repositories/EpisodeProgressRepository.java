@@ -1,10 +1,14 @@
 package com.shakhbary.arabic_news_podcast.repositories;
 
 import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
+import com.shakhbary.arabic_news_podcast.tracking.StoredProgress;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,11 +24,62 @@ public interface EpisodeProgressRepository extends JpaRepository<EpisodeProgress
       "SELECT ep FROM EpisodeProgress ep WHERE ep.user.id = :userId ORDER BY ep.lastPlayedDate DESC")
   List<EpisodeProgress> findAllByUserOrdered(@Param("userId") UUID userId);
 
+  /*
+   * description: A user's most recently played progress rows with their episodes and audio fetched in the same
+   * statement, bounded by the limit, for the profile history
+   */
+  @Query(
+      "SELECT ep FROM EpisodeProgress ep JOIN FETCH ep.episode e LEFT JOIN FETCH e.audio WHERE ep.user.id = :userId "
+          + "ORDER BY ep.lastPlayedDate DESC, ep.id DESC")
+  List<EpisodeProgress> findRecentWithEpisodeByUser(@Param("userId") UUID userId, Limit limit);
+
   @Query(
       "SELECT ep FROM EpisodeProgress ep WHERE ep.user.id = :userId AND ep.episode.id = :episodeId")
   Optional<EpisodeProgress> findByUserAndEpisode(
       @Param("userId") UUID userId, @Param("episodeId") UUID episodeId);
 
+  /*
+   * description: Same lookup as findByUserAndEpisode, with the episode and its audio fetched so the
+   * row can be mapped to a DTO without further queries.
+   */
+  @Query(
+      "SELECT ep FROM EpisodeProgress ep JOIN FETCH ep.episode e LEFT JOIN FETCH e.audio WHERE ep.user.id = :userId AND e.id = :episodeId")
+  Optional<EpisodeProgress> findWithEpisodeByUserAndEpisode(
+      @Param("userId") UUID userId, @Param("episodeId") UUID episodeId);
+
+  /*
+   * description: Inserts or updates a user's progress on an episode in one statement, so concurrent first writes
+   * cannot collide on unique_user_episode_progress. The position only moves forward in time, completion is sticky
+   * and play_count keeps its insert value. The id is only used when a new row is inserted. last_played_date is
+   * assigned last: MySQL evaluates the assignments left to right. ProgressWriteBuffer batches the same statement.
+   */
+  String UPSERT_PROGRESS_SQL =
+      "INSERT INTO episode_progress (id, user_id, episode_id, last_position_seconds, is_completed, last_played_date, play_count) "
+          + "VALUES (:id, :userId, :episodeId, :positionSeconds, :completed, :playedAt, 1) "
+          + "ON DUPLICATE KEY UPDATE "
+          + "last_position_seconds = CASE WHEN VALUES(last_played_date) >= last_played_date THEN VALUES(last_position_seconds) ELSE last_position_seconds END, "
+          + "is_completed = is_completed OR VALUES(is_completed), "
+          + "last_played_date = GREATEST(last_played_date, VALUES(last_played_date))";
+
+  @Modifying(clearAutomatically = true)
+  @Query(nativeQuery = true, value = UPSERT_PROGRESS_SQL)
+  int upsertProgress(
+      @Param("id") UUID id,
+      @Param("userId") UUID userId,
+      @Param("episodeId") UUID episodeId,
+      @Param("positionSeconds") long positionSeconds,
+      @Param("completed") boolean completed,
+      @Param("playedAt") OffsetDateTime playedAt);
+
+  /*
+   * description: Reads the playback state of a user's progress row without loading the entity, so the effect of a
+   * following upsert can be published
+   */
+  @Query(
+      "SELECT new com.shakhbary.arabic_news_podcast.tracking.StoredProgress(ep.lastPositionSeconds, ep.isCompleted, ep.lastPlayedDate) FROM EpisodeProgress ep WHERE ep.user.id = :userId AND ep.episode.id = :episodeId")
+  Optional<StoredProgress> findStoredProgress(
+      @Param("userId") UUID userId, @Param("episodeId") UUID episodeId);
+
   boolean existsByUserIdAndEpisodeId(UUID userId, UUID episodeId);
 
   // New queries for position-based tracking
@@ -32,12 +87,24 @@ public interface EpisodeProgressRepository extends JpaRepository<EpisodeProgress
       "SELECT ep FROM EpisodeProgress ep WHERE ep.user.id = :userId AND ep.lastPositionSeconds > 0 AND ep.isCompleted = false ORDER BY ep.lastPlayedDate DESC")
   List<EpisodeProgress> findInProgressEpisodes(@Param("userId") UUID userId);
 
-  // Calculate average completion percentage: (lastPositionSeconds / episode.audio.duration)
+  /*
+   * description: Counts an episode's progress rows per drop-off minute in one grouped pass, used to (re)build its
+   * drop-off histogram. Completed rows are reported in bucket -1.
+   */
   @Query(
-      "SELECT AVG(CAST(ep.lastPositionSeconds AS double) / ep.episode.audio.duration) FROM EpisodeProgress ep WHERE ep.episode.id = :episodeId AND ep.episode.audio.duration > 0")
-  Double findAverageCompletionForEpisode(@Param("episodeId") UUID episodeId);
+      nativeQuery = true,
+      value =
+          "SELECT CASE WHEN is_completed THEN -1 ELSE FLOOR(last_position_seconds / 60) END AS bucket, "
+              + "COUNT(*) AS listeners, SUM(last_position_seconds) AS positionSeconds "
+              + "FROM episode_progress WHERE episode_id = :episodeId GROUP BY bucket")
+  List<DropOffBucketCount> countDropOffBuckets(@Param("episodeId") UUID episodeId);
 
-  @Query(
-      "SELECT ep FROM EpisodeProgress ep WHERE ep.episode.id = :episodeId AND ep.isCompleted = false GROUP BY FLOOR(ep.lastPositionSeconds / 60) ORDER BY COUNT(*) DESC")
-  List<EpisodeProgress> findCommonDropOffPoints(@Param("episodeId") UUID episodeId);
+  /** One bucket of {@link #countDropOffBuckets}. */
+  interface DropOffBucketCount {
+    long getBucket();
+
+    long getListeners();
+
+    long getPositionSeconds();
+  }
 }
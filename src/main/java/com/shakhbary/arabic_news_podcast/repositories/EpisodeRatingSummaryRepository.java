@@ -0,0 +1,96 @@
+package com.shakhbary.arabic_news_podcast.repositories;
+
+import com.shakhbary.arabic_news_podcast.models.EpisodeRatingSummary;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface EpisodeRatingSummaryRepository extends JpaRepository<EpisodeRatingSummary, UUID> {
+
+  /*
+   * description: Atomically adds the given deltas to an episode's summary row, creating it on first use.
+   * Deltas are applied in the database so concurrent raters never overwrite each other.
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO episode_rating_summary (episode_id, rating_sum, rating_count, count_1, count_2, count_3, count_4, count_5, last_rating_date) "
+              + "VALUES (:episodeId, :sumDelta, :countDelta, :oneStar, :twoStar, :threeStar, :fourStar, :fiveStar, :ratingDate) "
+              + "ON DUPLICATE KEY UPDATE rating_sum = rating_sum + VALUES(rating_sum), rating_count = rating_count + VALUES(rating_count), "
+              + "count_1 = count_1 + VALUES(count_1), count_2 = count_2 + VALUES(count_2), count_3 = count_3 + VALUES(count_3), "
+              + "count_4 = count_4 + VALUES(count_4), count_5 = count_5 + VALUES(count_5), last_rating_date = VALUES(last_rating_date)")
+  void applyDelta(
+      @Param("episodeId") UUID episodeId,
+      @Param("sumDelta") long sumDelta,
+      @Param("countDelta") long countDelta,
+      @Param("oneStar") long oneStar,
+      @Param("twoStar") long twoStar,
+      @Param("threeStar") long threeStar,
+      @Param("fourStar") long fourStar,
+      @Param("fiveStar") long fiveStar,
+      @Param("ratingDate") OffsetDateTime ratingDate);
+
+  /**
+   * Records a rating in the episode's summary. A re-rating moves one vote between histogram buckets
+   * and adjusts the sum without changing the count.
+   *
+   * @param episodeId The rated episode
+   * @param previousRating The user's previous rating, or null if this is their first rating
+   * @param newRating The rating being stored (1-5)
+   * @param ratingDate When the rating was submitted
+   */
+  default void recordRating(
+      UUID episodeId, Integer previousRating, int newRating, OffsetDateTime ratingDate) {
+    long[] histogram = new long[6];
+    histogram[newRating]++;
+    long sumDelta = newRating;
+    long countDelta = 1;
+    if (previousRating != null) {
+      histogram[previousRating]--;
+      sumDelta -= previousRating;
+      countDelta = 0;
+    }
+    applyDelta(
+        episodeId,
+        sumDelta,
+        countDelta,
+        histogram[1],
+        histogram[2],
+        histogram[3],
+        histogram[4],
+        histogram[5],
+        ratingDate);
+  }
+
+  /*
+   * description: Recomputes the summary rows of the given episodes from the ratings table in one set-based statement.
+   * Episodes without ratings get a zeroed row.
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT INTO episode_rating_summary (episode_id, rating_sum, rating_count, count_1, count_2, count_3, count_4, count_5, last_rating_date) "
+              + "SELECT e.id, COALESCE(SUM(r.rating), 0), COUNT(r.id), "
+              + "COALESCE(SUM(CASE WHEN r.rating = 1 THEN 1 ELSE 0 END), 0), COALESCE(SUM(CASE WHEN r.rating = 2 THEN 1 ELSE 0 END), 0), "
+              + "COALESCE(SUM(CASE WHEN r.rating = 3 THEN 1 ELSE 0 END), 0), COALESCE(SUM(CASE WHEN r.rating = 4 THEN 1 ELSE 0 END), 0), "
+              + "COALESCE(SUM(CASE WHEN r.rating = 5 THEN 1 ELSE 0 END), 0), MAX(r.rating_date) "
+              + "FROM episodes e LEFT JOIN ratings r ON r.episode_id = e.id WHERE e.id IN (:episodeIds) GROUP BY e.id "
+              + "ON DUPLICATE KEY UPDATE rating_sum = VALUES(rating_sum), rating_count = VALUES(rating_count), "
+              + "count_1 = VALUES(count_1), count_2 = VALUES(count_2), count_3 = VALUES(count_3), "
+              + "count_4 = VALUES(count_4), count_5 = VALUES(count_5), last_rating_date = VALUES(last_rating_date)")
+  int rebuildForEpisodes(@Param("episodeIds") Collection<UUID> episodeIds);
+
+  /*
+   * description: Date of the most recent rating across all episodes, used as the catalog's initial Last-Modified
+   */
+  @Query("SELECT MAX(s.lastRatingDate) FROM EpisodeRatingSummary s")
+  OffsetDateTime findLatestRatingDate();
+}
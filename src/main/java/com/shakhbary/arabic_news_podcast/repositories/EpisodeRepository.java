@@ -1,10 +1,17 @@
 package com.shakhbary.arabic_news_podcast.repositories;
 
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeListItem;
 import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchDocument;
 import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,19 +19,116 @@ import org.springframework.stereotype.Repository;
 
 @Repository
 public interface EpisodeRepository extends JpaRepository<Episode, UUID> {
+
   /*
-   * description: Finds episodes created after a certain date, sorted by newest first (descending), with pagination
+   * description: Select clause of the list-view projection: only the columns EpisodeDto renders in lists, with the
+   * description truncated to 180 characters in SQL. Article and audio are outer-joined (both are to-one associations,
+   * so the row count and therefore the pagination are unaffected).
+   */
+  String LIST_ITEM_SELECT =
+      "SELECT new com.shakhbary.arabic_news_podcast.dtos.EpisodeListItem(e.id, e.title, "
+          + "CASE WHEN LENGTH(e.description) > 180 THEN CONCAT(SUBSTRING(e.description, 1, 177), '...') ELSE e.description END, "
+          + "e.scriptUrlPath, e.imageUrl, e.creationDate, au.urlPath, au.duration, a.id, a.title, a.author, a.publisher, a.category) "
+          + "FROM Episode e LEFT JOIN e.article a LEFT JOIN e.audio au ";
+
+  String SEARCH_FILTER =
+      "(:title IS NULL OR LOWER(e.title) LIKE LOWER(CONCAT('%',:title,'%'))) AND (:category IS NULL OR (a IS NOT NULL AND LOWER(a.category)=LOWER(:category))) ";
+
+  String AFTER_CURSOR =
+      "(e.creationDate < :creationDate OR (e.creationDate = :creationDate AND e.id < :id)) ";
+
+  String NEWEST_FIRST = "ORDER BY e.creationDate DESC, e.id DESC";
+
+  /*
+   * description: Creation date of the newest episode, used as the catalog's initial Last-Modified
+   */
+  @Query("SELECT MAX(e.creationDate) FROM Episode e")
+  OffsetDateTime findLatestCreationDate();
+
+  /*
+   * description: Paginated list view of all episodes
+   */
+  @Query(value = LIST_ITEM_SELECT, countQuery = "SELECT COUNT(e) FROM Episode e")
+  Page<EpisodeListItem> findListItems(Pageable pageable);
+
+  /*
+   * description: List view of the newest episodes created after a certain date
    * after: used for the 'CreatedAtAfter' filter
-   * pageable: the input object that dictates which page number and how many items per page we want (e.g., page 2, 10 items)
    */
-  Page<Episode> findByCreationDateAfterOrderByCreationDateDesc(
-      OffsetDateTime after, Pageable pageable);
+  @Query(LIST_ITEM_SELECT + "WHERE e.creationDate > :after " + NEWEST_FIRST)
+  List<EpisodeListItem> findListItemsCreatedAfter(
+      @Param("after") OffsetDateTime after, Limit limit);
 
   /*
-   * description: Advanced search for episodes by title and/or category with pagination.
+   * description: Advanced search for episodes by title and/or category with pagination, as list view rows.
    */
   @Query(
-      "SELECT e FROM Episode e LEFT JOIN e.article a WHERE (:title IS NULL OR LOWER(e.title) LIKE LOWER(CONCAT('%',:title,'%'))) AND (:category IS NULL OR (a IS NOT NULL AND LOWER(a.category)=LOWER(:category)))")
-  Page<Episode> search(
+      value = LIST_ITEM_SELECT + "WHERE " + SEARCH_FILTER,
+      countQuery = "SELECT COUNT(e) FROM Episode e LEFT JOIN e.article a WHERE " + SEARCH_FILTER)
+  Page<EpisodeListItem> searchListItems(
       @Param("title") String title, @Param("category") String category, Pageable pageable);
+
+  /*
+   * description: First slice of the catalog for keyset pagination, newest first.
+   * Ordering by (creation_date, id) lets MySQL walk idx_episode_creation_date (InnoDB appends the id) without a count.
+   */
+  @Query(LIST_ITEM_SELECT + NEWEST_FIRST)
+  List<EpisodeListItem> findFirstSlice(Limit limit);
+
+  /*
+   * description: Slice of the catalog strictly after the given (creationDate, id) cursor, newest first.
+   */
+  @Query(LIST_ITEM_SELECT + "WHERE " + AFTER_CURSOR + NEWEST_FIRST)
+  List<EpisodeListItem> findSliceAfter(
+      @Param("creationDate") OffsetDateTime creationDate, @Param("id") UUID id, Limit limit);
+
+  /*
+   * description: First slice of a title/category search for keyset pagination, newest first.
+   */
+  @Query(LIST_ITEM_SELECT + "WHERE " + SEARCH_FILTER + NEWEST_FIRST)
+  List<EpisodeListItem> searchFirstSlice(
+      @Param("title") String title, @Param("category") String category, Limit limit);
+
+  /*
+   * description: Slice of a title/category search strictly after the given (creationDate, id) cursor.
+   */
+  @Query(LIST_ITEM_SELECT + "WHERE " + SEARCH_FILTER + "AND " + AFTER_CURSOR + NEWEST_FIRST)
+  List<EpisodeListItem> searchSliceAfter(
+      @Param("title") String title,
+      @Param("category") String category,
+      @Param("creationDate") OffsetDateTime creationDate,
+      @Param("id") UUID id,
+      Limit limit);
+
+  /*
+   * description: Searchable text of every episode, used to build the in-memory search index.
+   */
+  @Query(
+      "SELECT new com.shakhbary.arabic_news_podcast.search.EpisodeSearchDocument(e.id, e.title, e.description, a.title, a.category) FROM Episode e LEFT JOIN e.article a")
+  List<EpisodeSearchDocument> findAllSearchDocuments();
+
+  /*
+   * description: Loads a single episode together with its article and audio in one statement
+   */
+  @EntityGraph(attributePaths = {"article", "audio"})
+  Optional<Episode> findWithArticleAndAudioById(UUID id);
+
+  /*
+   * description: Loads the episode of the article with the given content fingerprint, with its article and audio
+   */
+  @EntityGraph(attributePaths = {"article", "audio"})
+  Optional<Episode> findFirstByArticleContentFingerprint(String contentFingerprint);
+
+  /*
+   * description: List view rows of the given episodes (e.g. ranked search hits) in one statement.
+   * The result order is unspecified.
+   */
+  @Query(LIST_ITEM_SELECT + "WHERE e.id IN (:ids)")
+  List<EpisodeListItem> findListItemsByIdIn(@Param("ids") Collection<UUID> ids);
+
+  /*
+   * description: IDs of every episode, used by maintenance jobs that work through the catalog in chunks.
+   */
+  @Query("SELECT e.id FROM Episode e")
+  List<UUID> findAllIds();
 }
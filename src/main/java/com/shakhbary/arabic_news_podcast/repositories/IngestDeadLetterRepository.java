@@ -0,0 +1,14 @@
+package com.shakhbary.arabic_news_podcast.repositories;
+
+import com.shakhbary.arabic_news_podcast.models.IngestDeadLetter;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface IngestDeadLetterRepository extends JpaRepository<IngestDeadLetter, UUID> {
+
+  /* description: Lists the episodes a pipeline job could not save, in response order. */
+  List<IngestDeadLetter> findByJobIdOrderByItemIndex(UUID jobId);
+}
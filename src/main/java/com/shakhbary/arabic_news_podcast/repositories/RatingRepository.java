@@ -1,9 +1,18 @@
 package com.shakhbary.arabic_news_podcast.repositories;
 
+import com.shakhbary.arabic_news_podcast.dtos.StoredRating;
+import com.shakhbary.arabic_news_podcast.dtos.UserProfileDto;
 import com.shakhbary.arabic_news_podcast.models.Rating;
+import jakarta.persistence.LockModeType;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,6 +29,67 @@ public interface RatingRepository extends JpaRepository<Rating, UUID> {
   @Query("SELECT r FROM Rating r WHERE r.user.id = :userId ORDER BY r.ratingDate DESC")
   List<Rating> findAllByUserOrdered(@Param("userId") UUID userId);
 
+  /*
+   * description: A user's most recent ratings with the rated episodes' titles, projected in one statement and bounded
+   * by the limit, for the profile page
+   */
+  @Query(
+      "SELECT new com.shakhbary.arabic_news_podcast.dtos.UserProfileDto$UserRatingDto(e.id, e.title, r.rating, r.ratingDate) "
+          + "FROM Rating r JOIN r.episode e WHERE r.user.id = :userId ORDER BY r.ratingDate DESC, r.id DESC")
+  List<UserProfileDto.UserRatingDto> findRecentByUser(@Param("userId") UUID userId, Limit limit);
+
+  /*
+   * description: A user's ratings of the given episodes in one statement, e.g. for the episodes of a history page
+   */
+  @Query("SELECT r FROM Rating r WHERE r.user.id = :userId AND r.episode.id IN :episodeIds")
+  List<Rating> findByUserAndEpisodes(
+      @Param("userId") UUID userId, @Param("episodeIds") Collection<UUID> episodeIds);
+
   @Query("SELECT r FROM Rating r WHERE r.user.id = :userId AND r.episode.id = :episodeId")
   Rating findByUserAndEpisode(@Param("userId") UUID userId, @Param("episodeId") UUID episodeId);
+
+  /*
+   * description: Reads the id and value of a user's rating of an episode without loading the entity or its associations
+   */
+  @Query(
+      "SELECT new com.shakhbary.arabic_news_podcast.dtos.StoredRating(r.id, r.rating) FROM Rating r WHERE r.user.id = :userId AND r.episode.id = :episodeId")
+  Optional<StoredRating> findStoredRating(
+      @Param("userId") UUID userId, @Param("episodeId") UUID episodeId);
+
+  /*
+   * description: Reads the id and value of a user's rating of an episode and locks the row until the transaction
+   * ends, so that concurrent re-ratings apply their summary deltas one after the other
+   */
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  @Query(
+      "SELECT new com.shakhbary.arabic_news_podcast.dtos.StoredRating(r.id, r.rating) FROM Rating r WHERE r.user.id = :userId AND r.episode.id = :episodeId")
+  Optional<StoredRating> findStoredRatingForUpdate(
+      @Param("userId") UUID userId, @Param("episodeId") UUID episodeId);
+
+  /*
+   * description: Inserts a user's first rating of an episode unless a rating already exists, in which case nothing
+   * changes. Returns 1 if the row was inserted and 0 if another rating won the (user_id, episode_id) unique key.
+   */
+  @Modifying
+  @Query(
+      nativeQuery = true,
+      value =
+          "INSERT IGNORE INTO ratings (id, user_id, episode_id, rating, rating_date) "
+              + "VALUES (:id, :userId, :episodeId, :rating, :ratingDate)")
+  int insertRatingIfAbsent(
+      @Param("id") UUID id,
+      @Param("userId") UUID userId,
+      @Param("episodeId") UUID episodeId,
+      @Param("rating") int rating,
+      @Param("ratingDate") OffsetDateTime ratingDate);
+
+  /*
+   * description: Replaces the value of an existing rating without loading the entity
+   */
+  @Modifying
+  @Query("UPDATE Rating r SET r.rating = :rating, r.ratingDate = :ratingDate WHERE r.id = :id")
+  int updateRating(
+      @Param("id") UUID id,
+      @Param("rating") int rating,
+      @Param("ratingDate") OffsetDateTime ratingDate);
 }
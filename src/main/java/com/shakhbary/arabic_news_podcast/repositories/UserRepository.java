@@ -1,15 +1,40 @@
 package com.shakhbary.arabic_news_podcast.repositories;
 
+import com.shakhbary.arabic_news_podcast.dtos.UserListeningAggregate;
 import com.shakhbary.arabic_news_podcast.models.User;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
   Optional<User> findByUsername(String username);
 
+  /*
+   * description: Resolves a username to the user's ID without loading the user and its roles
+   */
+  @Query("SELECT u.id FROM User u WHERE u.username = :username")
+  Optional<UUID> findIdByUsername(@Param("username") String username);
+
+  /*
+   * description: Aggregates a user's listening total and progress rows in one statement: completed and in-progress
+   * counts and the average completion (position / audio duration, capped at 1, 0 without audio). Mirrors
+   * EpisodeProgress.calculateCompletionPercentage. Empty if the user does not exist.
+   */
+  @Query(
+      "SELECT new com.shakhbary.arabic_news_podcast.dtos.UserListeningAggregate(u.secondsListened, "
+          + "COALESCE(SUM(CASE WHEN ep.isCompleted = true THEN 1 ELSE 0 END), 0), "
+          + "COALESCE(SUM(CASE WHEN ep.isCompleted = false AND ep.lastPositionSeconds > 0 THEN 1 ELSE 0 END), 0), "
+          + "COALESCE(AVG(CASE WHEN a.duration IS NULL OR a.duration <= 0 THEN 0.0 "
+          + "WHEN ep.lastPositionSeconds >= a.duration THEN 1.0 "
+          + "ELSE CAST(ep.lastPositionSeconds AS double) / a.duration END), 0.0)) "
+          + "FROM User u LEFT JOIN EpisodeProgress ep ON ep.user = u LEFT JOIN ep.episode e LEFT JOIN e.audio a "
+          + "WHERE u.id = :userId GROUP BY u.id, u.secondsListened")
+  Optional<UserListeningAggregate> findListeningAggregate(@Param("userId") UUID userId);
+
   Optional<User> findByEmail(String email);
 
   boolean existsByEmail(String email);
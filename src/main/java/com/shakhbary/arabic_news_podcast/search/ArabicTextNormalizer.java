@@ -0,0 +1,100 @@
+package com.shakhbary.arabic_news_podcast.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Normalizes and tokenizes Arabic (and Latin) text for search.
+ *
+ * <p>Normalization removes orthographic variation that users do not type consistently:
+ *
+ * <ul>
+ *   <li>diacritics (tashkeel, superscript alef) and tatweel are stripped
+ *   <li>alef variants (أ إ آ ٱ) become bare alef (ا)
+ *   <li>taa marbuta (ة) becomes haa (ه) and alef maqsura (ى) becomes yaa (ي)
+ * </ul>
+ *
+ * <p>Tokens are then lightly stemmed by removing the definite article and the attached
+ * conjunction/preposition prefixes و and ب (e.g. "والاقتصاد" and "بالاقتصاد" both become "اقتصاد").
+ */
+public final class ArabicTextNormalizer {
+
+  /** Longest prefixes first so "وال" wins over "و" */
+  private static final String[] PREFIXES = {"وال", "بال", "ال", "و", "ب"};
+
+  /** Minimum number of letters that must remain after stripping a prefix */
+  private static final int MIN_STEM_LENGTH = 3;
+
+  private ArabicTextNormalizer() {}
+
+  /**
+   * Normalize text to its canonical search form without tokenizing it.
+   *
+   * @param text Raw text (may be null)
+   * @return Normalized text, empty if the input was null
+   */
+  public static String normalize(String text) {
+    if (text == null) {
+      return "";
+    }
+    StringBuilder sb = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isDiacritic(c) || c == '\u0640') { // tatweel
+        continue;
+      }
+      sb.append(
+          switch (c) {
+            case '\u0623', '\u0625', '\u0622', '\u0671' -> '\u0627'; // أ إ آ ٱ -> ا
+            case '\u0629' -> '\u0647'; // ة -> ه
+            case '\u0649' -> '\u064A'; // ى -> ي
+            default -> c;
+          });
+    }
+    return sb.toString().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Normalize, split on anything that is not a letter or digit, and stem each token.
+   *
+   * @param text Raw text (may be null)
+   * @return Search terms in document order (duplicates preserved for term frequencies)
+   */
+  public static List<String> tokenize(String text) {
+    String normalized = normalize(text);
+    List<String> tokens = new ArrayList<>();
+    int start = -1;
+    for (int i = 0; i <= normalized.length(); i++) {
+      boolean tokenChar =
+          i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+      if (tokenChar && start < 0) {
+        start = i;
+      } else if (!tokenChar && start >= 0) {
+        tokens.add(stem(normalized.substring(start, i)));
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Strip a single leading article/conjunction/preposition from a normalized token.
+   *
+   * @param token Normalized token
+   * @return Token without its prefix, or the token itself if stripping would leave too little
+   */
+  static String stem(String token) {
+    for (String prefix : PREFIXES) {
+      if (token.startsWith(prefix) && token.length() - prefix.length() >= MIN_STEM_LENGTH) {
+        return token.substring(prefix.length());
+      }
+    }
+    return token;
+  }
+
+  private static boolean isDiacritic(char c) {
+    // Harakat, tanween, shadda, sukun and extended marks, plus superscript alef
+    return (c >= '\u064B' && c <= '\u065F') || c == '\u0670';
+  }
+}
@@ -0,0 +1,7 @@
+package com.shakhbary.arabic_news_podcast.search;
+
+import java.util.UUID;
+
+/** The searchable text of one episode, as loaded for (re)building the search index. */
+public record EpisodeSearchDocument(
+    UUID episodeId, String title, String description, String articleTitle, String category) {}
@@ -0,0 +1,242 @@
+package com.shakhbary.arabic_news_podcast.search;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.events.EpisodeCreatedEvent;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory inverted index over episode titles, descriptions and source article titles, ranked with
+ * BM25. Text is normalized with {@link ArabicTextNormalizer} so that searches ignore diacritics,
+ * letter variants and the common ال/و/ب prefixes.
+ *
+ * <p>The index is rebuilt from the database at startup and updated incrementally when episodes are
+ * created. Episodes indexed while a rebuild is running are replayed into the rebuilt index, so they
+ * are not lost when it replaces the live one. It only returns episode IDs; callers hydrate the
+ * results from the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EpisodeSearchIndex {
+
+  /* BM25 parameters (standard defaults) */
+  private static final double K1 = 1.2;
+  private static final double B = 0.75;
+
+  /* Episode titles are the strongest relevance signal, so their terms count twice */
+  private static final int TITLE_WEIGHT = 2;
+
+  private final EpisodeRepository episodeRepository;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private Map<String, Map<UUID, Integer>> postings = new HashMap<>(); // term -> (episode -> tf)
+  private Map<UUID, IndexedEpisode> episodes = new HashMap<>();
+  private long totalLength = 0;
+  // Documents indexed since the running rebuild started; null when no rebuild is running
+  private List<EpisodeSearchDocument> indexedDuringRebuild;
+  private volatile boolean ready = false;
+
+  /** Per-episode data needed for scoring and filtering */
+  private record IndexedEpisode(int length, String category) {}
+
+  /** Rebuild the whole index from the database once the application has started. */
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    long start = System.currentTimeMillis();
+    lock.writeLock().lock();
+    try {
+      indexedDuringRebuild = new ArrayList<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    Map<String, Map<UUID, Integer>> newPostings = new HashMap<>();
+    Map<UUID, IndexedEpisode> newEpisodes = new HashMap<>();
+    long newTotalLength = 0;
+    try {
+      for (EpisodeSearchDocument document : episodeRepository.findAllSearchDocuments()) {
+        newTotalLength += addDocument(document, newPostings, newEpisodes);
+      }
+    } catch (RuntimeException e) {
+      lock.writeLock().lock();
+      try {
+        indexedDuringRebuild = null;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      throw e;
+    }
+
+    lock.writeLock().lock();
+    try {
+      List<EpisodeSearchDocument> missed = indexedDuringRebuild;
+      indexedDuringRebuild = null;
+      postings = newPostings;
+      episodes = newEpisodes;
+      totalLength = newTotalLength;
+      // The database read may or may not have seen these episodes; indexing replaces duplicates
+      missed.forEach(this::indexLocked);
+      ready = true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    log.info(
+        "Search index rebuilt: {} episodes, {} terms in {} ms",
+        newEpisodes.size(),
+        newPostings.size(),
+        System.currentTimeMillis() - start);
+  }
+
+  /** Add a newly created episode once its transaction has committed. */
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onEpisodeCreated(EpisodeCreatedEvent event) {
+    EpisodeDto episode = event.episode();
+    index(
+        new EpisodeSearchDocument(
+            episode.getId(),
+            episode.getTitle(),
+            episode.getDescription(),
+            episode.getArticleTitle(),
+            episode.getArticleCategory()));
+  }
+
+  /**
+   * Add (or replace) a single episode in the index.
+   *
+   * @param document Searchable text of the episode
+   */
+  public void index(EpisodeSearchDocument document) {
+    lock.writeLock().lock();
+    try {
+      indexLocked(document);
+      if (indexedDuringRebuild != null) {
+        indexedDuringRebuild.add(document);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** Adds or replaces a document in the live structures; caller must hold the write lock. */
+  private void indexLocked(EpisodeSearchDocument document) {
+    if (episodes.containsKey(document.episodeId())) {
+      removeDocument(document.episodeId());
+    }
+    totalLength += addDocument(document, postings, episodes);
+  }
+
+  /**
+   * Whether the index has been built and can answer searches.
+   *
+   * @return true after the first rebuild completed
+   */
+  public boolean isReady() {
+    return ready;
+  }
+
+  /**
+   * Rank episodes matching any of the query terms with BM25.
+   *
+   * @param query Free-text query (normalized and stemmed like the indexed text)
+   * @param category Optional category filter (case-insensitive exact match), may be null
+   * @return Hits ordered by descending score
+   */
+  public List<SearchHit> search(String query, String category) {
+    Collection<String> terms = new LinkedHashSet<>(ArabicTextNormalizer.tokenize(query));
+    if (terms.isEmpty()) {
+      return List.of();
+    }
+
+    lock.readLock().lock();
+    try {
+      int documentCount = episodes.size();
+      if (documentCount == 0) {
+        return List.of();
+      }
+      double averageLength = (double) totalLength / documentCount;
+
+      Map<UUID, Double> scores = new HashMap<>();
+      for (String term : terms) {
+        Map<UUID, Integer> termPostings = postings.get(term);
+        if (termPostings == null) {
+          continue;
+        }
+        int df = termPostings.size();
+        double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        for (Map.Entry<UUID, Integer> posting : termPostings.entrySet()) {
+          IndexedEpisode episode = episodes.get(posting.getKey());
+          if (category != null && !category.equalsIgnoreCase(episode.category())) {
+            continue;
+          }
+          int tf = posting.getValue();
+          double norm = K1 * (1 - B + B * episode.length() / averageLength);
+          scores.merge(posting.getKey(), idf * tf * (K1 + 1) / (tf + norm), Double::sum);
+        }
+      }
+
+      List<SearchHit> hits = new ArrayList<>(scores.size());
+      scores.forEach((id, score) -> hits.add(new SearchHit(id, score)));
+      hits.sort(
+          Comparator.comparingDouble(SearchHit::score)
+              .reversed()
+              .thenComparing(SearchHit::episodeId));
+      return hits;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Adds a document to the given structures and returns its weighted length. */
+  private static int addDocument(
+      EpisodeSearchDocument document,
+      Map<String, Map<UUID, Integer>> targetPostings,
+      Map<UUID, IndexedEpisode> targetEpisodes) {
+    Map<String, Integer> termFrequencies = new HashMap<>();
+    for (String term : ArabicTextNormalizer.tokenize(document.title())) {
+      termFrequencies.merge(term, TITLE_WEIGHT, Integer::sum);
+    }
+    for (String term : ArabicTextNormalizer.tokenize(document.description())) {
+      termFrequencies.merge(term, 1, Integer::sum);
+    }
+    for (String term : ArabicTextNormalizer.tokenize(document.articleTitle())) {
+      termFrequencies.merge(term, 1, Integer::sum);
+    }
+
+    int length = 0;
+    for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+      targetPostings
+          .computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+          .put(document.episodeId(), entry.getValue());
+      length += entry.getValue();
+    }
+    targetEpisodes.put(document.episodeId(), new IndexedEpisode(length, document.category()));
+    return length;
+  }
+
+  /** Removes a document from the live structures; caller must hold the write lock. */
+  private void removeDocument(UUID episodeId) {
+    IndexedEpisode removed = episodes.remove(episodeId);
+    totalLength -= removed.length();
+    postings
+        .values()
+        .removeIf(termPostings -> termPostings.remove(episodeId) != null && termPostings.isEmpty());
+  }
+}
@@ -0,0 +1,6 @@
+package com.shakhbary.arabic_news_podcast.search;
+
+import java.util.UUID;
+
+/** A ranked search result: the matching episode and its BM25 relevance score. */
+public record SearchHit(UUID episodeId, double score) {}
@@ -2,6 +2,8 @@ package com.shakhbary.arabic_news_podcast.services;
 
 import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeFailureDto;
+import com.shakhbary.arabic_news_podcast.pipeline.PipelineJob;
 import java.util.List;
 
 /**
@@ -15,18 +17,43 @@ import java.util.List;
 public interface EpisodeAutomationService {
 
   /**
-   * Process a batch of episodes from POJO object
+   * Outcome of an ingest.
+   *
+   * @param created Episodes that were saved, in input order
+   * @param failures Episodes that could not be saved and were dead-lettered
+   * @param deduplicated Episodes skipped because their article was already stored
+   */
+  record IngestReport(
+      List<EpisodeDto> created, List<EpisodeFailureDto> failures, int deduplicated) {}
+
+  /**
+   * Run the daily pipeline: ask the agent to scrape and process today's news, and save the episodes
+   * in chunked transactions as they stream in. Stage progress and per-episode failures are reported
+   * on the job; failed episodes are dead-lettered rather than failing the run.
+   *
+   * @param job Job to report progress on
+   * @return Saved and failed episodes
+   * @throws RuntimeException if the agent cannot be reached, reports a failure or sends a malformed
+   *     response (episodes read before that point stay saved)
+   */
+  IngestReport runDailyPipeline(PipelineJob job);
+
+  /**
+   * Process a batch of episodes from POJO object, writing them in JDBC-batched chunks with one
+   * transaction per chunk. Episodes that cannot be saved are dead-lettered without affecting the
+   * others.
    *
    * @param createSampleDtoList POJO list that holds the episode data
-   * @return List of created episodes
+   * @return Created and failed episodes
    */
-  List<EpisodeDto> createBulkEpisodes(List<CreateSampleDto> createSampleDtoList);
+  IngestReport createBulkEpisodes(List<CreateSampleDto> createSampleDtoList);
 
   /**
-   * Process a single episode from POJO object
+   * Process a single episode from POJO object. Idempotent: if its article (by content fingerprint)
+   * was already ingested, nothing is written and the existing episode is returned.
    *
    * @param createSampleDto POJO that holds the episode data
-   * @return Created episode
+   * @return Created (or existing) episode
    */
   EpisodeDto createEpisode(CreateSampleDto createSampleDto);
 }
@@ -1,60 +1,75 @@
 package com.shakhbary.arabic_news_podcast.services;
 
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeEngagementDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressUpdateDto;
 import java.util.List;
 import java.util.UUID;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Sort;
 
 /** Service for managing user episode progress and completion tracking */
 public interface EpisodeProgressService {
 
   /**
-   * Update user's progress for an episode. User is identified by the requesting username from
-   * authentication.
+   * Update user's progress for an episode. User is identified by the ID of the authenticated
+   * principal.
    *
    * @param updateDto Progress update data
-   * @param requestingUsername The username of the user making the request
+   * @param userId The ID of the user making the request
    * @return Updated progress information
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  EpisodeProgressDto updateProgress(EpisodeProgressUpdateDto updateDto, String requestingUsername);
+  EpisodeProgressDto updateProgress(EpisodeProgressUpdateDto updateDto, UUID userId);
 
   /**
-   * Get user's progress for a specific episode. User is identified by the requesting username from
-   * authentication.
+   * Get user's progress for a specific episode. User is identified by the ID of the authenticated
+   * principal.
    *
    * @param episodeId The episode to get progress for
-   * @param requestingUsername The username of the user making the request
+   * @param userId The ID of the user making the request
    * @return Episode progress information
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  EpisodeProgressDto getProgress(UUID episodeId, String requestingUsername);
+  EpisodeProgressDto getProgress(UUID episodeId, UUID userId);
 
   /**
    * Get all in-progress episodes for a user (for "Continue Listening" feature). User is identified
-   * by the requesting username from authentication.
+   * by the ID of the authenticated principal.
    *
-   * @param requestingUsername The username of the user making the request
+   * @param userId The ID of the user making the request
    * @return List of in-progress episodes with their current positions
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  List<EpisodeProgressDto> getInProgressEpisodes(String requestingUsername);
+  List<EpisodeProgressDto> getInProgressEpisodes(UUID userId);
 
   /**
-   * Get analytics data for an episode (average completion, drop-off points). This is an admin-only
-   * endpoint.
+   * Get analytics data for an episode (engagement counters, average completion, drop-off points).
+   * This is an admin-only endpoint.
    */
   EpisodeAnalyticsDto getEpisodeAnalytics(UUID episodeId);
 
   /**
-   * Get user's listening statistics. User is identified by the requesting username from
-   * authentication.
+   * List all episodes with their engagement counters. This is an admin-only endpoint.
    *
-   * @param requestingUsername The username of the user making the request
+   * @param sortBy One of plays, listeners, completions or secondsListened
+   * @param direction Sort direction
+   * @param page Page number (0-based)
+   * @param size Page size
+   * @return Page of episode engagement figures
+   * @throws com.shakhbary.arabic_news_podcast.exceptions.BadRequestException if sortBy is unknown
+   */
+  Page<EpisodeEngagementDto> listEpisodeEngagement(
+      String sortBy, Sort.Direction direction, int page, int size);
+
+  /**
+   * Get user's listening statistics. User is identified by the ID of the authenticated principal.
+   *
+   * @param userId The ID of the user making the request
    * @return User's listening statistics
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  UserListeningStatsDto getUserListeningStats(String requestingUsername);
+  UserListeningStatsDto getUserListeningStats(UUID userId);
 
   /** DTO for episode analytics */
   record EpisodeAnalyticsDto(
@@ -62,6 +77,9 @@ public interface EpisodeProgressService {
       String episodeTitle,
       double averageCompletion,
       long totalPlays,
+      long uniqueListeners,
+      long completions,
+      long totalSecondsListened,
       List<DropOffPoint> commonDropOffPoints) {}
 
   /** DTO for drop-off analysis */
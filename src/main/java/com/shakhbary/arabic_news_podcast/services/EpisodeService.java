@@ -1,5 +1,6 @@
 package com.shakhbary.arabic_news_podcast.services;
 
+import com.shakhbary.arabic_news_podcast.dtos.CursorPageDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
 import java.util.UUID;
 import org.springframework.data.domain.Page;
@@ -33,12 +34,36 @@ public interface EpisodeService {
   java.util.List<EpisodeDto> listDailyEpisodes(int limit);
 
   /**
-   * Search for episodes by title and/or category with pagination
+   * Search for episodes by title and/or category with pagination. Free-text queries are matched
+   * against episode titles, descriptions and article titles with Arabic normalization and ranked by
+   * relevance (BM25); category-only searches are ordered as stored.
    *
-   * @param title Search term for episode title (optional, can be null)
+   * @param title Free-text search term (optional, can be null)
    * @param category Filter by category (optional, can be null)
    * @param pageable Pagination parameters
    * @return Page containing matching episode DTOs
    */
   Page<EpisodeDto> searchEpisodes(String title, String category, Pageable pageable);
+
+  /**
+   * Retrieve a slice of all episodes using keyset (cursor) pagination, newest first. Unlike {@link
+   * #listEpisodes(Pageable)} this never counts the catalog and costs the same for any depth.
+   *
+   * @param cursor Opaque cursor returned with the previous slice, or null for the first slice
+   * @param size Maximum number of episodes to return
+   * @return Slice of episode DTOs with the cursor of the next slice
+   */
+  CursorPageDto<EpisodeDto> listEpisodesByCursor(String cursor, int size);
+
+  /**
+   * Search for episodes by title and/or category using keyset (cursor) pagination, newest first.
+   *
+   * @param title Search term for episode title (optional, can be null)
+   * @param category Filter by category (optional, can be null)
+   * @param cursor Opaque cursor returned with the previous slice, or null for the first slice
+   * @param size Maximum number of episodes to return
+   * @return Slice of matching episode DTOs with the cursor of the next slice
+   */
+  CursorPageDto<EpisodeDto> searchEpisodesByCursor(
+      String title, String category, String cursor, int size);
 }
@@ -1,26 +1,45 @@
 package com.shakhbary.arabic_news_podcast.services.Impl;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeFailureDto;
+import com.shakhbary.arabic_news_podcast.events.EpisodeCreatedEvent;
 import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapper;
 import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.IngestDeadLetter;
+import com.shakhbary.arabic_news_podcast.pipeline.AgentEpisodeStreamReader;
+import com.shakhbary.arabic_news_podcast.pipeline.ArticleFingerprintFilter;
+import com.shakhbary.arabic_news_podcast.pipeline.PipelineJob;
 import com.shakhbary.arabic_news_podcast.repositories.ArticleRepository;
 import com.shakhbary.arabic_news_podcast.repositories.AudioRepository;
 import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import com.shakhbary.arabic_news_podcast.repositories.IngestDeadLetterRepository;
 import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService;
+import jakarta.persistence.EntityManager;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 @Service
@@ -28,93 +47,344 @@ import org.springframework.web.client.RestTemplate;
 @Slf4j
 public class EpisodeAutomationServiceImpl implements EpisodeAutomationService {
 
+  private static final MediaType NDJSON = MediaType.parseMediaType("application/ndjson");
+  private static final MediaType X_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
   private final EpisodeRepository episodeRepository;
   private final ArticleRepository articleRepository;
   private final AudioRepository audioRepository;
-  private final ObjectMapper objectMapper;
   private final EpisodeMapper episodeMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final PlatformTransactionManager transactionManager;
+  private final AgentEpisodeStreamReader agentEpisodeStreamReader;
+  private final EntityManager entityManager;
+  private final IngestDeadLetterRepository ingestDeadLetterRepository;
+  private final ObjectMapper objectMapper;
+  private final ArticleFingerprintFilter articleFingerprintFilter;
   private final RestTemplate restTemplate = new RestTemplate();
 
   @Value("${agent.base.url}")
   private String AGENT_BASE_URL;
 
+  @Value("${app.automation.bulk.chunk-size:100}")
+  private int bulkChunkSize;
+
+  @Value("${app.pipeline.chunk-size:10}")
+  private int pipelineChunkSize;
+
   /**
-   * Automated pipeline: Scrape news → Process all → Save to database Calls Python agent to do all
-   * the heavy lifting
+   * Automated pipeline: Scrape news → Process all → Save to database. Calls the Python agent to do
+   * all the heavy lifting. The agent's response is streamed, and episodes are committed in chunks
+   * as they are read (see {@link ChunkedIngest}), so no transaction is open while waiting for the
+   * agent and a bad episode does not discard the rest of the day's ingest.
    */
-  @Transactional
-  @Scheduled(cron = "0 0 9 * * *") // CRON expression for 9:00 AM daily
-  public List<EpisodeDto> automatedDailyPipeline() {
+  @Override
+  public IngestReport runDailyPipeline(PipelineJob job) {
+    log.info("Starting automated daily pipeline (job {})...", job.getId());
+
+    // Call Python agent
+    job.enterStage(PipelineJob.Stage.CALLING_AGENT);
+    String url = AGENT_BASE_URL + "/scrape-and-process-all";
+    log.info("Calling Python agent: {}", url);
+    ChunkedIngest ingest =
+        new ChunkedIngest(IngestDeadLetter.Source.PIPELINE, job, pipelineChunkSize);
+
+    AgentEpisodeStreamReader.Handler handler =
+        new AgentEpisodeStreamReader.Handler() {
+          @Override
+          public void accept(int index, CreateSampleDto sample) {
+            job.episodeReceived();
+            job.enterStage(PipelineJob.Stage.PERSISTING);
+            ingest.add(index, sample);
+          }
+
+          @Override
+          public void reject(int index, JsonNode episode, String error) {
+            job.episodeReceived();
+            log.error("Unreadable episode {} from agent: {}", index, error);
+            ingest.deadLetter(
+                index, AgentEpisodeStreamReader.titleOf(episode), String.valueOf(episode), error);
+          }
+        };
+
+    int received;
     try {
-      log.info("Starting automated daily pipeline...");
+      received =
+          restTemplate.execute(
+              url,
+              HttpMethod.POST,
+              null,
+              response -> {
+                if (response.getStatusCode() != HttpStatus.OK) {
+                  log.error("Agent returned non-200 status");
+                  throw new RuntimeException("Agent not responding");
+                }
+                job.enterStage(PipelineJob.Stage.PARSING);
+                try {
+                  return agentEpisodeStreamReader.read(
+                      response.getBody(),
+                      isNdjson(response.getHeaders().getContentType()),
+                      handler);
+                } catch (JsonProcessingException e) {
+                  throw new RuntimeException(
+                      "Unreadable agent response: " + e.getOriginalMessage(), e);
+                }
+              });
+    } catch (RestClientException e) {
+      throw new RuntimeException("Agent not responding: " + e.getMessage(), e);
+    } finally {
+      // Episodes read before a failure are still saved
+      ingest.finish();
+    }
 
-      // Call Python agent
-      String url = AGENT_BASE_URL + "/scrape-and-process-all";
+    IngestReport report = ingest.report();
+    log.info("Pipeline complete: {}/{} episodes saved", report.created().size(), received);
+    return report;
+  }
 
-      log.info("Calling Python agent: {}", url);
-      ResponseEntity<Map> response = restTemplate.postForEntity(url, null, Map.class);
+  private static boolean isNdjson(MediaType contentType) {
+    return contentType != null
+        && (NDJSON.isCompatibleWith(contentType) || X_NDJSON.isCompatibleWith(contentType));
+  }
 
-      if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-        Map<String, Object> body = response.getBody();
-        Boolean success = (Boolean) body.get("success");
+  /** Best-effort title of an agent episode, for failure reports */
+  private static String titleOf(CreateSampleDto sample) {
+    if (sample.getEpisodeDto() != null && sample.getEpisodeDto().getTitle() != null) {
+      return sample.getEpisodeDto().getTitle();
+    }
+    return sample.getArticleDto() == null ? null : sample.getArticleDto().getTitle();
+  }
 
-        if (Boolean.TRUE.equals(success)) {
-          List<CreateSampleDto> episodesFromAgent =
-              objectMapper.convertValue(body.get("episodes"), new TypeReference<>() {});
+  /**
+   * Saves the episodes chunk by chunk, committing each chunk unless a transaction is already
+   * active. Entity IDs are generated in the application (UUIDs), so Hibernate can JDBC-batch the
+   * inserts: each chunk is written with one batched insert each for articles, audios and episodes
+   * (see hibernate.jdbc.batch_size). Episodes whose article is already stored are skipped and
+   * counted; episodes that fail are dead-lettered (see {@link ChunkedIngest}).
+   */
+  @Override
+  public IngestReport createBulkEpisodes(List<CreateSampleDto> createSampleDtoList) {
+    ChunkedIngest ingest = new ChunkedIngest(IngestDeadLetter.Source.BULK, null, bulkChunkSize);
+    for (int i = 0; i < createSampleDtoList.size(); i++) {
+      ingest.add(i, createSampleDtoList.get(i));
+    }
+    ingest.finish();
+    IngestReport report = ingest.report();
+    log.info("Bulk created {}/{} episodes", report.created().size(), createSampleDtoList.size());
+    return report;
+  }
 
-          log.info("Received {} episodes from agent", episodesFromAgent.size());
+  /** Episodes written by one chunk, and how many of its episodes were already stored */
+  private record SavedChunk(List<EpisodeDto> created, int deduplicated) {}
 
-          List<EpisodeDto> savedEpisodes = new ArrayList<>();
+  /**
+   * Writes one chunk in the current transaction and detaches it afterwards, keeping the persistence
+   * context small. Episodes whose article is already stored (same content fingerprint), or repeated
+   * within the chunk, are skipped.
+   */
+  private SavedChunk saveChunk(List<CreateSampleDto> chunk) {
+    List<Episode> mapped = chunk.stream().map(episodeMapper::sampleEpisodeToEpisode).toList();
+    Set<String> stored =
+        findStoredFingerprints(
+            mapped.stream().map(episode -> episode.getArticle().getContentFingerprint()).toList());
+    Set<String> seen = new HashSet<>();
+    List<Episode> episodes = new ArrayList<>(mapped.size());
+    for (Episode episode : mapped) {
+      String fingerprint = episode.getArticle().getContentFingerprint();
+      if (fingerprint != null && (stored.contains(fingerprint) || !seen.add(fingerprint))) {
+        log.info("Skipping already ingested article: {}", episode.getArticle().getTitle());
+        continue;
+      }
+      episode.getAudio().setEpisode(episode);
+      episode.getAudio().setArticle(episode.getArticle());
+      episodes.add(episode);
+    }
+    if (episodes.isEmpty()) {
+      return new SavedChunk(List.of(), mapped.size());
+    }
 
-          // Process each episode
-          for (CreateSampleDto episodeDto : episodesFromAgent) {
-            try {
-              EpisodeDto dto = createEpisode(episodeDto);
-              savedEpisodes.add(dto);
-              log.info("Saved episode: {}", dto.getTitle());
-            } catch (Exception e) {
-              log.error("Error saving episode: {}", e.getMessage());
-            }
-          }
+    // Persisted type by type so the flush groups each table's inserts into one batch
+    articleRepository.saveAll(episodes.stream().map(Episode::getArticle).toList());
+    audioRepository.saveAll(episodes.stream().map(Episode::getAudio).toList());
+    episodeRepository.saveAll(episodes);
+    entityManager.flush();
+    seen.forEach(articleFingerprintFilter::add);
+
+    List<EpisodeDto> episodeDtos =
+        episodes.stream().map(episodeMapper::episodeToEpisodeDto).toList();
+    entityManager.clear();
+    episodeDtos.forEach(dto -> eventPublisher.publishEvent(new EpisodeCreatedEvent(dto)));
+    return new SavedChunk(episodeDtos, mapped.size() - episodes.size());
+  }
 
-          log.info(
-              "Pipeline complete: {}/{} episodes saved",
-              savedEpisodes.size(),
-              episodesFromAgent.size());
+  /**
+   * Finds which fingerprints are already stored. Those the Bloom filter rules out are not looked
+   * up, so a chunk of new articles costs no query at all.
+   */
+  private Set<String> findStoredFingerprints(Collection<String> fingerprints) {
+    List<String> candidates =
+        fingerprints.stream()
+            .filter(Objects::nonNull)
+            .filter(articleFingerprintFilter::mightContain)
+            .distinct()
+            .toList();
+    if (candidates.isEmpty()) {
+      return Set.of();
+    }
+    return new HashSet<>(articleRepository.findExistingContentFingerprints(candidates));
+  }
 
-          return savedEpisodes;
-        } else {
-          log.error("Agent returned failure");
-          throw new RuntimeException("Agent processing failed");
+  /**
+   * Buffers ingested episodes and saves them N per transaction. A failing episode (e.g. a
+   * constraint violation) marks its whole transaction rollback-only, so when a chunk fails its
+   * episodes are retried one transaction each; those that still fail are recorded in
+   * ingest_dead_letters and reported, and the ingest carries on.
+   */
+  private final class ChunkedIngest {
+
+    private record Item(int index, CreateSampleDto sample) {}
+
+    private final IngestDeadLetter.Source source;
+    private final PipelineJob job; // null for bulk creation
+    private final int chunkSize;
+    private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    private final List<Item> pending = new ArrayList<>();
+    private final List<EpisodeDto> created = new ArrayList<>();
+    private final List<EpisodeFailureDto> failures = new ArrayList<>();
+    private int deduplicated;
+
+    ChunkedIngest(IngestDeadLetter.Source source, PipelineJob job, int chunkSize) {
+      this.source = source;
+      this.job = job;
+      this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    void add(int index, CreateSampleDto sample) {
+      pending.add(new Item(index, sample));
+      if (pending.size() >= chunkSize) {
+        commitPending();
+      }
+    }
+
+    void finish() {
+      if (!pending.isEmpty()) {
+        commitPending();
+      }
+    }
+
+    IngestReport report() {
+      return new IngestReport(List.copyOf(created), List.copyOf(failures), deduplicated);
+    }
+
+    private void commitPending() {
+      List<Item> chunk = List.copyOf(pending);
+      pending.clear();
+      try {
+        saved(transaction.execute(status -> saveChunk(chunk.stream().map(Item::sample).toList())));
+      } catch (RuntimeException e) {
+        if (chunk.size() == 1) {
+          failed(chunk.get(0), e);
+          return;
+        }
+        log.warn(
+            "Chunk of {} episodes failed ({}); retrying them one by one",
+            chunk.size(),
+            e.getMessage());
+        for (Item item : chunk) {
+          try {
+            // A concurrent ingest of the same article is caught here by the unique index
+            saved(transaction.execute(status -> saveChunk(List.of(item.sample()))));
+          } catch (RuntimeException itemError) {
+            failed(item, itemError);
+          }
         }
-      } else {
-        log.error("Agent returned non-200 status");
-        throw new RuntimeException("Agent not responding");
       }
+    }
 
-    } catch (Exception e) {
-      log.error("Error in automated pipeline: {}", e.getMessage());
-      throw new RuntimeException("Automated pipeline failed", e);
+    private void saved(SavedChunk chunk) {
+      chunk.created().forEach(this::persisted);
+      deduplicated += chunk.deduplicated();
+      if (job != null && chunk.deduplicated() > 0) {
+        job.episodesDeduplicated(chunk.deduplicated());
+      }
+    }
+
+    private void persisted(EpisodeDto episode) {
+      created.add(episode);
+      if (job != null) {
+        job.episodePersisted();
+      }
+      log.info("Saved episode: {}", episode.getTitle());
+    }
+
+    private void failed(Item item, RuntimeException e) {
+      log.error("Error saving episode {}: {}", item.index(), e.getMessage());
+      String payload;
+      try {
+        payload =
+            objectMapper
+                .writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsString(item.sample());
+      } catch (JsonProcessingException serializationError) {
+        payload = null;
+      }
+      deadLetter(item.index(), titleOf(item.sample()), payload, e.getMessage());
+    }
+
+    /** Records an episode that cannot be saved, in its own transaction */
+    void deadLetter(int index, String title, String payload, String error) {
+      String reason = error == null ? "Unknown error" : error;
+      failures.add(new EpisodeFailureDto(index, title, reason));
+      if (job != null) {
+        job.episodeFailed(index, title, reason);
+      }
+      try {
+        transaction.executeWithoutResult(
+            status ->
+                ingestDeadLetterRepository.save(
+                    new IngestDeadLetter(
+                        null,
+                        source,
+                        job == null ? null : job.getId(),
+                        index,
+                        truncate(title, 250),
+                        payload,
+                        truncate(reason, 1000),
+                        OffsetDateTime.now())));
+      } catch (RuntimeException e) {
+        log.error("Could not dead-letter episode {}: {}", index, e.getMessage());
+      }
     }
   }
 
-  @Override
-  @Transactional
-  public List<EpisodeDto> createBulkEpisodes(List<CreateSampleDto> createSampleDtoList) {
-    List<EpisodeDto> savedEpisodes = new ArrayList<>();
-    createSampleDtoList.forEach(dto -> savedEpisodes.add(createEpisode(dto)));
-    return savedEpisodes;
+  private static String truncate(String value, int length) {
+    return value == null || value.length() <= length ? value : value.substring(0, length);
   }
 
   @Override
   @Transactional
   public EpisodeDto createEpisode(CreateSampleDto createSampleDto) {
     Episode episode = episodeMapper.sampleEpisodeToEpisode(createSampleDto);
+    String fingerprint = episode.getArticle().getContentFingerprint();
+    if (fingerprint != null && articleFingerprintFilter.mightContain(fingerprint)) {
+      Optional<Episode> existing =
+          episodeRepository.findFirstByArticleContentFingerprint(fingerprint);
+      if (existing.isPresent()) {
+        log.info("Article already ingested, returning its episode: {}", existing.get().getId());
+        return episodeMapper.episodeToEpisodeDto(existing.get());
+      }
+    }
     episode.setArticle(articleRepository.save(episode.getArticle()));
     episode.getAudio().setEpisode(episode);
     episode.getAudio().setArticle(episode.getArticle());
     episode.setAudio(audioRepository.save(episode.getAudio()));
     episode = episodeRepository.save(episode);
-    return episodeMapper.episodeToEpisodeDto(episode);
+    if (fingerprint != null) {
+      articleFingerprintFilter.add(fingerprint);
+    }
+    EpisodeDto episodeDto = episodeMapper.episodeToEpisodeDto(episode);
+    eventPublisher.publishEvent(new EpisodeCreatedEvent(episodeDto));
+    return episodeDto;
   }
 }
@@ -1,18 +1,41 @@
 package com.shakhbary.arabic_news_podcast.services.Impl;
 
+import com.shakhbary.arabic_news_podcast.analytics.DropOffHistogram;
+import com.shakhbary.arabic_news_podcast.analytics.DropOffHistograms;
+import com.shakhbary.arabic_news_podcast.analytics.EngagementCounters;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeEngagementDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressUpdateDto;
+import com.shakhbary.arabic_news_podcast.dtos.UserListeningAggregate;
+import com.shakhbary.arabic_news_podcast.events.ProgressChangedEvent;
+import com.shakhbary.arabic_news_podcast.exceptions.BadRequestException;
 import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
 import com.shakhbary.arabic_news_podcast.models.Episode;
 import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
-import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeEngagementRepository;
 import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository;
 import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
 import com.shakhbary.arabic_news_podcast.repositories.UserRepository;
 import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService;
+import com.shakhbary.arabic_news_podcast.services.EpisodeService;
+import com.shakhbary.arabic_news_podcast.tracking.ListeningTimeAccumulator;
+import com.shakhbary.arabic_news_podcast.tracking.PendingProgress;
+import com.shakhbary.arabic_news_podcast.tracking.ProgressWriteBuffer;
+import com.shakhbary.arabic_news_podcast.tracking.StoredProgress;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.IntStream;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,76 +43,94 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class EpisodeProgressServiceImpl implements EpisodeProgressService {
 
+  private static final Map<String, String> ENGAGEMENT_SORT_PROPERTIES =
+      Map.of(
+          "plays", "g.playCount",
+          "listeners", "g.listenerCount",
+          "completions", "g.completedCount",
+          "secondsListened", "g.secondsListened");
+
   private final UserRepository userRepository;
   private final EpisodeRepository episodeRepository;
   private final EpisodeProgressRepository episodeProgressRepository;
+  private final EpisodeService episodeService;
+  private final ProgressWriteBuffer progressWriteBuffer;
+  private final ListeningTimeAccumulator listeningTimeAccumulator;
+  private final DropOffHistograms dropOffHistograms;
+  private final EngagementCounters engagementCounters;
+  private final EpisodeEngagementRepository episodeEngagementRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional
-  public EpisodeProgressDto updateProgress(
-      EpisodeProgressUpdateDto updateDto, String requestingUsername) {
-    User user =
-        userRepository
-            .findByUsername(requestingUsername)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("User not found: " + requestingUsername));
-
-    Episode episode =
-        episodeRepository
-            .findById(updateDto.getEpisodeId())
-            .orElseThrow(
-                () ->
-                    new ResourceNotFoundException(
-                        "Episode not found: " + updateDto.getEpisodeId()));
-
-    // Find existing completion or create new one
-    EpisodeProgress completion =
-        episodeProgressRepository
-            .findByUserAndEpisode(user.getId(), updateDto.getEpisodeId())
-            .orElse(new EpisodeProgress());
+  public EpisodeProgressDto updateProgress(EpisodeProgressUpdateDto updateDto, UUID userId) {
+    // Validates the episode and provides its duration from the episode detail cache
+    EpisodeDto episode = episodeService.getEpisode(updateDto.getEpisodeId());
 
-    // Set/update the completion data
-    completion.setUser(user);
-    completion.setEpisode(episode);
-    completion.updatePosition(updateDto.getPositionSeconds());
-
-    if (updateDto.isCompleted()) {
-      completion.setCompleted(true);
-    }
-
-    completion = episodeProgressRepository.save(completion);
+    long position =
+        EpisodeProgress.clampPosition(updateDto.getPositionSeconds(), episode.getDurationSeconds());
+    boolean completed =
+        updateDto.isCompleted()
+            || EpisodeProgress.reachesCompletion(position, episode.getDurationSeconds());
+    PendingProgress write = new PendingProgress(position, completed, OffsetDateTime.now());
+    StoredProgress previous =
+        episodeProgressRepository.findStoredProgress(userId, updateDto.getEpisodeId()).orElse(null);
+    episodeProgressRepository.upsertProgress(
+        UUID.randomUUID(),
+        userId,
+        updateDto.getEpisodeId(),
+        write.positionSeconds(),
+        write.completed(),
+        write.playedAt());
+    eventPublisher.publishEvent(
+        ProgressChangedEvent.of(userId, updateDto.getEpisodeId(), previous, write));
 
+    // MySQL has no RETURNING clause, so the merged row is read back in the same transaction
+    EpisodeProgress completion =
+        episodeProgressRepository
+            .findWithEpisodeByUserAndEpisode(userId, updateDto.getEpisodeId())
+            .orElseThrow();
     return convertToDto(completion);
   }
 
   @Override
   @Transactional(readOnly = true)
-  public EpisodeProgressDto getProgress(UUID episodeId, String requestingUsername) {
-    User user =
-        userRepository
-            .findByUsername(requestingUsername)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("User not found: " + requestingUsername));
+  public EpisodeProgressDto getProgress(UUID episodeId, UUID userId) {
+    Optional<EpisodeProgress> stored =
+        episodeProgressRepository.findByUserAndEpisode(userId, episodeId);
+    PendingProgress buffered = progressWriteBuffer.pending(userId, episodeId);
+    if (buffered == null) {
+      return convertToDto(
+          stored.orElseThrow(
+              () -> new ResourceNotFoundException("No progress found for this episode")));
+    }
 
+    // Overlay heartbeats that are not flushed yet (the read-only session never writes this back)
     EpisodeProgress completion =
-        episodeProgressRepository
-            .findByUserAndEpisode(user.getId(), episodeId)
-            .orElseThrow(() -> new ResourceNotFoundException("No progress found for this episode"));
-
+        stored.orElseGet(
+            () -> {
+              EpisodeProgress created = new EpisodeProgress();
+              created.setUser(userRepository.getReferenceById(userId));
+              created.setLastPlayedDate(buffered.playedAt());
+              created.setEpisode(
+                  episodeRepository
+                      .findById(episodeId)
+                      .orElseThrow(
+                          () -> new ResourceNotFoundException("Episode not found: " + episodeId)));
+              return created;
+            });
+    if (!buffered.playedAt().isBefore(completion.getLastPlayedDate())) {
+      completion.setLastPositionSeconds(buffered.positionSeconds());
+      completion.setLastPlayedDate(buffered.playedAt());
+    }
+    completion.setCompleted(completion.isCompleted() || buffered.completed());
     return convertToDto(completion);
   }
 
   @Override
   @Transactional(readOnly = true)
-  public List<EpisodeProgressDto> getInProgressEpisodes(String requestingUsername) {
-    User user =
-        userRepository
-            .findByUsername(requestingUsername)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("User not found: " + requestingUsername));
-
-    List<EpisodeProgress> inProgress =
-        episodeProgressRepository.findInProgressEpisodes(user.getId());
+  public List<EpisodeProgressDto> getInProgressEpisodes(UUID userId) {
+    List<EpisodeProgress> inProgress = episodeProgressRepository.findInProgressEpisodes(userId);
     return inProgress.stream()
         .filter(ec -> !ec.isCompleted()) // Only truly in-progress episodes
         .map(this::convertToDto)
@@ -97,65 +138,112 @@ public class EpisodeProgressServiceImpl implements EpisodeProgressService {
   }
 
   @Override
-  @Transactional(readOnly = true)
   public EpisodeAnalyticsDto getEpisodeAnalytics(UUID episodeId) {
-    Episode episode =
-        episodeRepository
-            .findById(episodeId)
-            .orElseThrow(() -> new ResourceNotFoundException("Episode not found: " + episodeId));
-
-    Double avgCompletion = episodeProgressRepository.findAverageCompletionForEpisode(episodeId);
-    List<EpisodeProgress> dropOffs = episodeProgressRepository.findCommonDropOffPoints(episodeId);
+    // Validates the episode and provides its title and duration from the episode detail cache
+    EpisodeDto episode = episodeService.getEpisode(episodeId);
+    DropOffHistogram.Snapshot histogram = dropOffHistograms.snapshot(episodeId);
 
+    int[] minuteCounts = histogram.minuteCounts();
     List<DropOffPoint> dropOffPoints =
-        dropOffs.stream()
-            .map(
-                ec -> {
-                  int minute = (int) (ec.getLastPositionSeconds() / 60);
-                  return new DropOffPoint(
-                      minute,
-                      1L, // This would need proper grouping in the query
-                      String.format("%d:%02d", minute, (int) (ec.getLastPositionSeconds() % 60)));
-                })
+        IntStream.range(0, minuteCounts.length)
+            .filter(minute -> minuteCounts[minute] > 0)
+            .mapToObj(
+                minute ->
+                    new DropOffPoint(minute, minuteCounts[minute], formatDuration(minute * 60L)))
+            .sorted(
+                Comparator.comparingLong(DropOffPoint::dropOffCount)
+                    .reversed()
+                    .thenComparingInt(DropOffPoint::minute))
             .toList();
 
+    long duration = episode.getDurationSeconds();
+    double avgCompletion =
+        histogram.listeners() > 0 && duration > 0
+            ? Math.min(
+                1.0, (double) histogram.positionSecondsSum() / (histogram.listeners() * duration))
+            : 0.0;
+
+    EpisodeEngagementDto engagement = getEngagement(episodeId, episode.getTitle());
     return new EpisodeAnalyticsDto(
         episodeId,
         episode.getTitle(),
-        avgCompletion != null ? avgCompletion : 0.0,
-        0L, // Would need separate query for total plays
+        avgCompletion,
+        engagement.plays(),
+        engagement.uniqueListeners(),
+        engagement.completions(),
+        engagement.secondsListened(),
         dropOffPoints);
   }
 
   @Override
   @Transactional(readOnly = true)
-  public UserListeningStatsDto getUserListeningStats(String requestingUsername) {
-    User user =
+  public Page<EpisodeEngagementDto> listEpisodeEngagement(
+      String sortBy, Sort.Direction direction, int page, int size) {
+    String property = ENGAGEMENT_SORT_PROPERTIES.get(sortBy);
+    if (property == null) {
+      throw new BadRequestException(
+          "Unknown sort field: "
+              + sortBy
+              + " (expected one of "
+              + ENGAGEMENT_SORT_PROPERTIES.keySet()
+              + ")");
+    }
+    // Sorted by the stored counters; unflushed deltas are only added to the returned rows
+    Pageable pageable =
+        PageRequest.of(page, size, Sort.by(direction, property).and(Sort.by("e.id")));
+    return episodeEngagementRepository
+        .findEngagement(pageable)
+        .map(stored -> withPending(stored, engagementCounters.pending(stored.episodeId())));
+  }
+
+  /** Stored engagement counters of an episode plus the deltas not flushed yet. */
+  private EpisodeEngagementDto getEngagement(UUID episodeId, String title) {
+    EpisodeEngagementDto stored =
+        episodeEngagementRepository
+            .findById(episodeId)
+            .map(
+                row ->
+                    new EpisodeEngagementDto(
+                        episodeId,
+                        title,
+                        row.getPlayCount(),
+                        row.getListenerCount(),
+                        row.getCompletedCount(),
+                        row.getSecondsListened()))
+            .orElseGet(() -> new EpisodeEngagementDto(episodeId, title, 0, 0, 0, 0));
+    return withPending(stored, engagementCounters.pending(episodeId));
+  }
+
+  private static EpisodeEngagementDto withPending(
+      EpisodeEngagementDto stored, EngagementCounters.Engagement pending) {
+    return new EpisodeEngagementDto(
+        stored.episodeId(),
+        stored.title(),
+        stored.plays() + pending.plays(),
+        stored.uniqueListeners() + pending.listeners(),
+        stored.completions() + pending.completions(),
+        stored.secondsListened() + pending.secondsListened());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public UserListeningStatsDto getUserListeningStats(UUID userId) {
+    // Counts and the average completion are aggregated by the database in one statement
+    UserListeningAggregate aggregate =
         userRepository
-            .findByUsername(requestingUsername)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("User not found: " + requestingUsername));
-
-    // Get total listening time from User model (accurate tracking)
-    long totalSeconds = user.getSecondsListened();
-    long completedCount = episodeProgressRepository.countCompletedEpisodesByUser(user.getId());
-    List<EpisodeProgress> inProgress =
-        episodeProgressRepository.findInProgressEpisodes(user.getId());
-    long inProgressCount = inProgress.stream().filter(ec -> !ec.isCompleted()).count();
-
-    // Calculate average completion rate
-    List<EpisodeProgress> allCompletions =
-        episodeProgressRepository.findAllByUserOrdered(user.getId());
-    double avgCompletion =
-        allCompletions.stream()
-            .mapToDouble(EpisodeProgress::calculateCompletionPercentage)
-            .average()
-            .orElse(0.0);
+            .findListeningAggregate(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+    long totalSeconds = aggregate.secondsListened() + listeningTimeAccumulator.pending(userId);
 
     String formattedTime = formatDuration(totalSeconds);
 
     return new UserListeningStatsDto(
-        user.getId(), totalSeconds, completedCount, inProgressCount, avgCompletion, formattedTime);
+        userId,
+        totalSeconds,
+        aggregate.completedEpisodes(),
+        aggregate.inProgressEpisodes(),
+        aggregate.averageCompletion(),
+        formattedTime);
   }
 
   private EpisodeProgressDto convertToDto(EpisodeProgress completion) {
@@ -183,7 +271,7 @@ public class EpisodeProgressServiceImpl implements EpisodeProgressService {
     return dto;
   }
 
-  private String formatDuration(long seconds) {
+  static String formatDuration(long seconds) {
     long hours = seconds / 3600;
     long minutes = (seconds % 3600) / 60;
     long secs = seconds % 60;
@@ -1,17 +1,31 @@
 package com.shakhbary.arabic_news_podcast.services.Impl;
 
+import com.shakhbary.arabic_news_podcast.cache.EpisodeDetailCache;
+import com.shakhbary.arabic_news_podcast.dtos.CursorPageDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeCursor;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeListItem;
+import com.shakhbary.arabic_news_podcast.dtos.RatingSummaryDto;
 import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
 import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapper;
 import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
 import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
-import com.shakhbary.arabic_news_podcast.repositories.RatingRepository;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchIndex;
+import com.shakhbary.arabic_news_podcast.search.SearchHit;
 import com.shakhbary.arabic_news_podcast.services.EpisodeService;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,35 +36,74 @@ import org.springframework.transaction.annotation.Transactional;
 public class EpisodeServiceImpl implements EpisodeService {
 
   private final EpisodeRepository episodeRepository;
-  private final RatingRepository ratingRepository;
+  private final EpisodeRatingSummaryRepository episodeRatingSummaryRepository;
   private final EpisodeMapper episodeMapper;
+  private final EpisodeSearchIndex episodeSearchIndex;
+  private final EpisodeDetailCache episodeDetailCache;
 
   /**
    * Maps Episode entity to EpisodeDto with all fields populated. This is the single source of truth
    * for episode DTO mapping.
    *
    * @param episode Episode entity to map
-   * @param truncateDescription If true, truncates description to 180 characters for list views
+   * @param ratingSummary Pre-fetched rating figures for the episode, or null if it has no ratings
    * @return Fully populated EpisodeDto with all 15 fields (including Article metadata)
    */
-  private EpisodeDto mapToDto(Episode episode, boolean truncateDescription) {
+  private EpisodeDto mapToDto(Episode episode, RatingSummaryDto ratingSummary) {
     EpisodeDto episodeDto = episodeMapper.episodeToEpisodeDto(episode);
 
-    // Fetch ratings data
-    Double avg = ratingRepository.findAverageRatingForEpisode(episode.getId());
-    long count = ratingRepository.countRatingsForEpisode(episode.getId());
+    episodeDto.setAverageRating(ratingSummary == null ? 0.0 : ratingSummary.averageRating());
+    episodeDto.setRatingCount(ratingSummary == null ? 0 : (int) ratingSummary.ratingCount());
 
-    episodeDto.setAverageRating(avg == null ? 0.0 : avg);
-    episodeDto.setRatingCount((int) count);
-
-    // Truncate description if requested (for list views)
-    String description =
-        truncateDescription ? truncate(episode.getDescription(), 180) : episode.getDescription();
-    episodeDto.setDescription(description);
+    return episodeDto;
+  }
 
+  /**
+   * Maps a list view projection row to EpisodeDto. The description arrives already truncated by the
+   * query, so no entity state is involved.
+   *
+   * @param item Projected list view row
+   * @param ratingSummary Pre-fetched rating figures for the episode, or null if it has no ratings
+   * @return EpisodeDto for list views
+   */
+  private EpisodeDto mapToDto(EpisodeListItem item, RatingSummaryDto ratingSummary) {
+    EpisodeDto episodeDto = episodeMapper.episodeListItemToEpisodeDto(item);
+    episodeDto.setAverageRating(ratingSummary == null ? 0.0 : ratingSummary.averageRating());
+    episodeDto.setRatingCount(ratingSummary == null ? 0 : (int) ratingSummary.ratingCount());
     return episodeDto;
   }
 
+  /**
+   * Maps a page or slice of list view rows, resolving all their ratings with one statement.
+   *
+   * @param items Projected list view rows
+   * @return EpisodeDtos in the same order
+   */
+  private List<EpisodeDto> mapListItems(List<EpisodeListItem> items) {
+    Map<UUID, RatingSummaryDto> ratings =
+        fetchRatingSummaries(items.stream().map(EpisodeListItem::id).toList());
+    return items.stream().map(item -> mapToDto(item, ratings.get(item.id()))).toList();
+  }
+
+  /**
+   * Fetches the pre-aggregated rating summaries for all given episodes with a single primary-key
+   * lookup, so that mapping a page costs one rating statement regardless of the page size.
+   *
+   * @param episodeIds IDs of the episodes on the current page
+   * @return Map of episode ID to its rating summary (episodes without ratings are absent)
+   */
+  private Map<UUID, RatingSummaryDto> fetchRatingSummaries(Collection<UUID> episodeIds) {
+    if (episodeIds.isEmpty()) {
+      return Map.of();
+    }
+    return episodeRatingSummaryRepository.findAllById(episodeIds).stream()
+        .map(
+            summary ->
+                new RatingSummaryDto(
+                    summary.getEpisodeId(), summary.getAverageRating(), summary.getRatingCount()))
+        .collect(Collectors.toMap(RatingSummaryDto::episodeId, Function.identity()));
+  }
+
   @Override
   @Transactional(readOnly = true)
   public Page<EpisodeDto> listEpisodes(Pageable pageable) {
@@ -59,20 +112,30 @@ public class EpisodeServiceImpl implements EpisodeService {
         pageable.getPageNumber(),
         pageable.getPageSize());
 
-    Page<Episode> episodes = episodeRepository.findAll(pageable);
+    Page<EpisodeListItem> episodes = episodeRepository.findListItems(pageable);
     log.info("Retrieved {} episodes from database", episodes.getTotalElements());
 
-    return episodeRepository.findAll(pageable).map(e -> mapToDto(e, true));
+    return new PageImpl<>(
+        mapListItems(episodes.getContent()), pageable, episodes.getTotalElements());
   }
 
   @Override
-  @Transactional(readOnly = true)
   public EpisodeDto getEpisode(UUID episodeId) {
     log.info("Getting episode with id: {}", episodeId);
+    return episodeDetailCache.get(episodeId, this::loadEpisode);
+  }
 
+  /**
+   * Loads an episode's details on a cache miss: the episode with its article and audio in one
+   * statement, plus its rating summary.
+   *
+   * @param episodeId Episode ID
+   * @return Fully populated episode details
+   */
+  private EpisodeDto loadEpisode(UUID episodeId) {
     Episode e =
         episodeRepository
-            .findById(episodeId)
+            .findWithArticleAndAudioById(episodeId)
             .orElseThrow(() -> new ResourceNotFoundException("Episode not found: " + episodeId));
 
     log.info("Found episode: id={}, title={}", e.getId(), e.getTitle());
@@ -90,7 +153,7 @@ public class EpisodeServiceImpl implements EpisodeService {
     }
 
     log.info("Episode {} has valid audio file: {}", episodeId, e.getAudio().getUrlPath());
-    return mapToDto(e, false);
+    return mapToDto(e, fetchRatingSummaries(List.of(episodeId)).get(episodeId));
   }
 
   @Override
@@ -104,13 +167,12 @@ public class EpisodeServiceImpl implements EpisodeService {
 
     log.info("Fetching episodes created after: {}", startOfDay);
 
-    Page<Episode> page =
-        episodeRepository.findByCreationDateAfterOrderByCreationDateDesc(
-            startOfDay, PageRequest.of(0, limit));
+    List<EpisodeListItem> episodes =
+        episodeRepository.findListItemsCreatedAfter(startOfDay, Limit.of(limit));
 
-    log.info("Retrieved {} daily episodes", page.getNumberOfElements());
+    log.info("Retrieved {} daily episodes", episodes.size());
 
-    return page.stream().map(e -> mapToDto(e, true)).toList();
+    return mapListItems(episodes);
   }
 
   @Override
@@ -124,23 +186,101 @@ public class EpisodeServiceImpl implements EpisodeService {
         pageable.getPageNumber(),
         pageable.getPageSize());
 
-    Page<Episode> result =
-        episodeRepository.search(
-            (title == null || title.isBlank()) ? null : title,
-            (category == null || category.isBlank()) ? null : category,
-            pageable);
+    String titleFilter = (title == null || title.isBlank()) ? null : title;
+    String categoryFilter = (category == null || category.isBlank()) ? null : category;
+
+    // Free-text queries are ranked by the in-memory index; the DB only hydrates the hits
+    if (titleFilter != null && episodeSearchIndex.isReady()) {
+      return searchIndexed(titleFilter, categoryFilter, pageable);
+    }
+
+    Page<EpisodeListItem> result =
+        episodeRepository.searchListItems(titleFilter, categoryFilter, pageable);
 
     log.info(
         "Search returned {} episodes (total: {})",
         result.getNumberOfElements(),
         result.getTotalElements());
 
-    return result.map(e -> mapToDto(e, true));
+    return new PageImpl<>(mapListItems(result.getContent()), pageable, result.getTotalElements());
   }
 
-  private String truncate(String s, int max) {
-    if (s == null) return null;
-    if (s.length() <= max) return s;
-    return s.substring(0, max - 3) + "...";
+  /**
+   * Ranks matches with the BM25 search index, then loads only the requested page of episodes (in
+   * rank order) from the database.
+   */
+  private Page<EpisodeDto> searchIndexed(String title, String category, Pageable pageable) {
+    List<SearchHit> hits = episodeSearchIndex.search(title, category);
+
+    int from = (int) Math.min(pageable.getOffset(), hits.size());
+    int to = Math.min(from + pageable.getPageSize(), hits.size());
+    List<UUID> pageIds = hits.subList(from, to).stream().map(SearchHit::episodeId).toList();
+
+    Map<UUID, EpisodeListItem> loaded =
+        pageIds.isEmpty()
+            ? Map.of()
+            : episodeRepository.findListItemsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(EpisodeListItem::id, Function.identity()));
+    List<EpisodeListItem> ranked =
+        pageIds.stream().map(loaded::get).filter(Objects::nonNull).toList();
+
+    log.info("Indexed search returned {} episodes (total: {})", ranked.size(), hits.size());
+
+    return new PageImpl<>(mapListItems(ranked), pageable, hits.size());
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPageDto<EpisodeDto> listEpisodesByCursor(String cursor, int size) {
+    log.info("Listing episodes by cursor: cursor={}, size={}", cursor, size);
+
+    // Fetch one extra row to learn whether another slice exists, without counting
+    Limit limit = Limit.of(size + 1);
+    List<EpisodeListItem> episodes;
+    if (cursor == null || cursor.isBlank()) {
+      episodes = episodeRepository.findFirstSlice(limit);
+    } else {
+      EpisodeCursor position = EpisodeCursor.decode(cursor);
+      episodes = episodeRepository.findSliceAfter(position.creationDate(), position.id(), limit);
+    }
+    return toCursorPage(episodes, size);
+  }
+
+  @Override
+  @Transactional(readOnly = true)
+  public CursorPageDto<EpisodeDto> searchEpisodesByCursor(
+      String title, String category, String cursor, int size) {
+    log.info(
+        "Searching episodes by cursor: title='{}', category='{}', cursor={}, size={}",
+        title,
+        category,
+        cursor,
+        size);
+
+    String titleFilter = (title == null || title.isBlank()) ? null : title;
+    String categoryFilter = (category == null || category.isBlank()) ? null : category;
+    Limit limit = Limit.of(size + 1);
+    List<EpisodeListItem> episodes;
+    if (cursor == null || cursor.isBlank()) {
+      episodes = episodeRepository.searchFirstSlice(titleFilter, categoryFilter, limit);
+    } else {
+      EpisodeCursor position = EpisodeCursor.decode(cursor);
+      episodes =
+          episodeRepository.searchSliceAfter(
+              titleFilter, categoryFilter, position.creationDate(), position.id(), limit);
+    }
+    return toCursorPage(episodes, size);
+  }
+
+  /**
+   * Builds a cursor page from a slice fetched with one extra row. The extra row only signals that
+   * another slice exists and is not returned.
+   */
+  private CursorPageDto<EpisodeDto> toCursorPage(List<EpisodeListItem> episodes, int size) {
+    boolean hasNext = episodes.size() > size;
+    List<EpisodeDto> content = mapListItems(hasNext ? episodes.subList(0, size) : episodes);
+
+    String nextCursor = hasNext ? EpisodeCursor.of(content.get(size - 1)).encode() : null;
+    return new CursorPageDto<>(content, size, nextCursor, hasNext);
   }
 }
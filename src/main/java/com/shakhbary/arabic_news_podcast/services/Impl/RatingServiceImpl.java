@@ -1,18 +1,17 @@
 package com.shakhbary.arabic_news_podcast.services.Impl;
 
 import com.shakhbary.arabic_news_podcast.dtos.RatingResponseDto;
+import com.shakhbary.arabic_news_podcast.dtos.StoredRating;
+import com.shakhbary.arabic_news_podcast.events.RatingChangedEvent;
 import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
-import com.shakhbary.arabic_news_podcast.mappers.RatingMapper;
-import com.shakhbary.arabic_news_podcast.models.Episode;
-import com.shakhbary.arabic_news_podcast.models.Rating;
-import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
 import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
 import com.shakhbary.arabic_news_podcast.repositories.RatingRepository;
-import com.shakhbary.arabic_news_podcast.repositories.UserRepository;
 import com.shakhbary.arabic_news_podcast.services.RatingService;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,52 +20,47 @@ import org.springframework.transaction.annotation.Transactional;
 public class RatingServiceImpl implements RatingService {
 
   private final RatingRepository ratingRepository;
-  private final UserRepository userRepository;
   private final EpisodeRepository episodeRepository;
-  private final RatingMapper ratingMapper;
+  private final EpisodeRatingSummaryRepository episodeRatingSummaryRepository;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional
-  public RatingResponseDto rateEpisode(UUID episodeId, int ratingValue, String requestingUsername) {
+  public RatingResponseDto rateEpisode(UUID episodeId, int ratingValue, UUID userId) {
 
-    User user = findByUsername(requestingUsername);
-    Episode episode = findByEpisodeId(episodeId);
-
-    Rating rating = findOrCreateRating(user, episode);
-    boolean isUpdate = rating.getId() != null;
-
-    rating.setRating(ratingValue);
-    rating.setRatingDate(OffsetDateTime.now());
-    rating = ratingRepository.save(rating);
-
-    RatingResponseDto responseDto = ratingMapper.ratingToRatingResponseDto(rating);
-    responseDto.setMessage(
-        isUpdate ? "Rating updated successfully" : "Rating created successfully");
-
-    return responseDto;
-  }
-
-  private User findByUsername(String username) {
-    return userRepository
-        .findByUsername(username)
-        .orElseThrow(() -> new ResourceNotFoundException("User not found: " + username));
-  }
-
-  private Episode findByEpisodeId(UUID episodeId) {
-    return episodeRepository
-        .findById(episodeId)
-        .orElseThrow(() -> new ResourceNotFoundException("Episode not found: " + episodeId));
-  }
-
-  private Rating findOrCreateRating(User user, Episode episode) {
-    Rating rating = ratingRepository.findByUserAndEpisode(user.getId(), episode.getId());
+    if (!episodeRepository.existsById(episodeId)) {
+      throw new ResourceNotFoundException("Episode not found: " + episodeId);
+    }
 
-    if (rating == null) {
-      rating = new Rating();
-      rating.setUser(user);
-      rating.setEpisode(episode);
+    // The previous value drives the summary delta and the change event, so it is read under a
+    // row lock that serializes concurrent re-ratings of the same row
+    OffsetDateTime ratingDate = OffsetDateTime.now();
+    StoredRating previous =
+        ratingRepository.findStoredRatingForUpdate(userId, episodeId).orElse(null);
+    UUID ratingId = previous != null ? previous.id() : UUID.randomUUID();
+    if (previous == null
+        && ratingRepository.insertRatingIfAbsent(
+                ratingId, userId, episodeId, ratingValue, ratingDate)
+            == 0) {
+      // A concurrent first rating won the insert; replace it like any other re-rating
+      previous = ratingRepository.findStoredRatingForUpdate(userId, episodeId).orElseThrow();
+      ratingId = previous.id();
+    }
+    if (previous != null) {
+      ratingRepository.updateRating(ratingId, ratingValue, ratingDate);
     }
+    Integer previousRating = previous != null ? previous.rating() : null;
+
+    // Keep the episode's pre-aggregated summary in step within the same transaction
+    episodeRatingSummaryRepository.recordRating(episodeId, previousRating, ratingValue, ratingDate);
+    eventPublisher.publishEvent(
+        new RatingChangedEvent(episodeId, userId, ratingValue, previousRating, ratingDate));
 
-    return rating;
+    return new RatingResponseDto(
+        ratingId,
+        userId,
+        episodeId,
+        ratingValue,
+        previous != null ? "Rating updated successfully" : "Rating created successfully");
   }
 }
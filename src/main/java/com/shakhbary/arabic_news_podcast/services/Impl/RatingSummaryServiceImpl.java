@@ -0,0 +1,74 @@
+package com.shakhbary.arabic_news_podcast.services.Impl;
+
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import com.shakhbary.arabic_news_podcast.services.RatingSummaryService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RatingSummaryServiceImpl implements RatingSummaryService {
+
+  private final EpisodeRepository episodeRepository;
+  private final EpisodeRatingSummaryRepository episodeRatingSummaryRepository;
+  private final PlatformTransactionManager transactionManager;
+
+  @Value("${app.ratings.summary.rebuild-chunk-size:500}")
+  private int chunkSize;
+
+  @Value("${app.ratings.summary.rebuild-parallelism:4}")
+  private int parallelism;
+
+  @Override
+  public ReconciliationResult rebuildSummaries() {
+    long start = System.currentTimeMillis();
+    List<UUID> episodeIds = episodeRepository.findAllIds();
+
+    List<List<UUID>> chunks = new ArrayList<>();
+    for (int from = 0; from < episodeIds.size(); from += chunkSize) {
+      chunks.add(episodeIds.subList(from, Math.min(from + chunkSize, episodeIds.size())));
+    }
+
+    log.info(
+        "Rebuilding rating summaries for {} episodes in {} chunks (parallelism={})",
+        episodeIds.size(),
+        chunks.size(),
+        parallelism);
+
+    // Each chunk is one set-based statement in its own short transaction
+    TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+    ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, parallelism));
+    try {
+      CompletableFuture<?>[] futures =
+          chunks.stream()
+              .map(
+                  chunk ->
+                      CompletableFuture.runAsync(
+                          () ->
+                              transactionTemplate.executeWithoutResult(
+                                  status ->
+                                      episodeRatingSummaryRepository.rebuildForEpisodes(chunk)),
+                          executor))
+              .toArray(CompletableFuture[]::new);
+      CompletableFuture.allOf(futures).join();
+    } finally {
+      executor.shutdown();
+    }
+
+    long duration = System.currentTimeMillis() - start;
+    log.info("Rating summary rebuild complete in {} ms", duration);
+    return new ReconciliationResult(episodeIds.size(), chunks.size(), duration);
+  }
+}
@@ -1,23 +1,33 @@
 package com.shakhbary.arabic_news_podcast.services.Impl;
 
+import com.shakhbary.arabic_news_podcast.analytics.EngagementCounters;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
 import com.shakhbary.arabic_news_podcast.dtos.EpisodeHistoryDto;
 import com.shakhbary.arabic_news_podcast.dtos.UserProfileDto;
+import com.shakhbary.arabic_news_podcast.events.ProgressChangedEvent;
 import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
 import com.shakhbary.arabic_news_podcast.models.Episode;
 import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
 import com.shakhbary.arabic_news_podcast.models.Rating;
 import com.shakhbary.arabic_news_podcast.models.User;
 import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository;
-import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
 import com.shakhbary.arabic_news_podcast.repositories.RatingRepository;
 import com.shakhbary.arabic_news_podcast.repositories.UserRepository;
+import com.shakhbary.arabic_news_podcast.services.EpisodeService;
 import com.shakhbary.arabic_news_podcast.services.UserProfileService;
+import com.shakhbary.arabic_news_podcast.tracking.ListeningTimeAccumulator;
+import com.shakhbary.arabic_news_podcast.tracking.PendingProgress;
+import com.shakhbary.arabic_news_podcast.tracking.ProgressWriteBuffer;
+import com.shakhbary.arabic_news_podcast.tracking.StoredProgress;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,57 +35,56 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class UserProfileServiceImpl implements UserProfileService {
 
+  private static final int RECENT_RATINGS_LIMIT = 10;
+  private static final int HISTORY_LIMIT = 20;
+
   private final UserRepository userRepository;
   private final RatingRepository ratingRepository;
   private final EpisodeProgressRepository episodeProgressRepository;
-  private final EpisodeRepository episodeRepository;
+  private final EpisodeService episodeService;
+  private final ProgressWriteBuffer progressWriteBuffer;
+  private final ListeningTimeAccumulator listeningTimeAccumulator;
+  private final EngagementCounters engagementCounters;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional(readOnly = true)
-  public UserProfileDto getUserProfile(UUID userId, String requestingUsername) {
+  public UserProfileDto getUserProfile(UUID userId, UUID requestingUserId) {
     User user =
         userRepository
             .findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
 
-    List<Rating> ratings = ratingRepository.findAllByUserOrdered(userId);
-
-    // Get total listening time directly from user model
-    long totalSeconds = user.getSecondsListened();
+    // Total listening time from the user model plus reports not yet flushed
+    long totalSeconds = user.getSecondsListened() + listeningTimeAccumulator.pending(userId);
 
     // Count actually completed episodes (regardless of rating)
     long completedEpisodes = episodeProgressRepository.countCompletedEpisodesByUser(userId);
 
-    // Create recent ratings list (limit to last 10)
+    // Every list is bounded and fetched with its episodes, so the page costs a constant number of
+    // statements however long the user's history is
     List<UserProfileDto.UserRatingDto> recentRatings =
-        ratings.stream()
-            .limit(10)
-            .map(
-                r ->
-                    new UserProfileDto.UserRatingDto(
-                        r.getEpisode().getId(),
-                        r.getEpisode().getTitle(),
-                        r.getRating(),
-                        r.getRatingDate()))
-            .toList();
+        ratingRepository.findRecentByUser(userId, Limit.of(RECENT_RATINGS_LIMIT));
 
-    // Build episode history: ALL episodes with progress (completed or in-progress)
-    List<EpisodeProgress> progressRecords = episodeProgressRepository.findAllByUserOrdered(userId);
+    // Build episode history: the most recent episodes with progress (completed or in-progress)
+    List<EpisodeProgress> progressRecords =
+        episodeProgressRepository.findRecentWithEpisodeByUser(userId, Limit.of(HISTORY_LIMIT));
 
-    // Create a map of episodeId -> rating for quick lookup
+    // Ratings of only the episodes shown, in one lookup
     Map<UUID, Rating> episodeRatings =
-        ratings.stream()
-            .collect(
-                Collectors.toMap(
-                    r -> r.getEpisode().getId(),
-                    r -> r,
-                    (existing, replacement) -> existing // keep first if duplicate
-                    ));
-
-    // Build history list from all progress records (not just completed)
+        progressRecords.isEmpty()
+            ? Map.of()
+            : ratingRepository
+                .findByUserAndEpisodes(
+                    userId,
+                    progressRecords.stream()
+                        .map(progress -> progress.getEpisode().getId())
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(r -> r.getEpisode().getId(), Function.identity()));
+
     List<EpisodeHistoryDto> episodeHistory =
         progressRecords.stream()
-            .limit(20) // Show last 20 episodes with any progress
             .map(
                 progress -> {
                   Episode episode = progress.getEpisode();
@@ -123,74 +132,52 @@ public class UserProfileServiceImpl implements UserProfileService {
   }
 
   @Override
-  @Transactional
-  public void trackListeningTime(long secondsListened, String requestingUsername) {
-    User user =
-        userRepository
-            .findByUsername(requestingUsername)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("User not found: " + requestingUsername));
+  public void trackListeningTime(UUID episodeId, long secondsListened, UUID userId) {
+    // Validates the episode from the episode detail cache before anything is buffered for it
+    episodeService.getEpisode(episodeId);
 
-    user.addListeningTime(secondsListened);
-    userRepository.save(user);
+    // Added to users.seconds_listened and episode_engagement in periodic batches
+    listeningTimeAccumulator.add(userId, secondsListened);
+    engagementCounters.addSecondsListened(episodeId, secondsListened);
   }
 
   @Override
-  @Transactional
-  public void updateEpisodeProgress(
-      UUID episodeId, long positionSeconds, String requestingUsername) {
-    User user =
-        userRepository
-            .findByUsername(requestingUsername)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("User not found: " + requestingUsername));
-
-    Episode episode =
-        episodeRepository
-            .findById(episodeId)
-            .orElseThrow(() -> new ResourceNotFoundException("Episode not found: " + episodeId));
-
-    // Find existing completion or create new one
-    EpisodeProgress completion =
-        episodeProgressRepository
-            .findByUserAndEpisode(user.getId(), episodeId)
-            .orElse(new EpisodeProgress());
-
-    // Set/update the completion data
-    completion.setUser(user);
-    completion.setEpisode(episode);
-    completion.updatePosition(
-        positionSeconds); // This will calculate percentage and handle completion logic
-
-    episodeProgressRepository.save(completion);
+  public void updateEpisodeProgress(UUID episodeId, long positionSeconds, UUID userId) {
+    // Validates the episode and provides its duration from the episode detail cache
+    EpisodeDto episode = episodeService.getEpisode(episodeId);
+    long position = EpisodeProgress.clampPosition(positionSeconds, episode.getDurationSeconds());
+
+    // Heartbeats are coalesced and written behind; see ProgressWriteBuffer
+    progressWriteBuffer.record(
+        userId,
+        episodeId,
+        new PendingProgress(
+            position,
+            EpisodeProgress.reachesCompletion(position, episode.getDurationSeconds()),
+            OffsetDateTime.now()));
   }
 
   @Override
   @Transactional
-  public void markEpisodeCompleted(
-      UUID episodeId, long positionSeconds, String requestingUsername) {
-    User user =
-        userRepository
-            .findByUsername(requestingUsername)
-            .orElseThrow(
-                () -> new ResourceNotFoundException("User not found: " + requestingUsername));
-
-    Episode episode =
-        episodeRepository
-            .findById(episodeId)
-            .orElseThrow(() -> new ResourceNotFoundException("Episode not found: " + episodeId));
-
-    // Find existing completion or create new one
-    EpisodeProgress completion =
-        episodeProgressRepository
-            .findByUserAndEpisode(user.getId(), episodeId)
-            .orElse(new EpisodeProgress());
-
-    completion.setUser(user);
-    completion.setEpisode(episode);
-    completion.updatePosition(positionSeconds);
-    completion.setCompleted(true); // Explicitly mark as completed
-
-    episodeProgressRepository.save(completion);
+  public void markEpisodeCompleted(UUID episodeId, long positionSeconds, UUID userId) {
+    // Validates the episode and provides its duration from the episode detail cache
+    EpisodeDto episode = episodeService.getEpisode(episodeId);
+
+    // Explicitly mark as completed; the upsert creates the row if this is the first write
+    PendingProgress write =
+        new PendingProgress(
+            EpisodeProgress.clampPosition(positionSeconds, episode.getDurationSeconds()),
+            true,
+            OffsetDateTime.now());
+    StoredProgress previous =
+        episodeProgressRepository.findStoredProgress(userId, episodeId).orElse(null);
+    episodeProgressRepository.upsertProgress(
+        UUID.randomUUID(),
+        userId,
+        episodeId,
+        write.positionSeconds(),
+        write.completed(),
+        write.playedAt());
+    eventPublisher.publishEvent(ProgressChangedEvent.of(userId, episodeId, previous, write));
   }
 }
@@ -2,6 +2,7 @@ package com.shakhbary.arabic_news_podcast.services.Impl;
 
 import com.shakhbary.arabic_news_podcast.dtos.UserDto;
 import com.shakhbary.arabic_news_podcast.dtos.UserRegistrationRequestDto;
+import com.shakhbary.arabic_news_podcast.events.UserAccountChangedEvent;
 import com.shakhbary.arabic_news_podcast.exceptions.DuplicateResourceException;
 import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
 import com.shakhbary.arabic_news_podcast.models.Role;
@@ -14,6 +15,7 @@ import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -28,6 +30,7 @@ public class UserServiceImpl implements UserService {
   private final UserRepository userRepository;
   private final RoleRepository roleRepository;
   private final PasswordEncoder passwordEncoder;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Override
   @Transactional
@@ -82,14 +85,14 @@ public class UserServiceImpl implements UserService {
 
   @Override
   @Transactional(readOnly = true)
-  public UserDto getUser(UUID userId, String requestingUsername) {
+  public UserDto getUser(UUID userId, UUID requestingUserId) {
     User user =
         userRepository
             .findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
 
     // Authorization check: user can only view their own profile unless they're an admin
-    validateUserAccess(user.getUsername(), requestingUsername, "view this profile");
+    validateUserAccess(user.getId(), requestingUserId, "view this profile");
 
     return new UserDto(
         user.getId(),
@@ -104,14 +107,14 @@ public class UserServiceImpl implements UserService {
   @Override
   @Transactional
   public UserDto updateUserName(
-      UUID userId, String firstName, String lastName, String requestingUsername) {
+      UUID userId, String firstName, String lastName, UUID requestingUserId) {
     User user =
         userRepository
             .findById(userId)
             .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
 
     // Authorization check: user can only update their own profile unless they're an admin
-    validateUserAccess(user.getUsername(), requestingUsername, "update this profile");
+    validateUserAccess(user.getId(), requestingUserId, "update this profile");
 
     user.setFirstName(firstName);
     user.setLastName(lastName);
@@ -127,18 +130,40 @@ public class UserServiceImpl implements UserService {
         user.getLastLoginDate());
   }
 
+  @Override
+  @Transactional
+  public UserDto setUserEnabled(UUID userId, boolean enabled) {
+    User user =
+        userRepository
+            .findById(userId)
+            .orElseThrow(() -> new ResourceNotFoundException("User not found: " + userId));
+
+    user.setEnabled(enabled);
+    user = userRepository.save(user);
+    eventPublisher.publishEvent(new UserAccountChangedEvent(user.getId(), user.getUsername()));
+
+    return new UserDto(
+        user.getId(),
+        user.getUsername(),
+        user.getEmail(),
+        user.getFirstName(),
+        user.getLastName(),
+        user.getCreationDate(),
+        user.getLastLoginDate());
+  }
+
   /**
    * Validates that the requesting user has permission to access the target user's data. Allows
    * access if: requesting user is the target user OR requesting user has ADMIN role.
    *
-   * @param targetUsername Username of the user being accessed
-   * @param requestingUsername Username of the user making the request
+   * @param targetUserId ID of the user being accessed
+   * @param requestingUserId ID of the user making the request
    * @param action Description of the action being attempted (for error message)
    * @throws ResponseStatusException if access is denied
    */
-  private void validateUserAccess(String targetUsername, String requestingUsername, String action) {
+  private void validateUserAccess(UUID targetUserId, UUID requestingUserId, String action) {
     // Check if requesting user is trying to access their own data
-    if (targetUsername.equals(requestingUsername)) {
+    if (targetUserId.equals(requestingUserId)) {
       return; // Access granted
     }
 
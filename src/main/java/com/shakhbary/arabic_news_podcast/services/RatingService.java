@@ -8,12 +8,12 @@ public interface RatingService {
 
   /**
    * Submit or update a user's rating for an episode. Creates a new rating if none exists, or
-   * updates existing rating. User is identified by the requesting username from authentication.
+   * updates existing rating. User is identified by the ID of the authenticated principal.
    *
    * @param episodeId The unique identifier of the episode being rated
    * @param rating Rating value (typically 1-5 stars)
-   * @param requestingUsername The username of the user making the request
+   * @param userId The ID of the user making the request
    * @return RatingResponseDto containing the submitted rating and updated episode statistics
    */
-  RatingResponseDto rateEpisode(UUID episodeId, int rating, String requestingUsername);
+  RatingResponseDto rateEpisode(UUID episodeId, int rating, UUID userId);
 }
@@ -0,0 +1,17 @@
+package com.shakhbary.arabic_news_podcast.services;
+
+/** Service for maintaining the pre-aggregated episode rating summaries */
+public interface RatingSummaryService {
+
+  /**
+   * Rebuild every episode's rating summary from the ratings table. The catalog is split into chunks
+   * that are recomputed in parallel, each chunk in its own transaction. This is an admin-only
+   * operation used to repair drift in the incrementally maintained summaries.
+   *
+   * @return Statistics about the rebuild run
+   */
+  ReconciliationResult rebuildSummaries();
+
+  /** DTO for the outcome of a summary rebuild */
+  record ReconciliationResult(int episodes, int chunks, long durationMillis) {}
+}
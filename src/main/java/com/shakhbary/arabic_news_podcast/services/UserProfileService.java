@@ -11,41 +11,42 @@ public interface UserProfileService {
    * has permission to view this profile.
    *
    * @param userId The unique identifier of the user
-   * @param requestingUsername The username of the user making the request
+   * @param requestingUserId The ID of the user making the request
    * @return UserProfileDto containing profile data and listening stats
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  UserProfileDto getUserProfile(UUID userId, String requestingUsername);
+  UserProfileDto getUserProfile(UUID userId, UUID requestingUserId);
 
   /**
-   * Track and accumulate user's total listening time. User is identified by the requesting username
-   * from authentication.
+   * Track and accumulate user's total listening time and the episode's seconds listened. User is
+   * identified by the ID of the authenticated principal.
    *
+   * @param episodeId Episode being played
    * @param secondsListened Number of seconds to add to user's total listening time
-   * @param requestingUsername The username of the user making the request
+   * @param userId The ID of the user making the request
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  void trackListeningTime(long secondsListened, String requestingUsername);
+  void trackListeningTime(UUID episodeId, long secondsListened, UUID userId);
 
   /**
-   * Update user's playback position for an episode. User is identified by the requesting username
-   * from authentication.
+   * Update user's playback position for an episode. User is identified by the ID of the
+   * authenticated principal.
    *
    * @param episodeId The unique identifier of the episode
    * @param positionSeconds Current playback position in seconds
-   * @param requestingUsername The username of the user making the request
+   * @param userId The ID of the user making the request
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  void updateEpisodeProgress(UUID episodeId, long positionSeconds, String requestingUsername);
+  void updateEpisodeProgress(UUID episodeId, long positionSeconds, UUID userId);
 
   /**
-   * Mark an episode as completed by the user. User is identified by the requesting username from
-   * authentication.
+   * Mark an episode as completed by the user. User is identified by the ID of the authenticated
+   * principal.
    *
    * @param episodeId The unique identifier of the episode
    * @param positionSeconds Final playback position in seconds (usually total duration)
-   * @param requestingUsername The username of the user making the request
+   * @param userId The ID of the user making the request
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  void markEpisodeCompleted(UUID episodeId, long positionSeconds, String requestingUsername);
+  void markEpisodeCompleted(UUID episodeId, long positionSeconds, UUID userId);
 }
@@ -21,11 +21,11 @@ public interface UserService {
    * permission to view this profile.
    *
    * @param userId The unique identifier of the user
-   * @param requestingUsername The username of the user making the request
+   * @param requestingUserId The ID of the user making the request
    * @return UserDto containing user details
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  UserDto getUser(UUID userId, String requestingUsername);
+  UserDto getUser(UUID userId, UUID requestingUserId);
 
   /**
    * Update a user's first and last name. Validates that the requesting user has permission to
@@ -34,9 +34,19 @@ public interface UserService {
    * @param userId The unique identifier of the user
    * @param firstName The new first name
    * @param lastName The new last name
-   * @param requestingUsername The username of the user making the request
+   * @param requestingUserId The ID of the user making the request
    * @return Updated UserDto with new name information
    * @throws org.springframework.web.server.ResponseStatusException if unauthorized
    */
-  UserDto updateUserName(UUID userId, String firstName, String lastName, String requestingUsername);
+  UserDto updateUserName(UUID userId, String firstName, String lastName, UUID requestingUserId);
+
+  /**
+   * Enable or disable a user's account. Disabled users can no longer log in or authenticate, and
+   * their cached authentication data is dropped. Admin-only.
+   *
+   * @param userId The unique identifier of the user
+   * @param enabled Whether the account should be enabled
+   * @return Updated UserDto
+   */
+  UserDto setUserEnabled(UUID userId, boolean enabled);
 }
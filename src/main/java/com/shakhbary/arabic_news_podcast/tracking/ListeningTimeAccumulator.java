@@ -0,0 +1,118 @@
+package com.shakhbary.arabic_news_podcast.tracking;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Accumulates listening time per user in memory and adds it to {@code users.seconds_listened}
+ * periodically with one batch of relative updates.
+ *
+ * <p>Each user has a {@link LongAdder}, so concurrent reports from several devices never lose
+ * increments and never contend on a row lock; the database only sees {@code seconds_listened =
+ * seconds_listened + ?}, which is safe against any other writer of the user row. Adders are kept
+ * for the lifetime of the process (one per user who listened), because removing one could race with
+ * a concurrent report into it.
+ */
+@Component
+@Slf4j
+public class ListeningTimeAccumulator {
+
+  private static final String ADD_SQL =
+      "UPDATE users SET seconds_listened = seconds_listened + ? WHERE id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final Map<UUID, LongAdder> pendingSeconds = new ConcurrentHashMap<>();
+  private final Counter secondsFlushed;
+
+  public ListeningTimeAccumulator(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.secondsFlushed =
+        Counter.builder("podcast.listening.seconds.flushed")
+            .description("Listening seconds added to users.seconds_listened")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Record listened seconds for a user. Non-positive amounts are ignored.
+   *
+   * @param userId Listening user
+   * @param seconds Seconds listened since the last report
+   */
+  public void add(UUID userId, long seconds) {
+    if (seconds > 0) {
+      pendingSeconds.computeIfAbsent(userId, id -> new LongAdder()).add(seconds);
+    }
+  }
+
+  /**
+   * Get the seconds recorded for a user but not yet written.
+   *
+   * @param userId User ID
+   * @return Unflushed seconds (0 if none)
+   */
+  public long pending(UUID userId) {
+    LongAdder adder = pendingSeconds.get(userId);
+    return adder == null ? 0 : adder.sum();
+  }
+
+  /**
+   * Drain every accumulator and write the amounts as one batch. If the batch fails the drained
+   * amounts are added back and retried by the next flush.
+   *
+   * @return Total seconds written
+   */
+  @Scheduled(fixedDelayString = "${app.listening.flush-interval-ms:10000}")
+  public synchronized long flush() {
+    List<Object[]> batch = new ArrayList<>();
+    List<UUID> userIds = new ArrayList<>();
+    long total = 0;
+    for (Map.Entry<UUID, LongAdder> entry : pendingSeconds.entrySet()) {
+      long seconds = entry.getValue().sumThenReset();
+      if (seconds > 0) {
+        batch.add(new Object[] {seconds, UuidBytes.toBytes(entry.getKey())});
+        userIds.add(entry.getKey());
+        total += seconds;
+      }
+    }
+    if (batch.isEmpty()) {
+      return 0;
+    }
+
+    try {
+      transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_SQL, batch));
+      secondsFlushed.increment(total);
+      log.debug("Flushed {} listening seconds for {} users", total, batch.size());
+      return total;
+    } catch (RuntimeException e) {
+      log.error("Listening time flush for {} users failed: {}", batch.size(), e.getMessage());
+      for (int i = 0; i < batch.size(); i++) {
+        add(userIds.get(i), (Long) batch.get(i)[0]);
+      }
+      return 0;
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    long written = flush();
+    log.info("Listening time accumulator flushed {} seconds at shutdown", written);
+  }
+}
@@ -0,0 +1,19 @@
+package com.shakhbary.arabic_news_podcast.tracking;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Latest buffered playback state of one (user, episode) pair, not yet written to {@code
+ * episode_progress}.
+ *
+ * @param positionSeconds Last reported position
+ * @param completed Whether any buffered heartbeat reached the completion threshold
+ * @param playedAt When the last heartbeat was received
+ */
+public record PendingProgress(long positionSeconds, boolean completed, OffsetDateTime playedAt) {
+
+  /** Coalesce a newer heartbeat into this one; completion is sticky, as in the table. */
+  PendingProgress merge(PendingProgress newer) {
+    return new PendingProgress(newer.positionSeconds, completed || newer.completed, newer.playedAt);
+  }
+}
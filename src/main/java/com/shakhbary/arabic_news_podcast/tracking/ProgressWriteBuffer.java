@@ -0,0 +1,265 @@
+package com.shakhbary.arabic_news_podcast.tracking;
+
+import com.shakhbary.arabic_news_podcast.events.ProgressChangedEvent;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Write-behind buffer for playback position heartbeats.
+ *
+ * <p>Players report their position every few seconds. Instead of a read-modify-write of {@code
+ * episode_progress} per heartbeat, only the latest state per (user, episode) is kept in memory and
+ * written periodically, or once the buffer reaches its size threshold, as one JDBC batch upsert.
+ * The buffer is flushed at shutdown; readers overlay {@link #pending} so they see unflushed state.
+ *
+ * <p>The upsert never moves a row backwards: position and date are only taken from the buffer when
+ * the buffered heartbeat is newer than the row, so a synchronous write (e.g. marking an episode
+ * completed) is not overwritten by an older heartbeat flushed after it.
+ *
+ * <p>Each flush reads the rows' current state first so that every written row's transition can be
+ * published as a {@link ProgressChangedEvent}.
+ */
+@Component
+@Slf4j
+public class ProgressWriteBuffer {
+
+  // The repository's upsert with its named parameters (id, user, episode, position, completed,
+  // played at) turned into JDBC placeholders, in that order
+  private static final String UPSERT_SQL =
+      NamedParameterUtils.parseSqlStatementIntoString(
+          EpisodeProgressRepository.UPSERT_PROGRESS_SQL);
+
+  private static final String SELECT_STATES_SQL =
+      "SELECT user_id, episode_id, last_position_seconds, is_completed, last_played_date "
+          + "FROM episode_progress WHERE (user_id, episode_id) IN ";
+  private static final int SELECT_STATES_CHUNK_SIZE = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final TransactionTemplate transactionTemplate;
+  private final int flushThreshold;
+
+  private final Map<ProgressKey, PendingProgress> pending = new ConcurrentHashMap<>();
+  // Entries taken by the running flush; still visible to readers until they are committed
+  private final Map<ProgressKey, PendingProgress> inFlight = new ConcurrentHashMap<>();
+
+  private final ExecutorService thresholdFlushExecutor =
+      Executors.newSingleThreadExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "progress-buffer-flush");
+            thread.setDaemon(true);
+            return thread;
+          });
+  private final AtomicBoolean thresholdFlushPending = new AtomicBoolean(false);
+
+  private final Counter heartbeats;
+  private final Counter rowsWritten;
+
+  public ProgressWriteBuffer(
+      JdbcTemplate jdbcTemplate,
+      ApplicationEventPublisher eventPublisher,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry,
+      @Value("${app.progress.buffer.flush-threshold:1000}") int flushThreshold) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.eventPublisher = eventPublisher;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.flushThreshold = flushThreshold;
+    this.heartbeats =
+        Counter.builder("podcast.progress.buffer.heartbeats")
+            .description("Playback position heartbeats accepted by the write-behind buffer")
+            .register(meterRegistry);
+    this.rowsWritten =
+        Counter.builder("podcast.progress.buffer.rows.written")
+            .description("episode_progress rows upserted by buffer flushes")
+            .register(meterRegistry);
+    Gauge.builder("podcast.progress.buffer.pending", pending, Map::size)
+        .description("Coalesced progress updates waiting to be flushed")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Buffer a heartbeat, replacing any unflushed state of the same (user, episode).
+   *
+   * @param userId Listening user
+   * @param episodeId Episode being played
+   * @param progress Reported state
+   */
+  public void record(UUID userId, UUID episodeId, PendingProgress progress) {
+    pending.merge(new ProgressKey(userId, episodeId), progress, PendingProgress::merge);
+    heartbeats.increment();
+
+    if (pending.size() >= flushThreshold && thresholdFlushPending.compareAndSet(false, true)) {
+      thresholdFlushExecutor.execute(
+          () -> {
+            thresholdFlushPending.set(false);
+            flush();
+          });
+    }
+  }
+
+  /**
+   * Get the unflushed state of a (user, episode) pair.
+   *
+   * @param userId User ID
+   * @param episodeId Episode ID
+   * @return Buffered state, or null if everything is already written
+   */
+  public PendingProgress pending(UUID userId, UUID episodeId) {
+    ProgressKey key = new ProgressKey(userId, episodeId);
+    PendingProgress buffered = pending.get(key);
+    return buffered != null ? buffered : inFlight.get(key);
+  }
+
+  /**
+   * Write all buffered state with one batch upsert. Flushes are serialized; on failure the entries
+   * are put back, merged with any newer heartbeat that arrived meanwhile, and retried by the next
+   * flush.
+   *
+   * @return Number of rows written
+   */
+  @Scheduled(fixedDelayString = "${app.progress.buffer.flush-interval-ms:5000}")
+  public synchronized int flush() {
+    for (ProgressKey key : pending.keySet()) {
+      // Moved atomically, so a concurrent reader always finds the entry in one of the two maps
+      pending.computeIfPresent(
+          key,
+          (k, taken) -> {
+            inFlight.put(k, taken);
+            return null;
+          });
+    }
+    if (inFlight.isEmpty()) {
+      return 0;
+    }
+
+    List<Map.Entry<ProgressKey, PendingProgress>> batch = new ArrayList<>(inFlight.entrySet());
+    try {
+      transactionTemplate.executeWithoutResult(status -> write(batch));
+      rowsWritten.increment(batch.size());
+      log.debug("Flushed {} buffered progress updates", batch.size());
+      return batch.size();
+    } catch (RuntimeException e) {
+      log.error("Progress buffer flush of {} rows failed: {}", batch.size(), e.getMessage());
+      // A newer heartbeat keeps its position, but must not drop the failed entry's completion
+      batch.forEach(
+          entry ->
+              pending.merge(
+                  entry.getKey(), entry.getValue(), (newer, failed) -> failed.merge(newer)));
+      return 0;
+    } finally {
+      inFlight.clear();
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    thresholdFlushExecutor.shutdownNow();
+    int written = flush();
+    log.info("Progress buffer flushed {} rows at shutdown", written);
+  }
+
+  private void write(List<Map.Entry<ProgressKey, PendingProgress>> batch) {
+    Map<ProgressKey, StoredProgress> previous = findStoredStates(batch);
+    upsert(batch);
+
+    // Listeners (e.g. drop-off analytics) see each row's transition once the batch commits
+    for (Map.Entry<ProgressKey, PendingProgress> entry : batch) {
+      ProgressKey key = entry.getKey();
+      eventPublisher.publishEvent(
+          ProgressChangedEvent.of(
+              key.userId(), key.episodeId(), previous.get(key), entry.getValue()));
+    }
+  }
+
+  private Map<ProgressKey, StoredProgress> findStoredStates(
+      List<Map.Entry<ProgressKey, PendingProgress>> batch) {
+    Map<ProgressKey, StoredProgress> states = new HashMap<>();
+    for (int from = 0; from < batch.size(); from += SELECT_STATES_CHUNK_SIZE) {
+      List<Map.Entry<ProgressKey, PendingProgress>> chunk =
+          batch.subList(from, Math.min(batch.size(), from + SELECT_STATES_CHUNK_SIZE));
+      String sql =
+          SELECT_STATES_SQL
+              + "("
+              + String.join(", ", Collections.nCopies(chunk.size(), "(?, ?)"))
+              + ")";
+      Object[] args =
+          chunk.stream()
+              .flatMap(
+                  entry ->
+                      Stream.of(
+                          UuidBytes.toBytes(entry.getKey().userId()),
+                          UuidBytes.toBytes(entry.getKey().episodeId())))
+              .toArray();
+      jdbcTemplate.query(
+          sql,
+          (RowCallbackHandler)
+              rs ->
+                  states.put(
+                      new ProgressKey(
+                          UuidBytes.fromBytes(rs.getBytes(1)), UuidBytes.fromBytes(rs.getBytes(2))),
+                      new StoredProgress(
+                          rs.getLong(3),
+                          rs.getBoolean(4),
+                          OffsetDateTime.ofInstant(
+                              rs.getTimestamp(5).toInstant(), ZoneId.systemDefault()))),
+          args);
+    }
+    return states;
+  }
+
+  private void upsert(List<Map.Entry<ProgressKey, PendingProgress>> batch) {
+    jdbcTemplate.batchUpdate(
+        UPSERT_SQL,
+        new BatchPreparedStatementSetter() {
+          @Override
+          public void setValues(PreparedStatement ps, int i) throws SQLException {
+            ProgressKey key = batch.get(i).getKey();
+            PendingProgress progress = batch.get(i).getValue();
+            ps.setBytes(1, UuidBytes.toBytes(UUID.randomUUID())); // only used for new rows
+            ps.setBytes(2, UuidBytes.toBytes(key.userId()));
+            ps.setBytes(3, UuidBytes.toBytes(key.episodeId()));
+            ps.setLong(4, progress.positionSeconds());
+            ps.setBoolean(5, progress.completed());
+            ps.setTimestamp(6, Timestamp.from(progress.playedAt().toInstant()));
+          }
+
+          @Override
+          public int getBatchSize() {
+            return batch.size();
+          }
+        });
+  }
+
+  private record ProgressKey(UUID userId, UUID episodeId) {}
+}
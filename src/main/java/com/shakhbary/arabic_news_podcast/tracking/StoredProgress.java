@@ -0,0 +1,33 @@
+package com.shakhbary.arabic_news_podcast.tracking;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Playback state of one {@code episode_progress} row, as read before a write so that the effect of
+ * the write can be published (see {@link
+ * com.shakhbary.arabic_news_podcast.events.ProgressChangedEvent}).
+ *
+ * @param positionSeconds Last position
+ * @param completed Whether the episode is completed
+ * @param lastPlayedDate When the position was last updated
+ */
+public record StoredProgress(
+    long positionSeconds, boolean completed, OffsetDateTime lastPlayedDate) {
+
+  /** State of a row inserted by the given write. */
+  public static StoredProgress inserted(PendingProgress write) {
+    return new StoredProgress(write.positionSeconds(), write.completed(), write.playedAt());
+  }
+
+  /**
+   * State of this row after the progress upsert applies the given write to it: the position only
+   * moves forward in time and completion is sticky.
+   */
+  public StoredProgress apply(PendingProgress write) {
+    boolean newer = !write.playedAt().isBefore(lastPlayedDate);
+    return new StoredProgress(
+        newer ? write.positionSeconds() : positionSeconds,
+        completed || write.completed(),
+        newer ? write.playedAt() : lastPlayedDate);
+  }
+}
@@ -0,0 +1,25 @@
+package com.shakhbary.arabic_news_podcast.tracking;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Binds and reads UUIDs for plain JDBC statements in the layout Hibernate uses for {@code
+ * BINARY(16)} columns (most significant bits first).
+ */
+public final class UuidBytes {
+
+  private UuidBytes() {}
+
+  public static byte[] toBytes(UUID uuid) {
+    return ByteBuffer.allocate(16)
+        .putLong(uuid.getMostSignificantBits())
+        .putLong(uuid.getLeastSignificantBits())
+        .array();
+  }
+
+  public static UUID fromBytes(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.wrap(bytes);
+    return new UUID(buffer.getLong(), buffer.getLong());
+  }
+}
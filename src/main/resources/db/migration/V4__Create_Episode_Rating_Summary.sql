@@ -0,0 +1,32 @@
+-- V4: Incrementally maintained rating aggregates per episode
+-- Creates: episode_rating_summary table (backfilled from existing ratings)
+
+-- =============================================================================
+-- EPISODE_RATING_SUMMARY TABLE
+-- =============================================================================
+CREATE TABLE episode_rating_summary (
+    episode_id BINARY(16) NOT NULL PRIMARY KEY,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    count_1 BIGINT NOT NULL DEFAULT 0,
+    count_2 BIGINT NOT NULL DEFAULT 0,
+    count_3 BIGINT NOT NULL DEFAULT 0,
+    count_4 BIGINT NOT NULL DEFAULT 0,
+    count_5 BIGINT NOT NULL DEFAULT 0,
+    last_rating_date TIMESTAMP(6) NULL,
+    FOREIGN KEY (episode_id) REFERENCES episodes(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO episode_rating_summary
+    (episode_id, rating_sum, rating_count, count_1, count_2, count_3, count_4, count_5, last_rating_date)
+SELECT episode_id,
+       SUM(rating),
+       COUNT(*),
+       SUM(rating = 1),
+       SUM(rating = 2),
+       SUM(rating = 3),
+       SUM(rating = 4),
+       SUM(rating = 5),
+       MAX(rating_date)
+FROM ratings
+GROUP BY episode_id;
@@ -0,0 +1,15 @@
+-- V5: Per-episode drop-off histograms for listening analytics
+-- Creates: episode_dropoff_histogram table (rows are built from episode_progress on first use)
+
+-- =============================================================================
+-- EPISODE_DROPOFF_HISTOGRAM TABLE
+-- =============================================================================
+CREATE TABLE episode_dropoff_histogram (
+    episode_id BINARY(16) NOT NULL PRIMARY KEY,
+    minute_counts BLOB NOT NULL,
+    listener_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    position_seconds_sum BIGINT NOT NULL DEFAULT 0,
+    updated_date DATETIME(6) NOT NULL,
+    FOREIGN KEY (episode_id) REFERENCES episodes(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,27 @@
+-- V6: Per-episode engagement counters for analytics and admin listings
+-- Creates: episode_engagement table (listeners and completions backfilled from episode_progress)
+
+-- =============================================================================
+-- EPISODE_ENGAGEMENT TABLE
+-- =============================================================================
+CREATE TABLE episode_engagement (
+    episode_id BINARY(16) NOT NULL PRIMARY KEY,
+    play_count BIGINT NOT NULL DEFAULT 0,
+    listener_count BIGINT NOT NULL DEFAULT 0,
+    completed_count BIGINT NOT NULL DEFAULT 0,
+    seconds_listened BIGINT NOT NULL DEFAULT 0,
+    updated_date DATETIME(6) NOT NULL,
+    FOREIGN KEY (episode_id) REFERENCES episodes(id) ON DELETE CASCADE
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- Listening time was only tracked per user so far, so seconds_listened starts at 0
+INSERT INTO episode_engagement
+    (episode_id, play_count, listener_count, completed_count, seconds_listened, updated_date)
+SELECT episode_id,
+       SUM(play_count),
+       COUNT(*),
+       SUM(is_completed),
+       0,
+       NOW(6)
+FROM episode_progress
+GROUP BY episode_id;
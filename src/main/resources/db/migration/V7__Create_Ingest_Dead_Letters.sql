@@ -0,0 +1,18 @@
+-- V7: Dead-letter records for ingested episodes that could not be saved
+-- Creates: ingest_dead_letters table
+
+-- =============================================================================
+-- INGEST_DEAD_LETTERS TABLE
+-- =============================================================================
+CREATE TABLE ingest_dead_letters (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    source VARCHAR(20) NOT NULL,
+    job_id BINARY(16) NULL,
+    item_index INT NOT NULL,
+    title VARCHAR(250),
+    payload MEDIUMTEXT,
+    error VARCHAR(1000) NOT NULL,
+    creation_date DATETIME(6) NOT NULL,
+    INDEX idx_dead_letter_job_id (job_id),
+    INDEX idx_dead_letter_creation_date (creation_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
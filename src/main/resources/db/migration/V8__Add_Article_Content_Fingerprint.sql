@@ -0,0 +1,23 @@
+-- V8: Content fingerprints for idempotent ingest
+-- Adds: articles.content_fingerprint (unique), backfilled with the normalization of ContentFingerprint
+
+ALTER TABLE articles ADD COLUMN content_fingerprint CHAR(64) NULL AFTER script_url;
+
+-- SHA-256 of the normalized content URL, title and publisher, one per line: whitespace runs
+-- collapsed to one space, trimmed, lowercased, and trailing slashes dropped from the URL
+UPDATE articles
+SET content_fingerprint = SHA2(CONCAT_WS('\n',
+        TRIM(TRAILING '/' FROM LOWER(TRIM(REGEXP_REPLACE(content_raw_url, '[[:space:]]+', ' ')))),
+        LOWER(TRIM(REGEXP_REPLACE(title, '[[:space:]]+', ' '))),
+        LOWER(TRIM(REGEXP_REPLACE(COALESCE(publisher, ''), '[[:space:]]+', ' ')))), 256);
+
+-- Duplicates ingested before this migration keep their rows; only one copy keeps the fingerprint
+UPDATE articles a
+JOIN (SELECT content_fingerprint, MIN(id) AS keep_id
+      FROM articles
+      GROUP BY content_fingerprint
+      HAVING COUNT(*) > 1) d ON a.content_fingerprint = d.content_fingerprint
+SET a.content_fingerprint = NULL
+WHERE a.id <> d.keep_id;
+
+CREATE UNIQUE INDEX uk_article_content_fingerprint ON articles (content_fingerprint);
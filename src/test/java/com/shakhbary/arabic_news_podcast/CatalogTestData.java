@@ -0,0 +1,67 @@
+package com.shakhbary.arabic_news_podcast;
+
+import com.shakhbary.arabic_news_podcast.models.Article;
+import com.shakhbary.arabic_news_podcast.models.Audio;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.Rating;
+import com.shakhbary.arabic_news_podcast.models.User;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/** Persists minimal, valid catalog fixtures (article + audio + episode, users, ratings). */
+public final class CatalogTestData {
+
+  private CatalogTestData() {}
+
+  public static Episode persistEpisode(
+      TestEntityManager em, String title, OffsetDateTime creationDate) {
+    Article article = new Article();
+    article.setTitle("Article " + title);
+    article.setCategory("sports");
+    article.setAuthor("author");
+    article.setPublisher("publisher");
+    article.setContentRawUrl("https://storage/raw/" + UUID.randomUUID());
+    article.setScriptUrl("https://storage/script/" + UUID.randomUUID());
+    article.setFetchDate(creationDate);
+    em.persist(article);
+
+    Audio audio = new Audio();
+    audio.setArticle(article);
+    audio.setDuration(600);
+    audio.setFormat("mp3");
+    audio.setUrlPath("https://storage/audio/" + UUID.randomUUID());
+    audio.setCreationDate(creationDate);
+    em.persist(audio);
+
+    Episode episode = new Episode();
+    episode.setArticle(article);
+    episode.setAudio(audio);
+    episode.setTitle(title);
+    episode.setDescription("Description of " + title);
+    episode.setScriptUrlPath(article.getScriptUrl());
+    episode.setCreationDate(creationDate);
+    em.persist(episode);
+    return episode;
+  }
+
+  public static User persistUser(TestEntityManager em, String username) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("{noop}secret");
+    user.setCreationDate(OffsetDateTime.now());
+    em.persist(user);
+    return user;
+  }
+
+  public static Rating persistRating(TestEntityManager em, User user, Episode episode, int value) {
+    Rating rating = new Rating();
+    rating.setUser(user);
+    rating.setEpisode(episode);
+    rating.setRating(value);
+    rating.setRatingDate(OffsetDateTime.now());
+    em.persist(rating);
+    return rating;
+  }
+}
@@ -0,0 +1,172 @@
+package com.shakhbary.arabic_news_podcast.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.cache.EpisodeDetailCache;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressUpdateDto;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.EpisodeDropOffHistogram;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeDropOffHistogramRepository;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchIndex;
+import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService.DropOffPoint;
+import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService.EpisodeAnalyticsDto;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeProgressServiceImpl;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeServiceImpl;
+import com.shakhbary.arabic_news_podcast.services.Impl.UserProfileServiceImpl;
+import com.shakhbary.arabic_news_podcast.tracking.ListeningTimeAccumulator;
+import com.shakhbary.arabic_news_podcast.tracking.ProgressWriteBuffer;
+import com.shakhbary.arabic_news_podcast.tracking.StoredProgress;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Progress writes must commit for the histogram listener to run, so nothing here is rolled back.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  DropOffHistograms.class,
+  EngagementCounters.class,
+  EpisodeProgressServiceImpl.class,
+  UserProfileServiceImpl.class,
+  EpisodeServiceImpl.class,
+  EpisodeMapperImpl.class,
+  EpisodeSearchIndex.class,
+  EpisodeDetailCache.class,
+  ProgressWriteBuffer.class,
+  ListeningTimeAccumulator.class,
+  SimpleMeterRegistry.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DropOffHistogramsTest {
+
+  @Autowired private DropOffHistograms dropOffHistograms;
+  @Autowired private EpisodeProgressServiceImpl episodeProgressService;
+  @Autowired private UserProfileServiceImpl userProfileService;
+  @Autowired private ProgressWriteBuffer progressWriteBuffer;
+  @Autowired private EpisodeDropOffHistogramRepository histogramRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestEntityManager em;
+
+  private final List<User> users = new ArrayList<>();
+  private Episode episode; // 600 seconds long
+
+  @Test
+  void positionChangesMoveListenersBetweenBuckets() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    episode =
+        tx.execute(status -> CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now()));
+    for (String name : List.of("first", "second", "third", "fourth")) {
+      users.add(tx.execute(status -> CatalogTestData.persistUser(em, "dropoff-" + name)));
+    }
+
+    // The first write builds the histogram from episode_progress, later ones are applied
+    episodeProgressService.updateProgress(update(150), users.get(0).getId());
+    episodeProgressService.updateProgress(update(150), users.get(1).getId());
+    episodeProgressService.updateProgress(update(250), users.get(2).getId());
+    episodeProgressService.updateProgress(update(250), users.get(0).getId()); // minute 2 -> 4
+    userProfileService.markEpisodeCompleted(episode.getId(), 600, users.get(1).getId());
+    userProfileService.updateEpisodeProgress(episode.getId(), 30, users.get(3).getId());
+    progressWriteBuffer.flush();
+
+    EpisodeAnalyticsDto analytics = episodeProgressService.getEpisodeAnalytics(episode.getId());
+    assertThat(analytics.totalPlays()).isEqualTo(4);
+    assertThat(analytics.commonDropOffPoints())
+        .containsExactly(new DropOffPoint(4, 2, "4:00"), new DropOffPoint(0, 1, "0:00"));
+    assertThat(analytics.averageCompletion()).isEqualTo((250 + 600 + 250 + 30) / 2400.0);
+
+    DropOffHistogram.Snapshot incremental = dropOffHistograms.snapshot(episode.getId());
+    assertThat(incremental.completions()).isEqualTo(1);
+
+    dropOffHistograms.rebuild(episode.getId());
+    DropOffHistogram.Snapshot rebuilt = dropOffHistograms.snapshot(episode.getId());
+    assertThat(rebuilt.listeners()).isEqualTo(incremental.listeners());
+    assertThat(rebuilt.completions()).isEqualTo(incremental.completions());
+    assertThat(rebuilt.positionSecondsSum()).isEqualTo(incremental.positionSecondsSum());
+    assertThat(trimmed(rebuilt.minuteCounts())).isEqualTo(trimmed(incremental.minuteCounts()));
+
+    dropOffHistograms.flush();
+    EpisodeDropOffHistogram stored = histogramRepository.findById(episode.getId()).orElseThrow();
+    assertThat(stored.getListenerCount()).isEqualTo(4);
+    assertThat(stored.getCompletedCount()).isEqualTo(1);
+    assertThat(DropOffHistogram.decodeMinuteCounts(stored.getMinuteCounts()))
+        .containsExactly(1, 0, 0, 0, 2);
+  }
+
+  @Test
+  void positionsAreClampedToTheEpisodeDuration() {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    episode =
+        tx.execute(status -> CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now()));
+    users.add(tx.execute(status -> CatalogTestData.persistUser(em, "dropoff-clamped")));
+
+    episodeProgressService.updateProgress(update(150), users.get(0).getId());
+    userProfileService.updateEpisodeProgress(episode.getId(), Long.MAX_VALUE, users.get(0).getId());
+    progressWriteBuffer.flush();
+
+    DropOffHistogram.Snapshot histogram = dropOffHistograms.snapshot(episode.getId());
+    assertThat(histogram.listeners()).isEqualTo(1);
+    assertThat(histogram.completions()).isEqualTo(1);
+    assertThat(histogram.positionSecondsSum()).isEqualTo(600);
+    assertThat(trimmed(histogram.minuteCounts())).isEmpty();
+  }
+
+  @Test
+  void outOfRangePositionsStayWithinTheBuckets() {
+    DropOffHistogram histogram = DropOffHistogram.empty();
+    OffsetDateTime now = OffsetDateTime.now();
+
+    histogram.apply(null, new StoredProgress(-61, false, now));
+    histogram.apply(null, new StoredProgress(Long.MAX_VALUE / 2, false, now));
+
+    DropOffHistogram.Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.listeners()).isEqualTo(2);
+    assertThat(snapshot.minuteCounts()).hasSizeLessThanOrEqualTo(DropOffHistogram.MAX_MINUTES);
+    assertThat(snapshot.minuteCounts()[0]).isEqualTo(1);
+    assertThat(snapshot.minuteCounts()[DropOffHistogram.MAX_MINUTES - 1]).isEqualTo(1);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    if (episode != null) {
+      jdbcTemplate.update(
+          "DELETE FROM episode_dropoff_histogram WHERE episode_id = ?", episode.getId());
+      jdbcTemplate.update("DELETE FROM episode_progress WHERE episode_id = ?", episode.getId());
+      jdbcTemplate.update("DELETE FROM episodes WHERE id = ?", episode.getId());
+      jdbcTemplate.update("DELETE FROM audios WHERE id = ?", episode.getAudio().getId());
+      jdbcTemplate.update("DELETE FROM articles WHERE id = ?", episode.getArticle().getId());
+    }
+    users.forEach(user -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId()));
+  }
+
+  private EpisodeProgressUpdateDto update(long positionSeconds) {
+    EpisodeProgressUpdateDto dto = new EpisodeProgressUpdateDto();
+    dto.setEpisodeId(episode.getId());
+    dto.setPositionSeconds(positionSeconds);
+    return dto;
+  }
+
+  private static int[] trimmed(int[] minuteCounts) {
+    return DropOffHistogram.decodeMinuteCounts(DropOffHistogram.encodeMinuteCounts(minuteCounts));
+  }
+}
@@ -0,0 +1,203 @@
+package com.shakhbary.arabic_news_podcast.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.cache.EpisodeDetailCache;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeEngagementDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressUpdateDto;
+import com.shakhbary.arabic_news_podcast.exceptions.BadRequestException;
+import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchIndex;
+import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService.EpisodeAnalyticsDto;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeProgressServiceImpl;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeServiceImpl;
+import com.shakhbary.arabic_news_podcast.services.Impl.UserProfileServiceImpl;
+import com.shakhbary.arabic_news_podcast.tracking.ListeningTimeAccumulator;
+import com.shakhbary.arabic_news_podcast.tracking.ProgressWriteBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/** Progress writes must commit for the counting listener to run, so nothing here is rolled back. */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  EngagementCounters.class,
+  DropOffHistograms.class,
+  EpisodeProgressServiceImpl.class,
+  UserProfileServiceImpl.class,
+  EpisodeServiceImpl.class,
+  EpisodeMapperImpl.class,
+  EpisodeSearchIndex.class,
+  EpisodeDetailCache.class,
+  ProgressWriteBuffer.class,
+  ListeningTimeAccumulator.class,
+  SimpleMeterRegistry.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EngagementCountersTest {
+
+  @Autowired private EngagementCounters engagementCounters;
+  @Autowired private EpisodeProgressServiceImpl episodeProgressService;
+  @Autowired private UserProfileServiceImpl userProfileService;
+  @Autowired private ProgressWriteBuffer progressWriteBuffer;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestEntityManager em;
+
+  private final List<User> users = new ArrayList<>();
+  private final List<Episode> episodes = new ArrayList<>();
+
+  @Test
+  void countsPlaysListenersCompletionsAndSecondsAcrossFlushes() {
+    Episode episode = persistEpisode("Popular");
+    Episode other = persistEpisode("Quiet");
+    User first = persistUser("engagement-first");
+    User second = persistUser("engagement-second");
+
+    episodeProgressService.updateProgress(update(episode, 100), first.getId()); // listener, play
+    episodeProgressService.updateProgress(update(episode, 300), first.getId());
+    episodeProgressService.updateProgress(update(episode, 20), first.getId()); // restart, play
+    userProfileService.markEpisodeCompleted(episode.getId(), 600, first.getId()); // completion
+    userProfileService.updateEpisodeProgress(episode.getId(), 590, second.getId()); // all three
+    progressWriteBuffer.flush();
+    userProfileService.trackListeningTime(episode.getId(), 120, first.getId());
+    userProfileService.trackListeningTime(episode.getId(), 45, second.getId());
+    episodeProgressService.updateProgress(update(other, 10), first.getId());
+
+    EpisodeAnalyticsDto unflushed = episodeProgressService.getEpisodeAnalytics(episode.getId());
+    assertThat(unflushed.totalPlays()).isEqualTo(3);
+    assertThat(unflushed.uniqueListeners()).isEqualTo(2);
+    assertThat(unflushed.completions()).isEqualTo(2);
+    assertThat(unflushed.totalSecondsListened()).isEqualTo(165);
+
+    // The context (and so the counters) is shared with other test classes
+    assertThat(engagementCounters.flush()).isGreaterThanOrEqualTo(2);
+    assertThat(engagementCounters.pending(episode.getId()))
+        .isEqualTo(new EngagementCounters.Engagement(0, 0, 0, 0));
+    assertThat(episodeProgressService.getEpisodeAnalytics(episode.getId())).isEqualTo(unflushed);
+
+    List<EpisodeEngagementDto> byPlays =
+        episodeProgressService
+            .listEpisodeEngagement("plays", Sort.Direction.DESC, 0, 100)
+            .getContent();
+    assertThat(byPlays)
+        .contains(
+            new EpisodeEngagementDto(episode.getId(), "Popular", 3, 2, 2, 165),
+            new EpisodeEngagementDto(other.getId(), "Quiet", 1, 1, 0, 0));
+    assertThat(byPlays.stream().map(EpisodeEngagementDto::episodeId))
+        .containsSubsequence(episode.getId(), other.getId());
+    assertThat(
+            episodeProgressService
+                .listEpisodeEngagement("completions", Sort.Direction.ASC, 0, 100)
+                .getContent()
+                .stream()
+                .map(EpisodeEngagementDto::episodeId))
+        .containsSubsequence(other.getId(), episode.getId());
+
+    assertThatThrownBy(
+            () -> episodeProgressService.listEpisodeEngagement("title", Sort.Direction.ASC, 0, 20))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void rejectsListeningTimeForUnknownEpisodes() {
+    User user = persistUser("engagement-unknown");
+    UUID unknown = UUID.randomUUID();
+
+    assertThatThrownBy(() -> userProfileService.trackListeningTime(unknown, 30, user.getId()))
+        .isInstanceOf(ResourceNotFoundException.class);
+    assertThat(engagementCounters.pending(unknown))
+        .isEqualTo(new EngagementCounters.Engagement(0, 0, 0, 0));
+  }
+
+  @Test
+  void dropsDeltasOfEpisodesThatNoLongerExistWithoutBlockingTheRest() {
+    Episode episode = persistEpisode("Still here");
+    UUID deleted = UUID.randomUUID();
+    // The schema here is generated from the entities; V6 declares this key on MySQL. Rows left by
+    // other test classes are not checked
+    jdbcTemplate.execute(
+        "ALTER TABLE episode_engagement ADD CONSTRAINT fk_engagement_episode_test "
+            + "FOREIGN KEY (episode_id) REFERENCES episodes(id) NOCHECK");
+    try {
+      engagementCounters.addSecondsListened(episode.getId(), 40);
+      engagementCounters.addSecondsListened(deleted, 25);
+
+      assertThat(engagementCounters.flush()).isGreaterThanOrEqualTo(1);
+
+      assertThat(engagementCounters.pending(deleted))
+          .isEqualTo(new EngagementCounters.Engagement(0, 0, 0, 0));
+      assertThat(
+              jdbcTemplate.queryForObject(
+                  "SELECT seconds_listened FROM episode_engagement WHERE episode_id = ?",
+                  Long.class,
+                  episode.getId()))
+          .isEqualTo(40);
+      engagementCounters.addSecondsListened(episode.getId(), 5);
+      assertThat(engagementCounters.flush()).isEqualTo(1);
+    } finally {
+      jdbcTemplate.execute(
+          "ALTER TABLE episode_engagement DROP CONSTRAINT fk_engagement_episode_test");
+    }
+  }
+
+  @AfterEach
+  void cleanUp() {
+    for (Episode episode : episodes) {
+      jdbcTemplate.update("DELETE FROM episode_engagement WHERE episode_id = ?", episode.getId());
+      jdbcTemplate.update(
+          "DELETE FROM episode_dropoff_histogram WHERE episode_id = ?", episode.getId());
+      jdbcTemplate.update("DELETE FROM episode_progress WHERE episode_id = ?", episode.getId());
+      jdbcTemplate.update("DELETE FROM episodes WHERE id = ?", episode.getId());
+      jdbcTemplate.update("DELETE FROM audios WHERE id = ?", episode.getAudio().getId());
+      jdbcTemplate.update("DELETE FROM articles WHERE id = ?", episode.getArticle().getId());
+    }
+    users.forEach(user -> jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId()));
+  }
+
+  private Episode persistEpisode(String title) {
+    Episode episode =
+        new TransactionTemplate(transactionManager)
+            .execute(status -> CatalogTestData.persistEpisode(em, title, OffsetDateTime.now()));
+    episodes.add(episode);
+    return episode;
+  }
+
+  private User persistUser(String username) {
+    User user =
+        new TransactionTemplate(transactionManager)
+            .execute(status -> CatalogTestData.persistUser(em, username));
+    users.add(user);
+    return user;
+  }
+
+  private static EpisodeProgressUpdateDto update(Episode episode, long positionSeconds) {
+    EpisodeProgressUpdateDto dto = new EpisodeProgressUpdateDto();
+    dto.setEpisodeId(episode.getId());
+    dto.setPositionSeconds(positionSeconds);
+    return dto;
+  }
+}
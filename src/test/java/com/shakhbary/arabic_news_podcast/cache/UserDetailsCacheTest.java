@@ -0,0 +1,113 @@
+package com.shakhbary.arabic_news_podcast.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.UserRepository;
+import com.shakhbary.arabic_news_podcast.services.Impl.UserServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+/**
+ * Authenticates through the application's security filter chain with HTTP Basic, against a public
+ * lookup of a missing episode so that no entity other than the user would be loaded.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+class UserDetailsCacheTest {
+
+  @Autowired private MockMvc mockMvc;
+  @Autowired private UserDetailsCache userDetailsCache;
+  @Autowired private UserServiceImpl userService;
+  @Autowired private UserRepository userRepository;
+  @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private MeterRegistry meterRegistry;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private User user;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+    user = new User();
+    user.setUsername("cached-" + UUID.randomUUID());
+    user.setEmail(user.getUsername() + "@example.com");
+    user.setPassword(passwordEncoder.encode("secret"));
+    user.setCreationDate(OffsetDateTime.now());
+    user = userRepository.save(user);
+  }
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteById(user.getId());
+    userDetailsCache.removeUserFromCache(user.getUsername());
+  }
+
+  @Test
+  void repeatedBasicAuthenticationIsServedFromTheCache() throws Exception {
+    basicRequest("secret").andExpect(status().isNotFound());
+    statistics.clear();
+    double hitsBefore = cacheHits();
+
+    basicRequest("secret").andExpect(status().isNotFound());
+    basicRequest("secret").andExpect(status().isNotFound());
+
+    assertThat(statistics.getEntityLoadCount()).isZero(); // neither the user nor its roles
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+    assertThat(cacheHits() - hitsBefore).isEqualTo(2);
+    basicRequest("wrong").andExpect(status().isUnauthorized());
+  }
+
+  @Test
+  void disablingAUserDropsTheCachedEntry() throws Exception {
+    basicRequest("secret").andExpect(status().isNotFound());
+    assertThat(userDetailsCache.getUserFromCache(user.getUsername())).isNotNull();
+
+    userService.setUserEnabled(user.getId(), false);
+
+    assertThat(userDetailsCache.getUserFromCache(user.getUsername())).isNull();
+    basicRequest("secret").andExpect(status().isUnauthorized());
+  }
+
+  private double cacheHits() {
+    return meterRegistry
+        .get("cache.gets")
+        .tag("cache", UserDetailsCache.CACHE_NAME)
+        .tag("result", "hit")
+        .functionCounter()
+        .count();
+  }
+
+  private ResultActions basicRequest(String password) throws Exception {
+    String credentials = user.getUsername() + ":" + password;
+    return mockMvc.perform(
+        get("/api/episodes/{id}", UUID.randomUUID())
+            .header(
+                HttpHeaders.AUTHORIZATION,
+                "Basic "
+                    + Base64.getEncoder()
+                        .encodeToString(credentials.getBytes(StandardCharsets.UTF_8))));
+  }
+}
@@ -0,0 +1,71 @@
+package com.shakhbary.arabic_news_podcast.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+class AccessTokenAuthenticationFilterTest {
+
+  private final AccessTokenService accessTokenService =
+      new AccessTokenService("", "", Duration.ofMinutes(15), Duration.ofDays(1));
+  private final AccessTokenAuthenticationFilter filter =
+      new AccessTokenAuthenticationFilter(accessTokenService);
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void validBearerTokenAuthenticatesTheRequest() throws Exception {
+    UUID userId = UUID.randomUUID();
+    String token =
+        accessTokenService
+            .issue(userId, "listener", List.of(new SimpleGrantedAuthority("ROLE_USER")))
+            .value();
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/progress");
+    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    MockFilterChain chain = new MockFilterChain();
+
+    filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+    Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+    assertThat(chain.getRequest()).isNotNull();
+    assertThat(authentication.isAuthenticated()).isTrue();
+    assertThat(((AppUserPrincipal) authentication.getPrincipal()).getId()).isEqualTo(userId);
+  }
+
+  @Test
+  void invalidBearerTokenIsRejectedAndBasicRequestsPassThrough() throws Exception {
+    MockHttpServletRequest bearer = new MockHttpServletRequest("GET", "/api/progress");
+    bearer.addHeader(HttpHeaders.AUTHORIZATION, "Bearer not-a-token");
+    MockHttpServletResponse rejected = new MockHttpServletResponse();
+    MockFilterChain rejectedChain = new MockFilterChain();
+
+    filter.doFilter(bearer, rejected, rejectedChain);
+
+    assertThat(rejected.getStatus()).isEqualTo(401);
+    assertThat(rejected.getHeader(HttpHeaders.WWW_AUTHENTICATE)).startsWith("Bearer");
+    assertThat(rejectedChain.getRequest()).isNull();
+
+    MockHttpServletRequest basic = new MockHttpServletRequest("GET", "/api/progress");
+    basic.addHeader(HttpHeaders.AUTHORIZATION, "Basic YWRtaW46c2VjcmV0");
+    MockFilterChain basicChain = new MockFilterChain();
+
+    filter.doFilter(basic, new MockHttpServletResponse(), basicChain);
+
+    assertThat(basicChain.getRequest()).isNotNull();
+    assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+  }
+}
@@ -0,0 +1,91 @@
+package com.shakhbary.arabic_news_podcast.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class AccessTokenServiceTest {
+
+  private static final String OLD_KEY = "old:" + secret('a');
+  private static final String NEW_KEY = "new:" + secret('b');
+  private static final Duration TTL = Duration.ofMinutes(15);
+  private static final Duration GRACE = Duration.ofDays(1);
+
+  private final UUID userId = UUID.randomUUID();
+  private final List<GrantedAuthority> roles =
+      List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"));
+
+  @Test
+  void issuedTokenVerifiesToThePrincipalItWasIssuedFor() {
+    AccessTokenService service = new AccessTokenService(OLD_KEY, "", TTL, GRACE);
+
+    AccessTokenService.IssuedToken token = service.issue(userId, "name|with|pipes", roles);
+    AppUserPrincipal principal = service.verify(token.value()).orElseThrow();
+
+    assertThat(token.value()).startsWith("old.");
+    assertThat(principal.getId()).isEqualTo(userId);
+    assertThat(principal.getUsername()).isEqualTo("name|with|pipes");
+    assertThat(principal.getPassword()).isNull();
+    assertThat(principal.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactlyInAnyOrder("ROLE_USER", "ROLE_ADMIN");
+  }
+
+  @Test
+  void tamperedMalformedAndUnknownKeyTokensAreRejected() {
+    AccessTokenService service = new AccessTokenService(OLD_KEY, "", TTL, GRACE);
+    String token = service.issue(userId, "listener", roles).value();
+    String[] parts = token.split("\\.");
+    String forgedPayload =
+        Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(
+                (userId + "|" + Long.MAX_VALUE + "|ROLE_ADMIN|listener")
+                    .getBytes(StandardCharsets.UTF_8));
+
+    assertThat(service.verify(parts[0] + "." + forgedPayload + "." + parts[2])).isEmpty();
+    assertThat(service.verify("new." + parts[1] + "." + parts[2])).isEmpty();
+    assertThat(service.verify("garbage")).isEmpty();
+    assertThat(service.verify(parts[0] + ".%%%." + parts[2])).isEmpty();
+    assertThat(new AccessTokenService(NEW_KEY, "", TTL, GRACE).verify(token)).isEmpty();
+  }
+
+  @Test
+  void expiredTokensAreOnlyAcceptedForRefreshWithinTheGracePeriod() {
+    AccessTokenService service = new AccessTokenService(OLD_KEY, "", TTL, GRACE);
+    Instant issuedAt = Instant.now().minus(TTL).minusSeconds(60);
+    String token = service.issue(userId, "listener", roles, issuedAt).value();
+
+    assertThat(service.verify(token)).isEmpty();
+    assertThat(service.verifyForRefresh(token)).isPresent();
+    assertThat(service.verify(token, issuedAt.plus(TTL).plus(GRACE), GRACE)).isEmpty();
+  }
+
+  @Test
+  void rotatedKeysKeepVerifyingTokensSignedBeforeTheSwitch() {
+    String oldToken =
+        new AccessTokenService(OLD_KEY, "", TTL, GRACE).issue(userId, "listener", roles).value();
+
+    AccessTokenService rotated = new AccessTokenService(OLD_KEY + "," + NEW_KEY, "new", TTL, GRACE);
+
+    assertThat(rotated.verify(oldToken)).isPresent();
+    assertThat(rotated.issue(userId, "listener", roles).value()).startsWith("new.");
+    assertThatThrownBy(() -> new AccessTokenService(OLD_KEY, "missing", TTL, GRACE))
+        .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new AccessTokenService("short:c2hvcnQ=", "", TTL, GRACE))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static String secret(char fill) {
+    return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes());
+  }
+}
@@ -0,0 +1,58 @@
+package com.shakhbary.arabic_news_podcast.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.models.Role;
+import com.shakhbary.arabic_news_podcast.models.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(CustomUserDetailsService.class)
+class CustomUserDetailsServiceTest {
+
+  @Autowired private CustomUserDetailsService userDetailsService;
+  @Autowired private TestEntityManager em;
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void authenticatedPrincipalCarriesUserIdAndKeepsItsPassword() {
+    User user = CatalogTestData.persistUser(em, "listener");
+    user.setPassword("secret");
+    Role role = new Role();
+    role.setName("ROLE_USER");
+    user.getRoles().add(em.persist(role));
+    em.flush();
+    em.clear();
+
+    DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+    provider.setPasswordEncoder(NoOpPasswordEncoder.getInstance());
+    Authentication authentication =
+        new ProviderManager(provider)
+            .authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("listener", "secret"));
+
+    AppUserPrincipal principal = (AppUserPrincipal) authentication.getPrincipal();
+    assertThat(principal.getId()).isEqualTo(user.getId());
+    assertThat(principal.getAuthorities())
+        .extracting(GrantedAuthority::getAuthority)
+        .containsExactly("ROLE_USER");
+    // Credentials are erased from the token, never from the principal
+    assertThat(authentication.getCredentials()).isNull();
+    assertThat(principal.getPassword()).isEqualTo("secret");
+  }
+}
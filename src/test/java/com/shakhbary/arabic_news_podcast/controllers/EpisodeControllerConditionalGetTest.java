@@ -0,0 +1,88 @@
+package com.shakhbary.arabic_news_podcast.controllers;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.events.RatingChangedEvent;
+import com.shakhbary.arabic_news_podcast.feed.CatalogVersion;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import com.shakhbary.arabic_news_podcast.services.EpisodeService;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class EpisodeControllerConditionalGetTest {
+
+  private final UUID episodeId = UUID.randomUUID();
+  private EpisodeService episodeService;
+  private CatalogVersion catalogVersion;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    episodeService = mock(EpisodeService.class);
+    catalogVersion =
+        new CatalogVersion(
+            mock(EpisodeRepository.class), mock(EpisodeRatingSummaryRepository.class));
+    EpisodeController controller =
+        new EpisodeController(
+            episodeService, new CatalogResponses(catalogVersion, Duration.ofSeconds(60)));
+    mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+    EpisodeDto episode = new EpisodeDto();
+    episode.setId(episodeId);
+    when(episodeService.getEpisode(any())).thenReturn(episode);
+  }
+
+  @Test
+  void returnsNotModifiedWithoutCallingTheServiceWhenEtagMatches() throws Exception {
+    String etag =
+        mockMvc
+            .perform(get("/api/episodes/{id}", episodeId))
+            .andExpect(status().isOk())
+            .andExpect(
+                header().string(HttpHeaders.CACHE_CONTROL, "max-age=60, must-revalidate, public"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    mockMvc
+        .perform(get("/api/episodes/{id}", episodeId).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+    verify(episodeService, times(1)).getEpisode(episodeId);
+  }
+
+  @Test
+  void catalogChangeInvalidatesTheEtag() throws Exception {
+    String etag =
+        mockMvc
+            .perform(get("/api/episodes/{id}", episodeId))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+    catalogVersion.onRatingChanged(
+        new RatingChangedEvent(episodeId, UUID.randomUUID(), 5, null, OffsetDateTime.now()));
+
+    mockMvc
+        .perform(get("/api/episodes/{id}", episodeId).header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk());
+    verify(episodeService, times(2)).getEpisode(episodeId);
+  }
+}
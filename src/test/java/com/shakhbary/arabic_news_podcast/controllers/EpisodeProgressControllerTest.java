@@ -0,0 +1,73 @@
+package com.shakhbary.arabic_news_podcast.controllers;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.shakhbary.arabic_news_podcast.config.AppUserPrincipal;
+import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService;
+import com.shakhbary.arabic_news_podcast.services.UserProfileService;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.web.method.annotation.AuthenticationPrincipalArgumentResolver;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+class EpisodeProgressControllerTest {
+
+  private final UUID episodeId = UUID.randomUUID();
+  private final AppUserPrincipal principal =
+      new AppUserPrincipal(UUID.randomUUID(), "listener", null, true, Set.of());
+  private UserProfileService userProfileService;
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    userProfileService = mock(UserProfileService.class);
+    EpisodeProgressController controller =
+        new EpisodeProgressController(mock(EpisodeProgressService.class), userProfileService);
+    mockMvc =
+        MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setCustomArgumentResolvers(new AuthenticationPrincipalArgumentResolver())
+            .build();
+    SecurityContextHolder.getContext()
+        .setAuthentication(
+            UsernamePasswordAuthenticationToken.authenticated(principal, null, Set.of()));
+  }
+
+  @AfterEach
+  void clearContext() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  void rejectsNegativePositions() throws Exception {
+    for (String endpoint : new String[] {"position", "complete"}) {
+      mockMvc
+          .perform(
+              post("/api/progress/episodes/{id}/" + endpoint, episodeId)
+                  .param("positionSeconds", "-61"))
+          .andExpect(status().isBadRequest())
+          .andExpect(jsonPath("$.fieldErrors.positionSeconds").exists());
+    }
+    verifyNoInteractions(userProfileService);
+  }
+
+  @Test
+  void acceptsPositionsFromZero() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/progress/episodes/{id}/position", episodeId).param("positionSeconds", "0"))
+        .andExpect(status().isNoContent());
+    verify(userProfileService).updateEpisodeProgress(episodeId, 0L, principal.getId());
+  }
+}
@@ -0,0 +1,107 @@
+package com.shakhbary.arabic_news_podcast.feed;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.events.RatingChangedEvent;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import com.shakhbary.arabic_news_podcast.services.EpisodeService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DailyFeedSnapshotHolderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private EpisodeService episodeService;
+  private CatalogVersion catalogVersion;
+  private DailyFeedSnapshotHolder holder;
+
+  @BeforeEach
+  void setUp() {
+    episodeService = mock(EpisodeService.class);
+    catalogVersion =
+        new CatalogVersion(
+            mock(EpisodeRepository.class), mock(EpisodeRatingSummaryRepository.class));
+    holder =
+        new DailyFeedSnapshotHolder(episodeService, objectMapper, catalogVersion, meterRegistry);
+  }
+
+  @Test
+  void servesSlicesFromOneSnapshotWithoutFurtherServiceCalls() throws Exception {
+    List<EpisodeDto> episodes =
+        IntStream.range(0, 4)
+            .mapToObj(
+                i -> {
+                  EpisodeDto dto = new EpisodeDto();
+                  dto.setId(UUID.randomUUID());
+                  dto.setTitle("Episode " + i);
+                  return dto;
+                })
+            .toList();
+    when(episodeService.listDailyEpisodes(DailyFeedSnapshotHolder.MAX_LIMIT)).thenReturn(episodes);
+
+    JsonNode two = objectMapper.readTree(holder.current().slice(2));
+    JsonNode all = objectMapper.readTree(holder.current().slice(10));
+
+    assertThat(two).hasSize(2);
+    assertThat(two.get(0).get("title").asText()).isEqualTo("Episode 0");
+    assertThat(all).hasSize(4);
+    verify(episodeService, times(1)).listDailyEpisodes(DailyFeedSnapshotHolder.MAX_LIMIT);
+  }
+
+  @Test
+  void exposesSnapshotAgeMetric() {
+    when(episodeService.listDailyEpisodes(DailyFeedSnapshotHolder.MAX_LIMIT)).thenReturn(List.of());
+
+    holder.rebuild();
+
+    double age = meterRegistry.get("podcast.daily_feed.snapshot.age").gauge().value();
+    assertThat(age).isBetween(0.0, 5.0);
+  }
+
+  @Test
+  void snapshotCarriesTheCatalogVersionItWasBuiltFrom() {
+    when(episodeService.listDailyEpisodes(DailyFeedSnapshotHolder.MAX_LIMIT)).thenReturn(List.of());
+    long before = holder.rebuild().catalogVersion();
+
+    catalogVersion.onRatingChanged(
+        new RatingChangedEvent(
+            UUID.randomUUID(), UUID.randomUUID(), 4, null, OffsetDateTime.now()));
+
+    assertThat(holder.rebuild().catalogVersion()).isEqualTo(before + 1);
+  }
+
+  @Test
+  void dayChangeGivesTheFeedNewValidatorsWithoutACatalogChange() {
+    when(episodeService.listDailyEpisodes(DailyFeedSnapshotHolder.MAX_LIMIT)).thenReturn(List.of());
+    LocalDate tomorrow = LocalDate.now().plusDays(1);
+    DailyFeedSnapshot today = holder.rebuild();
+
+    DailyFeedSnapshot rolledOver = holder.current(tomorrow);
+
+    assertThat(rolledOver.day()).isEqualTo(tomorrow);
+    assertThat(rolledOver.catalogVersion()).isEqualTo(today.catalogVersion());
+    assertThat(catalogVersion.etagFor(rolledOver.catalogVersion(), rolledOver.day()))
+        .isNotEqualTo(catalogVersion.etagFor(today.catalogVersion(), today.day()));
+    assertThat(rolledOver.lastModified())
+        .isEqualTo(tomorrow.atStartOfDay(ZoneId.systemDefault()).toInstant())
+        .isAfter(today.lastModified());
+    verify(episodeService, times(2)).listDailyEpisodes(DailyFeedSnapshotHolder.MAX_LIMIT);
+  }
+}
@@ -0,0 +1,91 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class AgentEpisodeStreamReaderTest {
+
+  private final AgentEpisodeStreamReader reader =
+      new AgentEpisodeStreamReader(new ObjectMapper().findAndRegisterModules());
+
+  private final List<String> accepted = new ArrayList<>();
+  private final List<String> rejected = new ArrayList<>();
+
+  private final AgentEpisodeStreamReader.Handler handler =
+      new AgentEpisodeStreamReader.Handler() {
+        @Override
+        public void accept(int index, CreateSampleDto episode) {
+          accepted.add(index + ":" + episode.getEpisodeDto().getTitle());
+        }
+
+        @Override
+        public void reject(int index, JsonNode episode, String error) {
+          rejected.add(index + ":" + AgentEpisodeStreamReader.titleOf(episode));
+        }
+      };
+
+  @Test
+  void readsNdjsonLineByLine() throws IOException {
+    String body = episode("One") + "\n" + episode("Two") + "\n\n" + episode("Three") + "\n";
+
+    assertThat(read(body, true)).isEqualTo(3);
+    assertThat(accepted).containsExactly("0:One", "1:Two", "2:Three");
+  }
+
+  @Test
+  void readsBareArraysAndEnvelopes() throws IOException {
+    assertThat(read("[" + episode("One") + "," + episode("Two") + "]", false)).isEqualTo(2);
+    assertThat(
+            read(
+                "{\"success\": true, \"message\": {\"ignored\": [1]}, \"episodes\": ["
+                    + episode("Three")
+                    + "], \"count\": 1}",
+                false))
+        .isEqualTo(1);
+    assertThat(accepted).containsExactly("0:One", "1:Two", "0:Three");
+  }
+
+  @Test
+  void rejectsUnmappableEpisodesWithoutStopping() throws IOException {
+    String unmappable = "{\"episode\": {\"title\": \"Bad\"}, \"audio\": {\"duration\": \"long\"}}";
+
+    assertThat(
+            read("[" + episode("One") + "," + unmappable + ", 42," + episode("Two") + "]", false))
+        .isEqualTo(4);
+    assertThat(accepted).containsExactly("0:One", "3:Two");
+    assertThat(rejected).containsExactly("1:Bad", "2:null");
+  }
+
+  @Test
+  void failsOnReportedFailuresAndMalformedStreams() {
+    assertThatThrownBy(() -> read("{\"success\": false, \"episodes\": []}", false))
+        .hasMessage("Agent processing failed");
+    assertThatThrownBy(() -> read("{\"episodes\": [" + episode("One") + "]}", false))
+        .hasMessage("Agent processing failed");
+    assertThatThrownBy(() -> read("[" + episode("One") + ",", false))
+        .isInstanceOf(IOException.class);
+    // Episodes read before the stream broke were still handed over
+    assertThat(accepted).containsExactly("0:One", "0:One");
+  }
+
+  private int read(String body, boolean ndjson) throws IOException {
+    return reader.read(
+        new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), ndjson, handler);
+  }
+
+  private static String episode(String title) {
+    return "{\"episode\": {\"title\": \""
+        + title
+        + "\"}, \"article\": {\"title\": \"Article\"}, \"audio\": {\"duration\": 60}}";
+  }
+}
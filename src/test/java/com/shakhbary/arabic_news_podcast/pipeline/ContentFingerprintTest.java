@@ -0,0 +1,66 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.shakhbary.arabic_news_podcast.repositories.ArticleRepository;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ContentFingerprintTest {
+
+  @Test
+  void ignoresCaseWhitespaceAndTrailingSlashes() {
+    String fingerprint =
+        ContentFingerprint.of("https://news.example/a/1", "عنوان الخبر", "Publisher");
+
+    assertThat(fingerprint).hasSize(64).matches("[0-9a-f]+");
+    assertThat(
+            ContentFingerprint.of(" HTTPS://news.example/A/1// ", "عنوان   الخبر\n", "PUBLISHER"))
+        .isEqualTo(fingerprint);
+    assertThat(ContentFingerprint.of("https://news.example/a/1", "عنوان الخبر", "Other"))
+        .isNotEqualTo(fingerprint);
+    assertThat(ContentFingerprint.of("https://news.example/a/1", "عنوان الخبر", null))
+        .isEqualTo(ContentFingerprint.of("https://news.example/a/1", "عنوان الخبر", " "));
+  }
+
+  @Test
+  void treatsUnicodeSpacesAsWhitespaceAsTheMigrationDoes() {
+    String fingerprint =
+        ContentFingerprint.of("https://news.example/a/1", "عنوان الخبر", "Publisher");
+
+    assertThat(
+            ContentFingerprint.of(
+                "https://news.example/a/1\u00A0", "\u00A0عنوان\u00A0الخبر\u3000", "Publisher"))
+        .isEqualTo(fingerprint);
+    // Only spaces are trimmed, so other control characters stay significant
+    assertThat(ContentFingerprint.of("https://news.example/a/1", "عنوان الخبر\u001F", "Publisher"))
+        .isNotEqualTo(fingerprint);
+  }
+
+  @Test
+  void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+    List<String> stored =
+        IntStream.range(0, 1_000)
+            .mapToObj(i -> ContentFingerprint.of("url" + i, "t", "p"))
+            .toList();
+    ArticleRepository articleRepository = mock(ArticleRepository.class);
+    when(articleRepository.findAllContentFingerprints()).thenReturn(stored.subList(0, 500));
+    ArticleFingerprintFilter filter = new ArticleFingerprintFilter(articleRepository, 1_000, 0.01);
+
+    assertThat(filter.mightContain(ContentFingerprint.of("other", "t", "p")))
+        .isTrue(); // not loaded
+    filter.rebuild();
+    stored.subList(500, 1_000).forEach(filter::add);
+
+    assertThat(stored).allMatch(filter::mightContain);
+    long falsePositives =
+        IntStream.range(0, 10_000)
+            .mapToObj(i -> ContentFingerprint.of("other" + i, "t", "p"))
+            .filter(filter::mightContain)
+            .count();
+    assertThat(falsePositives).isLessThan(300); // 1% expected
+  }
+}
@@ -0,0 +1,298 @@
+package com.shakhbary.arabic_news_podcast.pipeline;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeFailureDto;
+import com.shakhbary.arabic_news_podcast.dtos.PipelineJobDto;
+import com.shakhbary.arabic_news_podcast.exceptions.DuplicateResourceException;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.IngestDeadLetter;
+import com.shakhbary.arabic_news_podcast.repositories.IngestDeadLetterRepository;
+import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeAutomationServiceImpl;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Jobs run on their own thread and commit each episode separately, so nothing here is rolled back.
+ * The agent is a local HTTP stub that holds its response until the test releases it.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({
+  PipelineJobs.class,
+  AgentEpisodeStreamReader.class,
+  ArticleFingerprintFilter.class,
+  EpisodeAutomationServiceImpl.class,
+  EpisodeMapperImpl.class
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PipelineJobsTest {
+
+  private static final String VALID_TITLE = "Pipeline job episode";
+
+  private static final String VALID_EPISODE =
+      """
+      {"episode": {"title": "%s", "description": "d", "scriptUrlPath": "https://storage/s1"},
+       "article": {"title": "Article", "category": "sports", "contentRawUrl": "https://storage/r1",
+                   "scriptUrl": "https://storage/s1"},
+       "audio": {"duration": 300, "format": "mp3", "urlPath": "https://storage/a1"}}"""
+          .formatted(VALID_TITLE);
+
+  private static final String INVALID_EPISODE =
+      """
+      {"episode": {"title": "Missing article title", "scriptUrlPath": "https://storage/s2"},
+       "article": {"category": "sports", "contentRawUrl": "https://storage/r2",
+                   "scriptUrl": "https://storage/s2"},
+       "audio": {"duration": 300, "format": "mp3", "urlPath": "https://storage/a2"}}""";
+
+  private static final String ENVELOPE_RESPONSE =
+      "{\"success\": true, \"episodes\": [" + VALID_EPISODE + "," + INVALID_EPISODE + "]}";
+
+  private static final HttpServer agent = startAgent();
+  private static volatile CountDownLatch release = new CountDownLatch(0);
+  private static volatile int agentStatus = 200;
+  private static volatile boolean ndjson = false;
+  private static final AtomicInteger agentCalls = new AtomicInteger();
+
+  @Autowired private PipelineJobs pipelineJobs;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private IngestDeadLetterRepository ingestDeadLetterRepository;
+
+  @DynamicPropertySource
+  static void agentUrl(DynamicPropertyRegistry registry) {
+    registry.add(
+        "agent.base.url", () -> "http://localhost:" + agent.getAddress().getPort() + "/api");
+    // Commit every episode as it arrives, so progress is observable mid-stream
+    registry.add("app.pipeline.chunk-size", () -> "1");
+  }
+
+  @Test
+  void runsInTheBackgroundRejectsDuplicatesAndReportsPerEpisodeFailures() throws Exception {
+    release = new CountDownLatch(1);
+    agentStatus = 200;
+    ndjson = false;
+    int callsBefore = agentCalls.get();
+
+    PipelineJob job = pipelineJobs.submit();
+    assertThat(job.snapshot().status()).isIn(PipelineJob.Status.QUEUED, PipelineJob.Status.RUNNING);
+    assertThatThrownBy(() -> pipelineJobs.submit()).isInstanceOf(DuplicateResourceException.class);
+    assertThat(pipelineJobs.find(job.getId())).containsSame(job);
+
+    awaitAgentCall(callsBefore);
+    PipelineJobDto running = job.snapshot();
+    assertThat(running.status()).isEqualTo(PipelineJob.Status.RUNNING);
+    assertThat(running.stage()).isEqualTo(PipelineJob.Stage.CALLING_AGENT);
+    assertThat(running.startedAt()).isNotNull();
+    assertThat(running.finishedAt()).isNull();
+
+    release.countDown();
+    PipelineJobDto finished = awaitFinished(job);
+
+    assertThat(finished.status()).isEqualTo(PipelineJob.Status.SUCCEEDED);
+    assertThat(finished.stage()).isEqualTo(PipelineJob.Stage.PERSISTING);
+    assertThat(finished.episodesReceived()).isEqualTo(2);
+    assertThat(finished.episodesPersisted()).isEqualTo(1);
+    assertThat(finished.failures())
+        .singleElement()
+        .satisfies(
+            failure -> {
+              assertThat(failure.index()).isEqualTo(1);
+              assertThat(failure.title()).isEqualTo("Missing article title");
+            });
+    assertThat(ingestDeadLetterRepository.findByJobIdOrderByItemIndex(job.getId()))
+        .singleElement()
+        .satisfies(
+            letter -> {
+              assertThat(letter.getSource()).isEqualTo(IngestDeadLetter.Source.PIPELINE);
+              assertThat(letter.getItemIndex()).isEqualTo(1);
+              assertThat(letter.getPayload()).contains("\"title\":\"Missing article title\"");
+              assertThat(letter.getError()).isNotBlank();
+            });
+    assertThat(finished.error()).isNull();
+    assertThat(finished.finishedAt()).isAfterOrEqualTo(finished.startedAt());
+    assertThat(finished.durationMillis()).isNotNull();
+    // The failed episode's transaction was rolled back without affecting the saved one
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM episodes WHERE title IN (?, ?)",
+                Integer.class,
+                VALID_TITLE,
+                "Missing article title"))
+        .isEqualTo(1);
+
+    // Once finished, a new run is accepted; re-ingesting the same response creates nothing new
+    PipelineJobDto rerun = awaitFinished(pipelineJobs.submit());
+    assertThat(rerun.status()).isEqualTo(PipelineJob.Status.SUCCEEDED);
+    assertThat(rerun.episodesPersisted()).isZero();
+    assertThat(rerun.episodesDeduplicated()).isEqualTo(1);
+  }
+
+  @Test
+  void failsTheJobWhenTheAgentFails() throws Exception {
+    release = new CountDownLatch(0);
+    agentStatus = 503;
+    ndjson = false;
+
+    PipelineJobDto finished = awaitFinished(pipelineJobs.submit());
+
+    assertThat(finished.status()).isEqualTo(PipelineJob.Status.FAILED);
+    assertThat(finished.stage()).isEqualTo(PipelineJob.Stage.CALLING_AGENT);
+    assertThat(finished.error()).startsWith("Agent not responding");
+    assertThat(finished.episodesPersisted()).isZero();
+  }
+
+  @Test
+  void failsTheJobAndAcceptsTheNextOneWhenTheRunDiesWithAnError() throws Exception {
+    EpisodeAutomationService automation = mock(EpisodeAutomationService.class);
+    doThrow(new StackOverflowError()).doReturn(null).when(automation).runDailyPipeline(any());
+    PipelineJobs jobs = new PipelineJobs(automation, 50);
+    try {
+      PipelineJobDto aborted = awaitFinished(jobs.submit());
+      assertThat(aborted.status()).isEqualTo(PipelineJob.Status.FAILED);
+      assertThat(aborted.error()).contains("StackOverflowError");
+
+      assertThat(awaitFinished(jobs.submit()).status()).isEqualTo(PipelineJob.Status.SUCCEEDED);
+    } finally {
+      jobs.shutdown();
+    }
+  }
+
+  @Test
+  void persistsStreamedEpisodesBeforeTheAgentHasFinished() throws Exception {
+    release = new CountDownLatch(1);
+    agentStatus = 200;
+    ndjson = true;
+
+    PipelineJob job = pipelineJobs.submit();
+
+    // The agent holds back the second line until released; the first is already saved
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+    while (job.snapshot().episodesPersisted() == 0 && Instant.now().isBefore(deadline)) {
+      Thread.sleep(10);
+    }
+    PipelineJobDto streaming = job.snapshot();
+    assertThat(streaming.status()).isEqualTo(PipelineJob.Status.RUNNING);
+    assertThat(streaming.stage()).isEqualTo(PipelineJob.Stage.PERSISTING);
+    assertThat(streaming.episodesReceived()).isEqualTo(1);
+    assertThat(streaming.episodesPersisted()).isEqualTo(1);
+
+    release.countDown();
+    PipelineJobDto finished = awaitFinished(job);
+
+    assertThat(finished.status()).isEqualTo(PipelineJob.Status.SUCCEEDED);
+    assertThat(finished.episodesReceived()).isEqualTo(3);
+    // The third line repeats the first episode's article
+    assertThat(finished.episodesPersisted()).isEqualTo(1);
+    assertThat(finished.episodesDeduplicated()).isEqualTo(1);
+    assertThat(finished.failures()).extracting(EpisodeFailureDto::index).containsExactly(1);
+  }
+
+  @AfterEach
+  void cleanUp() {
+    release.countDown();
+    jdbcTemplate.update("DELETE FROM ingest_dead_letters WHERE source = 'PIPELINE'");
+    jdbcTemplate.update("DELETE FROM episodes WHERE title = ?", VALID_TITLE);
+    jdbcTemplate.update("DELETE FROM audios WHERE url_path = 'https://storage/a1'");
+    jdbcTemplate.update(
+        "DELETE FROM articles WHERE content_raw_url IN ('https://storage/r1', 'https://storage/r2')");
+  }
+
+  @AfterAll
+  static void stopAgent() {
+    agent.stop(0);
+  }
+
+  private static void awaitAgentCall(int callsBefore) throws InterruptedException {
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+    while (agentCalls.get() == callsBefore && Instant.now().isBefore(deadline)) {
+      Thread.sleep(10);
+    }
+  }
+
+  private static PipelineJobDto awaitFinished(PipelineJob job) throws InterruptedException {
+    Instant deadline = Instant.now().plus(Duration.ofSeconds(10));
+    while (!job.isFinished() && Instant.now().isBefore(deadline)) {
+      Thread.sleep(10);
+    }
+    assertThat(job.isFinished()).as("job finished").isTrue();
+    return job.snapshot();
+  }
+
+  /** Sends one episode per line, holding back everything after the first until released */
+  private static void streamNdjson(HttpExchange exchange) throws IOException {
+    exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+    exchange.sendResponseHeaders(agentStatus, 0); // chunked
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write((VALID_EPISODE.replace('\n', ' ') + "\n").getBytes(StandardCharsets.UTF_8));
+      out.flush();
+      await(release);
+      String rest = INVALID_EPISODE.replace('\n', ' ') + "\n" + VALID_EPISODE.replace('\n', ' ');
+      out.write(rest.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static HttpServer startAgent() {
+    try {
+      HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+      server.createContext(
+          "/api/scrape-and-process-all",
+          exchange -> {
+            agentCalls.incrementAndGet();
+            if (ndjson) {
+              streamNdjson(exchange);
+              return;
+            }
+            await(release);
+            byte[] body = ENVELOPE_RESPONSE.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(agentStatus, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+              out.write(body);
+            }
+          });
+      server.start();
+      return server;
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
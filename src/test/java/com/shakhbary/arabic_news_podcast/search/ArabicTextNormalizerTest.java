@@ -0,0 +1,36 @@
+package com.shakhbary.arabic_news_podcast.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class ArabicTextNormalizerTest {
+
+  @Test
+  void stripsDiacriticsAndTatweel() {
+    assertThat(ArabicTextNormalizer.normalize("الْعَرَبِيَّة")).isEqualTo("العربيه");
+    assertThat(ArabicTextNormalizer.normalize("اقتصـــاد")).isEqualTo("اقتصاد");
+  }
+
+  @Test
+  void unifiesAlefTaaMarbutaAndAlefMaqsura() {
+    assertThat(ArabicTextNormalizer.normalize("أإآٱ")).isEqualTo("اااا");
+    assertThat(ArabicTextNormalizer.normalize("مدرسة")).isEqualTo("مدرسه");
+    assertThat(ArabicTextNormalizer.normalize("مستشفى")).isEqualTo("مستشفي");
+  }
+
+  @Test
+  void stemsArticleAndConjunctionPrefixes() {
+    assertThat(ArabicTextNormalizer.tokenize("الاقتصاد والاقتصاد بالاقتصاد واقتصاد"))
+        .containsOnly("اقتصاد");
+    assertThat(ArabicTextNormalizer.tokenize("بنك")).containsExactly("بنك");
+    assertThat(ArabicTextNormalizer.tokenize("ال")).containsExactly("ال");
+  }
+
+  @Test
+  void tokenizesMixedTextAndLowercasesLatin() {
+    assertThat(ArabicTextNormalizer.tokenize("أخبار NEOM، 2030!"))
+        .containsExactly("اخبار", "neom", "2030");
+    assertThat(ArabicTextNormalizer.tokenize(null)).isEmpty();
+  }
+}
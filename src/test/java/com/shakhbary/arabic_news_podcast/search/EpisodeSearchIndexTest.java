@@ -0,0 +1,95 @@
+package com.shakhbary.arabic_news_podcast.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.events.EpisodeCreatedEvent;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EpisodeSearchIndexTest {
+
+  private final UUID economy = UUID.randomUUID();
+  private final UUID football = UUID.randomUUID();
+  private final UUID mixed = UUID.randomUUID();
+
+  private EpisodeSearchIndex index;
+
+  @BeforeEach
+  void setUp() {
+    EpisodeRepository repository = mock(EpisodeRepository.class);
+    when(repository.findAllSearchDocuments())
+        .thenReturn(
+            List.of(
+                new EpisodeSearchDocument(
+                    economy, "الاقتصاد السعودي", "نمو الاقتصاد هذا العام", "تقرير", "economy"),
+                new EpisodeSearchDocument(
+                    football, "كرة القدم", "نتائج المباريات", "الدوري", "sports"),
+                new EpisodeSearchDocument(
+                    mixed, "أخبار اليوم", "رياضة واقتصاد", "موجز", "general")));
+    index = new EpisodeSearchIndex(repository);
+    index.rebuild();
+  }
+
+  @Test
+  void matchesAcrossOrthographicVariantsAndRanksTitleMatchesFirst() {
+    List<SearchHit> hits = index.search("وَالإقتصاد", null);
+
+    assertThat(hits).extracting(SearchHit::episodeId).containsExactly(economy, mixed);
+    assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+  }
+
+  @Test
+  void matchesTaaMarbutaVariantAndFiltersByCategory() {
+    assertThat(index.search("كره", null))
+        .extracting(SearchHit::episodeId)
+        .containsExactly(football);
+    assertThat(index.search("اقتصاد", "ECONOMY"))
+        .extracting(SearchHit::episodeId)
+        .containsExactly(economy);
+    assertThat(index.search("غير موجود", null)).isEmpty();
+  }
+
+  @Test
+  void indexesCreatedEpisodesIncrementally() {
+    EpisodeDto created = new EpisodeDto();
+    created.setId(UUID.randomUUID());
+    created.setTitle("سوق الأسهم");
+    created.setArticleCategory("economy");
+
+    index.onEpisodeCreated(new EpisodeCreatedEvent(created));
+
+    assertThat(index.search("الاسهم", null))
+        .extracting(SearchHit::episodeId)
+        .containsExactly(created.getId());
+  }
+
+  @Test
+  void keepsEpisodesCreatedWhileARebuildIsRunning() {
+    EpisodeRepository repository = mock(EpisodeRepository.class);
+    EpisodeSearchIndex rebuilding = new EpisodeSearchIndex(repository);
+    UUID created = UUID.randomUUID();
+    when(repository.findAllSearchDocuments())
+        .thenAnswer(
+            invocation -> {
+              // Committed after the rebuild's read, so only the event carries it
+              rebuilding.index(
+                  new EpisodeSearchDocument(created, "سوق الأسهم", null, null, "economy"));
+              return List.of(new EpisodeSearchDocument(economy, "الاقتصاد", null, null, "economy"));
+            });
+
+    rebuilding.rebuild();
+
+    assertThat(rebuilding.search("الاسهم", null))
+        .extracting(SearchHit::episodeId)
+        .containsExactly(created);
+    assertThat(rebuilding.search("اقتصاد", null))
+        .extracting(SearchHit::episodeId)
+        .containsExactly(economy);
+  }
+}
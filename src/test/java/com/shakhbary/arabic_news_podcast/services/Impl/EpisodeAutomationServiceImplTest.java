@@ -0,0 +1,177 @@
+package com.shakhbary.arabic_news_podcast.services.Impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shakhbary.arabic_news_podcast.dtos.ArticleDto;
+import com.shakhbary.arabic_news_podcast.dtos.AudioDto;
+import com.shakhbary.arabic_news_podcast.dtos.CreateSampleDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.IngestDeadLetter;
+import com.shakhbary.arabic_news_podcast.pipeline.AgentEpisodeStreamReader;
+import com.shakhbary.arabic_news_podcast.pipeline.ArticleFingerprintFilter;
+import com.shakhbary.arabic_news_podcast.repositories.IngestDeadLetterRepository;
+import com.shakhbary.arabic_news_podcast.services.EpisodeAutomationService.IngestReport;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({
+  EpisodeAutomationServiceImpl.class,
+  AgentEpisodeStreamReader.class,
+  ArticleFingerprintFilter.class,
+  EpisodeMapperImpl.class
+})
+class EpisodeAutomationServiceImplTest {
+
+  @Autowired private EpisodeAutomationServiceImpl episodeAutomationService;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private TestEntityManager em;
+  @Autowired private IngestDeadLetterRepository ingestDeadLetterRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private ArticleFingerprintFilter articleFingerprintFilter;
+
+  @BeforeEach
+  void loadFingerprintFilter() {
+    articleFingerprintFilter.rebuild(); // normally on ApplicationReadyEvent
+  }
+
+  @Test
+  void bulkCreationBatchesInsertsPerTableAndChunk() {
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    List<CreateSampleDto> samples =
+        IntStream.range(0, 250).mapToObj(i -> sample("Bulk " + i)).toList();
+
+    long before = statistics.getPrepareStatementCount();
+    List<EpisodeDto> created = episodeAutomationService.createBulkEpisodes(samples).created();
+    long statements = statistics.getPrepareStatementCount() - before;
+
+    // Three chunks of at most 100, each one batched insert per table; the Bloom filter rules out
+    // duplicates of new articles without a lookup
+    assertThat(statements).isEqualTo(9);
+    assertThat(created).hasSize(250);
+    assertThat(created).extracting(EpisodeDto::getTitle).startsWith("Bulk 0", "Bulk 1");
+    assertThat(created).allSatisfy(dto -> assertThat(dto.getId()).isNotNull());
+
+    Episode stored = em.find(Episode.class, created.get(42).getId());
+    assertThat(stored.getTitle()).isEqualTo("Bulk 42");
+    assertThat(stored.getArticle().getId()).isEqualTo(created.get(42).getArticleId());
+    assertThat(stored.getAudio().getArticle().getId()).isEqualTo(stored.getArticle().getId());
+    assertThat(stored.getAudio().getUrlPath()).isEqualTo("https://storage/audio/Bulk 42");
+  }
+
+  @Test
+  void reingestingTheSameArticlesCreatesNothing() {
+    List<CreateSampleDto> samples =
+        IntStream.range(0, 3).mapToObj(i -> sample("Repeated " + i)).toList();
+    List<EpisodeDto> first = episodeAutomationService.createBulkEpisodes(samples).created();
+
+    // Same articles with cosmetic differences, plus one repeated within the payload
+    CreateSampleDto restyled = sample("Repeated 1");
+    restyled.getArticleDto().setTitle("  ARTICLE   repeated 1 ");
+    restyled.getArticleDto().setContentRawUrl("HTTPS://storage/raw/Repeated 1/");
+    List<CreateSampleDto> again =
+        List.of(samples.get(0), restyled, sample("Repeated 3"), sample("Repeated 3"));
+    IngestReport report = episodeAutomationService.createBulkEpisodes(again);
+
+    assertThat(report.created()).extracting(EpisodeDto::getTitle).containsExactly("Repeated 3");
+    assertThat(report.deduplicated()).isEqualTo(3);
+    assertThat(report.failures()).isEmpty();
+
+    EpisodeDto existing = episodeAutomationService.createEpisode(sample("Repeated 2"));
+    assertThat(existing.getId()).isEqualTo(first.get(2).getId());
+    assertThat(
+            jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM articles WHERE title LIKE 'Article Repeated %'",
+                Integer.class))
+        .isEqualTo(4);
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void aFailingEpisodeIsDeadLetteredWithoutDiscardingItsChunk() {
+    List<CreateSampleDto> samples =
+        new ArrayList<>(IntStream.range(0, 5).mapToObj(i -> sample("Chunked " + i)).toList());
+    samples.get(2).getArticleDto().setTitle(null); // violates articles.title NOT NULL
+
+    try {
+      IngestReport report = episodeAutomationService.createBulkEpisodes(samples);
+
+      assertThat(report.created())
+          .extracting(EpisodeDto::getTitle)
+          .containsExactly("Chunked 0", "Chunked 1", "Chunked 3", "Chunked 4");
+      assertThat(report.failures())
+          .singleElement()
+          .satisfies(
+              failure -> {
+                assertThat(failure.index()).isEqualTo(2);
+                assertThat(failure.title()).isEqualTo("Chunked 2");
+              });
+      assertThat(
+              jdbcTemplate.queryForObject(
+                  "SELECT COUNT(*) FROM episodes WHERE title LIKE 'Chunked %'", Integer.class))
+          .isEqualTo(4);
+      assertThat(ingestDeadLetterRepository.findAll())
+          .singleElement()
+          .satisfies(
+              letter -> {
+                assertThat(letter.getSource()).isEqualTo(IngestDeadLetter.Source.BULK);
+                assertThat(letter.getJobId()).isNull();
+                assertThat(letter.getItemIndex()).isEqualTo(2);
+                assertThat(letter.getPayload()).contains("\"title\":\"Chunked 2\"");
+              });
+    } finally {
+      jdbcTemplate.update("DELETE FROM ingest_dead_letters");
+      jdbcTemplate.update("DELETE FROM episodes WHERE title LIKE 'Chunked %'");
+      jdbcTemplate.update(
+          "DELETE FROM audios WHERE url_path LIKE 'https://storage/audio/Chunked %'");
+      jdbcTemplate.update(
+          "DELETE FROM articles WHERE content_raw_url LIKE 'https://storage/raw/Chunked %'");
+    }
+  }
+
+  private static CreateSampleDto sample(String title) {
+    EpisodeDto episode = new EpisodeDto();
+    episode.setTitle(title);
+    episode.setDescription("Description of " + title);
+    episode.setScriptUrlPath("https://storage/script/" + title);
+
+    ArticleDto article = new ArticleDto();
+    article.setTitle("Article " + title);
+    article.setCategory("sports");
+    article.setContentRawUrl("https://storage/raw/" + title);
+    article.setScriptUrl("https://storage/script/" + title);
+
+    AudioDto audio = new AudioDto();
+    audio.setDuration(600);
+    audio.setFormat("mp3");
+    audio.setUrlPath("https://storage/audio/" + title);
+
+    CreateSampleDto sample = new CreateSampleDto();
+    sample.setEpisodeDto(episode);
+    sample.setArticleDto(article);
+    sample.setAudioDto(audio);
+    return sample;
+  }
+}
@@ -0,0 +1,204 @@
+package com.shakhbary.arabic_news_podcast.services.Impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.analytics.DropOffHistograms;
+import com.shakhbary.arabic_news_podcast.analytics.EngagementCounters;
+import com.shakhbary.arabic_news_podcast.cache.EpisodeDetailCache;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressUpdateDto;
+import com.shakhbary.arabic_news_podcast.exceptions.ResourceNotFoundException;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchIndex;
+import com.shakhbary.arabic_news_podcast.services.EpisodeProgressService.UserListeningStatsDto;
+import com.shakhbary.arabic_news_podcast.tracking.ListeningTimeAccumulator;
+import com.shakhbary.arabic_news_podcast.tracking.ProgressWriteBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  EpisodeProgressServiceImpl.class,
+  UserProfileServiceImpl.class,
+  EpisodeServiceImpl.class,
+  EpisodeMapperImpl.class,
+  EpisodeSearchIndex.class,
+  EpisodeDetailCache.class,
+  ProgressWriteBuffer.class,
+  ListeningTimeAccumulator.class,
+  DropOffHistograms.class,
+  EngagementCounters.class,
+  SimpleMeterRegistry.class
+})
+class EpisodeProgressServiceImplTest {
+
+  @Autowired private EpisodeProgressServiceImpl episodeProgressService;
+  @Autowired private UserProfileServiceImpl userProfileService;
+  @Autowired private EpisodeProgressRepository episodeProgressRepository;
+  @Autowired private PlatformTransactionManager transactionManager;
+  @Autowired private JdbcTemplate jdbcTemplate;
+  @Autowired private TestEntityManager em;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void upsertsKeepOneRowWithStickyCompletionAndInitialPlayCount() {
+    User user = CatalogTestData.persistUser(em, "listener");
+    Episode episode = CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now()); // 600s
+    em.flush();
+
+    EpisodeProgressDto created =
+        episodeProgressService.updateProgress(update(episode, 100, false), user.getId());
+    assertThat(created.getLastPositionSeconds()).isEqualTo(100);
+    assertThat(created.isCompleted()).isFalse();
+    assertThat(created.getPlayCount()).isEqualTo(1);
+
+    // 570 of 600 seconds reaches the 95% threshold
+    EpisodeProgressDto autoCompleted =
+        episodeProgressService.updateProgress(update(episode, 570, false), user.getId());
+    assertThat(autoCompleted.getId()).isEqualTo(created.getId());
+    assertThat(autoCompleted.isCompleted()).isTrue();
+    assertThat(autoCompleted.getCompletionPercentage()).isEqualTo(0.95);
+
+    // Seeking back keeps the episode completed
+    EpisodeProgressDto rewound =
+        episodeProgressService.updateProgress(update(episode, 30, false), user.getId());
+    assertThat(rewound.getLastPositionSeconds()).isEqualTo(30);
+    assertThat(rewound.isCompleted()).isTrue();
+    assertThat(rewound.getPlayCount()).isEqualTo(1);
+
+    assertThat(episodeProgressRepository.count()).isEqualTo(1);
+    EpisodeProgress stored =
+        episodeProgressRepository.findByUserAndEpisode(user.getId(), episode.getId()).orElseThrow();
+    assertThat(stored.getLastPositionSeconds()).isEqualTo(30);
+    assertThat(stored.isCompleted()).isTrue();
+  }
+
+  @Test
+  void markEpisodeCompletedCreatesACompletedRow() {
+    User user = CatalogTestData.persistUser(em, "listener");
+    Episode episode = CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now());
+    em.flush();
+
+    userProfileService.markEpisodeCompleted(episode.getId(), 120, user.getId());
+
+    EpisodeProgress stored =
+        episodeProgressRepository.findByUserAndEpisode(user.getId(), episode.getId()).orElseThrow();
+    assertThat(stored.getLastPositionSeconds()).isEqualTo(120);
+    assertThat(stored.isCompleted()).isTrue();
+    assertThat(stored.getPlayCount()).isEqualTo(1);
+  }
+
+  @Test
+  void listeningStatsAreAggregatedInOneStatement() {
+    User user = CatalogTestData.persistUser(em, "listener");
+    user.setSecondsListened(90);
+    User newcomer = CatalogTestData.persistUser(em, "newcomer");
+    List<Episode> episodes = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      episodes.add(CatalogTestData.persistEpisode(em, "Episode " + i, OffsetDateTime.now()));
+    }
+    em.flush();
+    episodeProgressService.updateProgress(update(episodes.get(0), 600, false), user.getId());
+    episodeProgressService.updateProgress(update(episodes.get(1), 300, false), user.getId());
+    episodeProgressService.updateProgress(update(episodes.get(2), 0, false), user.getId());
+    em.clear();
+
+    Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    UserListeningStatsDto stats = episodeProgressService.getUserListeningStats(user.getId());
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+    assertThat(stats.totalListeningSeconds()).isEqualTo(90);
+    assertThat(stats.completedEpisodes()).isEqualTo(1);
+    assertThat(stats.inProgressEpisodes()).isEqualTo(1);
+    assertThat(stats.averageCompletionRate()).isCloseTo(0.5, within(1e-9)); // (1 + 0.5 + 0) / 3
+
+    UserListeningStatsDto empty = episodeProgressService.getUserListeningStats(newcomer.getId());
+    assertThat(empty.completedEpisodes()).isZero();
+    assertThat(empty.inProgressEpisodes()).isZero();
+    assertThat(empty.averageCompletionRate()).isZero();
+    assertThatThrownBy(() -> episodeProgressService.getUserListeningStats(UUID.randomUUID()))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void concurrentFirstWritesDoNotCollideOnTheUniqueKey() throws Exception {
+    TransactionTemplate tx = new TransactionTemplate(transactionManager);
+    User user = tx.execute(status -> CatalogTestData.persistUser(em, "concurrent-listener"));
+    Episode episode =
+        tx.execute(status -> CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now()));
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    try {
+      List<Future<EpisodeProgressDto>> writes = new ArrayList<>();
+      for (int i = 0; i < threads; i++) {
+        long position = 10L * (i + 1);
+        writes.add(
+            pool.submit(
+                () -> {
+                  start.await();
+                  return episodeProgressService.updateProgress(
+                      update(episode, position, false), user.getId());
+                }));
+      }
+      start.countDown();
+      for (Future<EpisodeProgressDto> write : writes) {
+        assertThat(write.get(30, TimeUnit.SECONDS).getPlayCount()).isEqualTo(1);
+      }
+
+      assertThat(episodeProgressRepository.findByUserAndEpisode(user.getId(), episode.getId()))
+          .isPresent();
+      assertThat(episodeProgressRepository.count()).isEqualTo(1);
+    } finally {
+      pool.shutdown();
+      jdbcTemplate.update("DELETE FROM episode_progress WHERE user_id = ?", user.getId());
+      jdbcTemplate.update("DELETE FROM episodes WHERE id = ?", episode.getId());
+      jdbcTemplate.update("DELETE FROM audios WHERE id = ?", episode.getAudio().getId());
+      jdbcTemplate.update("DELETE FROM articles WHERE id = ?", episode.getArticle().getId());
+      jdbcTemplate.update("DELETE FROM users WHERE id = ?", user.getId());
+    }
+  }
+
+  private static EpisodeProgressUpdateDto update(
+      Episode episode, long positionSeconds, boolean completed) {
+    EpisodeProgressUpdateDto dto = new EpisodeProgressUpdateDto();
+    dto.setEpisodeId(episode.getId());
+    dto.setPositionSeconds(positionSeconds);
+    dto.setCompleted(completed);
+    return dto;
+  }
+}
@@ -0,0 +1,287 @@
+package com.shakhbary.arabic_news_podcast.services.Impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.cache.EpisodeDetailCache;
+import com.shakhbary.arabic_news_podcast.dtos.CursorPageDto;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeDto;
+import com.shakhbary.arabic_news_podcast.events.RatingChangedEvent;
+import com.shakhbary.arabic_news_podcast.exceptions.BadRequestException;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  EpisodeServiceImpl.class,
+  EpisodeMapperImpl.class,
+  EpisodeSearchIndex.class,
+  EpisodeDetailCache.class,
+  SimpleMeterRegistry.class
+})
+class EpisodeServiceImplTest {
+
+  @Autowired private EpisodeServiceImpl episodeService;
+  @Autowired private TestEntityManager em;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private EpisodeRatingSummaryRepository episodeRatingSummaryRepository;
+  @Autowired private EpisodeSearchIndex episodeSearchIndex;
+  @Autowired private EpisodeDetailCache episodeDetailCache;
+  @Autowired private SimpleMeterRegistry meterRegistry;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void listEpisodesResolvesRatingsWithConstantNumberOfQueries() {
+    seedRatedEpisodes(40);
+
+    long smallPageQueries = countQueries(() -> episodeService.listEpisodes(PageRequest.of(0, 5)));
+    long largePageQueries = countQueries(() -> episodeService.listEpisodes(PageRequest.of(0, 40)));
+
+    assertThat(largePageQueries).isEqualTo(smallPageQueries);
+  }
+
+  @Test
+  void searchAndDailyResolveRatingsWithConstantNumberOfQueries() {
+    seedRatedEpisodes(30);
+
+    long smallSearch =
+        countQueries(() -> episodeService.searchEpisodes("Episode", null, PageRequest.of(0, 3)));
+    long largeSearch =
+        countQueries(() -> episodeService.searchEpisodes("Episode", null, PageRequest.of(0, 30)));
+    long smallDaily = countQueries(() -> episodeService.listDailyEpisodes(2));
+    long largeDaily = countQueries(() -> episodeService.listDailyEpisodes(30));
+
+    assertThat(largeSearch).isEqualTo(smallSearch);
+    assertThat(largeDaily).isEqualTo(smallDaily);
+  }
+
+  @Test
+  void listViewsLoadArticleAndAudioWithoutPerEpisodeStatements() {
+    seedRatedEpisodes(30);
+
+    long smallList =
+        countStatements(() -> episodeService.listEpisodes(PageRequest.of(0, 3)).getContent());
+    long largeList =
+        countStatements(() -> episodeService.listEpisodes(PageRequest.of(0, 30)).getContent());
+    long smallSearch =
+        countStatements(() -> episodeService.searchEpisodes("Episode", null, PageRequest.of(0, 3)));
+    long largeSearch =
+        countStatements(
+            () -> episodeService.searchEpisodes("Episode", "sports", PageRequest.of(0, 30)));
+    long smallDaily = countStatements(() -> episodeService.listDailyEpisodes(3));
+    long largeDaily = countStatements(() -> episodeService.listDailyEpisodes(30));
+
+    assertThat(largeList).isEqualTo(smallList);
+    assertThat(largeSearch).isEqualTo(smallSearch);
+    assertThat(largeDaily).isEqualTo(smallDaily);
+    assertThat(statistics.getEntityFetchCount()).isZero(); // no lazy article/audio loads
+  }
+
+  @Test
+  void listViewsProjectRowsWithoutLoadingEntitiesAndTruncateInSql() {
+    String longDescription = "\u0623\u062e\u0628\u0627\u0631 ".repeat(60); // 360 chars
+    Episode episode = CatalogTestData.persistEpisode(em, "Long", OffsetDateTime.now());
+    episode.setDescription(longDescription);
+    CatalogTestData.persistEpisode(em, "Short", OffsetDateTime.now().minusMinutes(1));
+    em.flush();
+    em.clear();
+    episodeSearchIndex.rebuild();
+    statistics.clear();
+
+    List<List<EpisodeDto>> views =
+        List.of(
+            episodeService.listEpisodes(PageRequest.of(0, 10)).getContent(),
+            episodeService.listDailyEpisodes(10),
+            episodeService.listEpisodesByCursor(null, 10).content(),
+            episodeService.searchEpisodes("Long", null, PageRequest.of(0, 10)).getContent(),
+            episodeService.searchEpisodes(null, "sports", PageRequest.of(0, 10)).getContent());
+
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    String expected = longDescription.substring(0, 177) + "...";
+    for (List<EpisodeDto> view : views) {
+      EpisodeDto dto = find(view, episode);
+      assertThat(dto.getDescription()).hasSize(180).isEqualTo(expected);
+      assertThat(dto.getAudioUrlPath()).isNotBlank();
+      assertThat(dto.getDurationSeconds()).isEqualTo(600);
+      assertThat(dto.getArticleCategory()).isEqualTo("sports");
+    }
+    assertThat(episodeService.getEpisode(episode.getId()).getDescription())
+        .isEqualTo(longDescription);
+  }
+
+  @Test
+  void searchCountsTotalIndependentlyOfFetchJoins() {
+    seedRatedEpisodes(12);
+
+    Page<EpisodeDto> page = episodeService.searchEpisodes("Episode", null, PageRequest.of(1, 5));
+
+    assertThat(page.getTotalElements()).isEqualTo(12);
+    assertThat(page.getTotalPages()).isEqualTo(3);
+    assertThat(page.getContent()).hasSize(5);
+  }
+
+  @Test
+  void cursorPaginationWalksWholeCatalogIncludingTiesWithoutCounting() {
+    OffsetDateTime sameInstant = OffsetDateTime.now().withNano(0);
+    Set<UUID> expected = new HashSet<>();
+    for (int i = 0; i < 25; i++) {
+      // Groups of five episodes share a creation date, so the id tie-breaker is exercised
+      OffsetDateTime created = sameInstant.minusMinutes(i / 5);
+      expected.add(CatalogTestData.persistEpisode(em, "Episode " + i, created).getId());
+    }
+    em.flush();
+    em.clear();
+
+    List<EpisodeDto> seen = new ArrayList<>();
+    String cursor = null;
+    do {
+      statistics.clear();
+      CursorPageDto<EpisodeDto> slice = episodeService.listEpisodesByCursor(cursor, 7);
+      assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // slice + ratings, no count
+      seen.addAll(slice.content());
+      cursor = slice.nextCursor();
+      assertThat(slice.hasNext()).isEqualTo(cursor != null);
+    } while (cursor != null);
+
+    assertThat(seen).hasSize(25);
+    assertThat(seen.stream().map(EpisodeDto::getId).toList())
+        .doesNotHaveDuplicates()
+        .containsExactlyInAnyOrderElementsOf(expected);
+    assertThat(seen)
+        .extracting(EpisodeDto::getCreationDate)
+        .isSortedAccordingTo(Comparator.reverseOrder());
+  }
+
+  @Test
+  void searchByCursorFiltersAndRejectsMalformedCursor() {
+    seedRatedEpisodes(9);
+
+    CursorPageDto<EpisodeDto> first =
+        episodeService.searchEpisodesByCursor("Episode", null, null, 5);
+    CursorPageDto<EpisodeDto> second =
+        episodeService.searchEpisodesByCursor("Episode", null, first.nextCursor(), 5);
+
+    assertThat(first.content()).hasSize(5);
+    assertThat(second.content()).hasSize(4);
+    assertThat(second.hasNext()).isFalse();
+    assertThatThrownBy(() -> episodeService.listEpisodesByCursor("not-a-cursor", 5))
+        .isInstanceOf(BadRequestException.class);
+  }
+
+  @Test
+  void listEpisodesMapsAggregatedRatings() {
+    User first = CatalogTestData.persistUser(em, "first");
+    User second = CatalogTestData.persistUser(em, "second");
+    Episode rated = CatalogTestData.persistEpisode(em, "Rated", OffsetDateTime.now());
+    Episode unrated =
+        CatalogTestData.persistEpisode(em, "Unrated", OffsetDateTime.now().minusMinutes(1));
+    CatalogTestData.persistRating(em, first, rated, 5);
+    CatalogTestData.persistRating(em, second, rated, 2);
+    em.flush();
+    episodeRatingSummaryRepository.rebuildForEpisodes(List.of(rated.getId(), unrated.getId()));
+    em.clear();
+
+    Page<EpisodeDto> page = episodeService.listEpisodes(PageRequest.of(0, 10));
+
+    EpisodeDto ratedDto = find(page.getContent(), rated);
+    EpisodeDto unratedDto = find(page.getContent(), unrated);
+    assertThat(ratedDto.getAverageRating()).isEqualTo(3.5);
+    assertThat(ratedDto.getRatingCount()).isEqualTo(2);
+    assertThat(unratedDto.getAverageRating()).isZero();
+    assertThat(unratedDto.getRatingCount()).isZero();
+  }
+
+  @Test
+  void getEpisodeServesRepeatReadsFromCacheAndReloadsAfterRatingChanges() {
+    User first = CatalogTestData.persistUser(em, "first");
+    User second = CatalogTestData.persistUser(em, "second");
+    Episode episode = CatalogTestData.persistEpisode(em, "Cached", OffsetDateTime.now());
+    CatalogTestData.persistRating(em, first, episode, 4);
+    em.flush();
+    episodeRatingSummaryRepository.rebuildForEpisodes(List.of(episode.getId()));
+    double hitsBefore =
+        meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count();
+
+    long missStatements = countStatements(() -> episodeService.getEpisode(episode.getId()));
+    long hitStatements = countStatements(() -> episodeService.getEpisode(episode.getId()));
+
+    assertThat(missStatements).isEqualTo(2); // episode with article and audio, rating summary
+    assertThat(hitStatements).isZero();
+    assertThat(meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count())
+        .isEqualTo(hitsBefore + 1);
+
+    CatalogTestData.persistRating(em, second, episode, 2);
+    em.flush();
+    episodeRatingSummaryRepository.rebuildForEpisodes(List.of(episode.getId()));
+    episodeDetailCache.onRatingChanged(
+        new RatingChangedEvent(episode.getId(), second.getId(), 2, null, OffsetDateTime.now()));
+    assertThat(episodeDetailCache.getIfPresent(episode.getId())).isNull();
+
+    EpisodeDto reloaded = episodeService.getEpisode(episode.getId());
+    assertThat(reloaded.getRatingCount()).isEqualTo(2);
+    assertThat(reloaded.getAverageRating()).isEqualTo(3.0);
+  }
+
+  private void seedRatedEpisodes(int count) {
+    User user = CatalogTestData.persistUser(em, "listener");
+    OffsetDateTime now = OffsetDateTime.now();
+    for (int i = 0; i < count; i++) {
+      Episode episode = CatalogTestData.persistEpisode(em, "Episode " + i, now.minusSeconds(i));
+      CatalogTestData.persistRating(em, user, episode, 1 + i % 5);
+    }
+    em.flush();
+    em.clear();
+    episodeSearchIndex.rebuild();
+  }
+
+  private long countQueries(Runnable action) {
+    em.clear();
+    statistics.clear();
+    action.run();
+    return statistics.getQueryExecutionCount();
+  }
+
+  private long countStatements(Runnable action) {
+    em.clear();
+    statistics.clear();
+    action.run();
+    return statistics.getPrepareStatementCount();
+  }
+
+  private EpisodeDto find(List<EpisodeDto> dtos, Episode episode) {
+    return dtos.stream().filter(d -> d.getId().equals(episode.getId())).findFirst().orElseThrow();
+  }
+}
@@ -0,0 +1,142 @@
+package com.shakhbary.arabic_news_podcast.services.Impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.dtos.RatingResponseDto;
+import com.shakhbary.arabic_news_podcast.dtos.StoredRating;
+import com.shakhbary.arabic_news_podcast.mappers.RatingMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.EpisodeRatingSummary;
+import com.shakhbary.arabic_news_podcast.models.Rating;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeRatingSummaryRepository;
+import com.shakhbary.arabic_news_podcast.repositories.RatingRepository;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RatingServiceImpl.class, RatingMapperImpl.class})
+class RatingServiceImplTest {
+
+  @Autowired private RatingServiceImpl ratingService;
+  @Autowired private EpisodeRatingSummaryRepository episodeRatingSummaryRepository;
+  @MockitoSpyBean private RatingRepository ratingRepository;
+  @Autowired private TestEntityManager em;
+
+  @Test
+  void rateEpisodeMaintainsSummaryForInsertsAndReRatings() {
+    Episode episode = CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now());
+    User alice = CatalogTestData.persistUser(em, "alice");
+    User bob = CatalogTestData.persistUser(em, "bob");
+    em.flush();
+
+    ratingService.rateEpisode(episode.getId(), 5, alice.getId());
+    ratingService.rateEpisode(episode.getId(), 2, alice.getId()); // re-rating moves the vote
+    ratingService.rateEpisode(episode.getId(), 4, bob.getId());
+    em.flush();
+    em.clear();
+
+    EpisodeRatingSummary summary =
+        episodeRatingSummaryRepository.findById(episode.getId()).orElseThrow();
+    assertThat(summary.getRatingCount()).isEqualTo(2);
+    assertThat(summary.getRatingSum()).isEqualTo(6);
+    assertThat(summary.getAverageRating()).isEqualTo(3.0);
+    assertThat(summary.getTwoStarCount()).isEqualTo(1);
+    assertThat(summary.getFourStarCount()).isEqualTo(1);
+    assertThat(summary.getFiveStarCount()).isZero();
+  }
+
+  @Test
+  void rebuildMatchesIncrementallyMaintainedSummary() {
+    Episode episode = CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now());
+    User alice = CatalogTestData.persistUser(em, "alice");
+    User bob = CatalogTestData.persistUser(em, "bob");
+    em.flush();
+    ratingService.rateEpisode(episode.getId(), 3, alice.getId());
+    ratingService.rateEpisode(episode.getId(), 1, bob.getId());
+    ratingService.rateEpisode(episode.getId(), 5, bob.getId());
+    em.flush();
+    em.clear();
+    EpisodeRatingSummary incremental =
+        episodeRatingSummaryRepository.findById(episode.getId()).orElseThrow();
+
+    // Simulate drift, then reconcile from the ratings table
+    episodeRatingSummaryRepository.applyDelta(
+        episode.getId(), 40, 10, 10, 0, 0, 0, 0, OffsetDateTime.now());
+    episodeRatingSummaryRepository.rebuildForEpisodes(List.of(episode.getId()));
+    em.clear();
+
+    EpisodeRatingSummary rebuilt =
+        episodeRatingSummaryRepository.findById(episode.getId()).orElseThrow();
+    assertThat(rebuilt.getRatingSum()).isEqualTo(incremental.getRatingSum()).isEqualTo(8);
+    assertThat(rebuilt.getRatingCount()).isEqualTo(incremental.getRatingCount()).isEqualTo(2);
+    assertThat(rebuilt.getOneStarCount()).isZero();
+    assertThat(rebuilt.getThreeStarCount()).isEqualTo(1);
+    assertThat(rebuilt.getFiveStarCount()).isEqualTo(1);
+  }
+
+  @Test
+  void reRatingUpdatesTheSameRowInPlace() {
+    Episode episode = CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now());
+    User alice = CatalogTestData.persistUser(em, "alice");
+    em.flush();
+
+    RatingResponseDto created = ratingService.rateEpisode(episode.getId(), 4, alice.getId());
+    RatingResponseDto updated = ratingService.rateEpisode(episode.getId(), 1, alice.getId());
+
+    assertThat(created.getMessage()).isEqualTo("Rating created successfully");
+    assertThat(updated.getMessage()).isEqualTo("Rating updated successfully");
+    assertThat(updated.getRatingId()).isEqualTo(created.getRatingId());
+    assertThat(updated.getUserId()).isEqualTo(alice.getId());
+    assertThat(updated.getRating()).isEqualTo(1);
+
+    em.clear();
+    Rating stored = ratingRepository.findByUserAndEpisode(alice.getId(), episode.getId());
+    assertThat(stored.getId()).isEqualTo(created.getRatingId());
+    assertThat(stored.getRating()).isEqualTo(1);
+    assertThat(ratingRepository.count()).isEqualTo(1);
+  }
+
+  @Test
+  void firstRatingThatLosesTheInsertRaceIsCountedAsAReRating() {
+    Episode episode = CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now());
+    User alice = CatalogTestData.persistUser(em, "alice");
+    em.flush();
+    RatingResponseDto first = ratingService.rateEpisode(episode.getId(), 5, alice.getId());
+
+    // The concurrent rating is not visible to the first read, only to the insert
+    Optional<StoredRating> stored =
+        ratingRepository.findStoredRatingForUpdate(alice.getId(), episode.getId());
+    doReturn(Optional.empty())
+        .doReturn(stored)
+        .when(ratingRepository)
+        .findStoredRatingForUpdate(alice.getId(), episode.getId());
+    RatingResponseDto second = ratingService.rateEpisode(episode.getId(), 2, alice.getId());
+    em.flush();
+    em.clear();
+
+    assertThat(second.getRatingId()).isEqualTo(first.getRatingId());
+    assertThat(second.getMessage()).isEqualTo("Rating updated successfully");
+    EpisodeRatingSummary summary =
+        episodeRatingSummaryRepository.findById(episode.getId()).orElseThrow();
+    assertThat(summary.getRatingCount()).isEqualTo(1);
+    assertThat(summary.getRatingSum()).isEqualTo(2);
+    assertThat(summary.getFiveStarCount()).isZero();
+    assertThat(summary.getTwoStarCount()).isEqualTo(1);
+    assertThat(ratingRepository.findByUserAndEpisode(alice.getId(), episode.getId()).getRating())
+        .isEqualTo(2);
+  }
+}
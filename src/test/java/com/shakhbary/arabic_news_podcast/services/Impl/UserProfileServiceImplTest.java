@@ -0,0 +1,120 @@
+package com.shakhbary.arabic_news_podcast.services.Impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.analytics.EngagementCounters;
+import com.shakhbary.arabic_news_podcast.cache.EpisodeDetailCache;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeHistoryDto;
+import com.shakhbary.arabic_news_podcast.dtos.UserProfileDto;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchIndex;
+import com.shakhbary.arabic_news_podcast.tracking.ListeningTimeAccumulator;
+import com.shakhbary.arabic_news_podcast.tracking.ProgressWriteBuffer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.OffsetDateTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  UserProfileServiceImpl.class,
+  EpisodeServiceImpl.class,
+  EpisodeMapperImpl.class,
+  EpisodeSearchIndex.class,
+  EpisodeDetailCache.class,
+  ProgressWriteBuffer.class,
+  ListeningTimeAccumulator.class,
+  EngagementCounters.class,
+  SimpleMeterRegistry.class
+})
+class UserProfileServiceImplTest {
+
+  @Autowired private UserProfileServiceImpl userProfileService;
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @Autowired private TestEntityManager em;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @Test
+  void profileCostsTheSameStatementsForShortAndLongHistories() {
+    User casual = seedHistory("casual", 3);
+    User heavy = seedHistory("heavy", 60);
+
+    long casualStatements = countStatements(casual);
+    long heavyStatements = countStatements(heavy);
+
+    // user (with roles), completed count, recent ratings, history, ratings of the history
+    assertThat(heavyStatements).isEqualTo(casualStatements).isLessThanOrEqualTo(6);
+  }
+
+  @Test
+  void profileShowsTheMostRecentRatingsAndHistoryWithTheirRatings() {
+    User user = seedHistory("listener", 30);
+    em.clear();
+
+    UserProfileDto profile = userProfileService.getUserProfile(user.getId(), user.getId());
+
+    assertThat(profile.getRecentRatings()).hasSize(10);
+    assertThat(profile.getRecentRatings())
+        .extracting(UserProfileDto.UserRatingDto::getRatingDate)
+        .isSortedAccordingTo((a, b) -> b.compareTo(a));
+    assertThat(profile.getEpisodeHistory()).hasSize(20);
+    assertThat(profile.getEpisodeHistory())
+        .extracting(EpisodeHistoryDto::getLastPlayedDate)
+        .isSortedAccordingTo((a, b) -> b.compareTo(a));
+    // Every other episode is rated (see seedHistory), the most recent one included
+    EpisodeHistoryDto latest = profile.getEpisodeHistory().get(0);
+    assertThat(latest.getEpisodeTitle()).isEqualTo("listener 29");
+    assertThat(latest.getRatingStatus()).isEqualTo("5 stars");
+    assertThat(profile.getEpisodeHistory().get(1).getRatingStatus()).isEqualTo("Not Rated");
+    assertThat(latest.getCompletionPercentage()).isEqualTo(0.5);
+    assertThat(profile.getTotalEpisodesCompleted()).isZero();
+  }
+
+  private long countStatements(User user) {
+    em.clear();
+    statistics.clear();
+    userProfileService.getUserProfile(user.getId(), user.getId());
+    return statistics.getPrepareStatementCount();
+  }
+
+  /** Persists episodes played at increasing times, rating every other one with 5 stars. */
+  private User seedHistory(String username, int episodes) {
+    User user = CatalogTestData.persistUser(em, username);
+    OffsetDateTime start = OffsetDateTime.now().minusDays(1);
+    for (int i = 0; i < episodes; i++) {
+      Episode episode = CatalogTestData.persistEpisode(em, username + " " + i, start);
+      EpisodeProgress progress = new EpisodeProgress();
+      progress.setUser(user);
+      progress.setEpisode(episode);
+      progress.setLastPositionSeconds(300); // half of the 600-second fixture
+      progress.setLastPlayedDate(start.plusMinutes(i));
+      em.persist(progress);
+      if (i % 2 == 1) {
+        CatalogTestData.persistRating(em, user, episode, 5).setRatingDate(start.plusMinutes(i));
+      }
+    }
+    em.flush();
+    return user;
+  }
+}
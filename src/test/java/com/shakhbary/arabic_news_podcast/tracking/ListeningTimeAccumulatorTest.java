@@ -0,0 +1,125 @@
+package com.shakhbary.arabic_news_podcast.tracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Not transactional: concurrent flushes run on their own connections and must see committed users
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ListeningTimeAccumulator.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ListeningTimeAccumulatorTest {
+
+  private static final int USERS = 3;
+  private static final int THREADS = 8;
+  private static final int REPORTS_PER_THREAD = 20_000;
+
+  @Autowired private ListeningTimeAccumulator accumulator;
+  @Autowired private UserRepository userRepository;
+
+  private final List<UUID> userIds = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    userRepository.deleteAllById(userIds);
+  }
+
+  @Test
+  void concurrentReportsAndFlushesLoseNoSeconds() throws Exception {
+    for (int i = 0; i < USERS; i++) {
+      userIds.add(saveUser("stress-" + i + "-" + UUID.randomUUID()).getId());
+    }
+    AtomicLongArray expected = new AtomicLongArray(USERS);
+    AtomicBoolean reporting = new AtomicBoolean(true);
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+
+    // Keep draining while the reporters run, so reports race with sumThenReset
+    Future<?> flusher =
+        pool.submit(
+            () -> {
+              start.await();
+              while (reporting.get()) {
+                accumulator.flush();
+              }
+              return null;
+            });
+    List<Future<?>> reporters = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      reporters.add(
+          pool.submit(
+              () -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < REPORTS_PER_THREAD; i++) {
+                  int user = random.nextInt(USERS);
+                  long seconds = 1 + random.nextInt(30);
+                  accumulator.add(userIds.get(user), seconds);
+                  expected.addAndGet(user, seconds);
+                }
+                return null;
+              }));
+    }
+
+    start.countDown();
+    for (Future<?> reporter : reporters) {
+      reporter.get(60, TimeUnit.SECONDS);
+    }
+    reporting.set(false);
+    flusher.get(60, TimeUnit.SECONDS);
+    pool.shutdown();
+    accumulator.flush();
+
+    for (int i = 0; i < USERS; i++) {
+      User stored = userRepository.findById(userIds.get(i)).orElseThrow();
+      assertThat(stored.getSecondsListened()).isEqualTo(expected.get(i));
+      assertThat(accumulator.pending(userIds.get(i))).isZero();
+    }
+  }
+
+  @Test
+  void nonPositiveReportsAreIgnored() {
+    UUID userId = saveUser("ignored-" + UUID.randomUUID()).getId();
+    userIds.add(userId);
+
+    accumulator.add(userId, 0);
+    accumulator.add(userId, -5);
+
+    assertThat(accumulator.pending(userId)).isZero();
+    assertThat(accumulator.flush()).isZero();
+  }
+
+  private User saveUser(String username) {
+    User user = new User();
+    user.setUsername(username);
+    user.setEmail(username + "@example.com");
+    user.setPassword("{noop}secret");
+    user.setCreationDate(OffsetDateTime.now());
+    return userRepository.save(user);
+  }
+}
@@ -0,0 +1,167 @@
+package com.shakhbary.arabic_news_podcast.tracking;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.shakhbary.arabic_news_podcast.CatalogTestData;
+import com.shakhbary.arabic_news_podcast.analytics.DropOffHistograms;
+import com.shakhbary.arabic_news_podcast.analytics.EngagementCounters;
+import com.shakhbary.arabic_news_podcast.cache.EpisodeDetailCache;
+import com.shakhbary.arabic_news_podcast.dtos.EpisodeProgressDto;
+import com.shakhbary.arabic_news_podcast.events.ProgressChangedEvent;
+import com.shakhbary.arabic_news_podcast.mappers.EpisodeMapperImpl;
+import com.shakhbary.arabic_news_podcast.models.Episode;
+import com.shakhbary.arabic_news_podcast.models.EpisodeProgress;
+import com.shakhbary.arabic_news_podcast.models.User;
+import com.shakhbary.arabic_news_podcast.repositories.EpisodeProgressRepository;
+import com.shakhbary.arabic_news_podcast.search.EpisodeSearchIndex;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeProgressServiceImpl;
+import com.shakhbary.arabic_news_podcast.services.Impl.EpisodeServiceImpl;
+import com.shakhbary.arabic_news_podcast.services.Impl.UserProfileServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.OffsetDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.context.ActiveProfiles;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({
+  ProgressWriteBuffer.class,
+  ListeningTimeAccumulator.class,
+  DropOffHistograms.class,
+  EngagementCounters.class,
+  UserProfileServiceImpl.class,
+  EpisodeProgressServiceImpl.class,
+  EpisodeServiceImpl.class,
+  EpisodeMapperImpl.class,
+  EpisodeSearchIndex.class,
+  EpisodeDetailCache.class,
+  SimpleMeterRegistry.class,
+  ProgressWriteBufferTest.FailingFlushListener.class
+})
+class ProgressWriteBufferTest {
+
+  /** Lets a test run code inside a flush and then fail it */
+  static class FailingFlushListener {
+    static volatile Runnable duringFailingFlush;
+
+    @EventListener
+    void onProgressChanged(ProgressChangedEvent event) {
+      Runnable action = duringFailingFlush;
+      if (action != null) {
+        duringFailingFlush = null;
+        action.run();
+        throw new IllegalStateException("Simulated flush failure");
+      }
+    }
+  }
+
+  @Autowired private ProgressWriteBuffer progressWriteBuffer;
+  @Autowired private UserProfileServiceImpl userProfileService;
+  @Autowired private EpisodeProgressServiceImpl episodeProgressService;
+  @Autowired private EpisodeProgressRepository episodeProgressRepository;
+  @Autowired private TestEntityManager em;
+
+  private User user;
+  private Episode episode; // 600 seconds long
+
+  @BeforeEach
+  void setUp() {
+    user = CatalogTestData.persistUser(em, "listener");
+    episode = CatalogTestData.persistEpisode(em, "Episode", OffsetDateTime.now());
+    em.flush();
+  }
+
+  @Test
+  void heartbeatsAreCoalescedIntoOneRowAndReadableBeforeFlush() {
+    for (long position = 10; position <= 300; position += 10) {
+      userProfileService.updateEpisodeProgress(episode.getId(), position, user.getId());
+    }
+
+    EpisodeProgressDto unflushed =
+        episodeProgressService.getProgress(episode.getId(), user.getId());
+    assertThat(unflushed.getLastPositionSeconds()).isEqualTo(300);
+    assertThat(unflushed.getCompletionPercentage()).isEqualTo(0.5);
+    assertThat(episodeProgressRepository.findByUserAndEpisode(user.getId(), episode.getId()))
+        .isEmpty();
+
+    assertThat(progressWriteBuffer.flush()).isEqualTo(1);
+    em.clear();
+
+    EpisodeProgress stored = storedProgress();
+    assertThat(stored.getLastPositionSeconds()).isEqualTo(300);
+    assertThat(stored.isCompleted()).isFalse();
+    assertThat(stored.getPlayCount()).isEqualTo(1);
+    assertThat(progressWriteBuffer.pending(user.getId(), episode.getId())).isNull();
+  }
+
+  @Test
+  void heartbeatPastCompletionThresholdMarksEpisodeCompleted() {
+    userProfileService.updateEpisodeProgress(episode.getId(), 100, user.getId());
+    progressWriteBuffer.flush();
+    userProfileService.updateEpisodeProgress(episode.getId(), 590, user.getId());
+    userProfileService.updateEpisodeProgress(
+        episode.getId(), 20, user.getId()); // replay from start
+    progressWriteBuffer.flush();
+    em.clear();
+
+    EpisodeProgress stored = storedProgress();
+    assertThat(stored.getLastPositionSeconds()).isEqualTo(20);
+    assertThat(stored.isCompleted()).isTrue();
+  }
+
+  @Test
+  void olderBufferedHeartbeatDoesNotRewindNewerSynchronousWrite() {
+    progressWriteBuffer.record(
+        user.getId(),
+        episode.getId(),
+        new PendingProgress(100, false, OffsetDateTime.now().minusMinutes(1)));
+    userProfileService.markEpisodeCompleted(episode.getId(), 600, user.getId());
+    em.flush();
+
+    progressWriteBuffer.flush();
+    em.clear();
+
+    EpisodeProgress stored = storedProgress();
+    assertThat(stored.getLastPositionSeconds()).isEqualTo(600);
+    assertThat(stored.isCompleted()).isTrue();
+  }
+
+  @Test
+  void failedFlushKeepsCompletionWhenANewerHeartbeatArrived() {
+    userProfileService.updateEpisodeProgress(episode.getId(), 590, user.getId()); // completes
+    FailingFlushListener.duringFailingFlush =
+        () -> userProfileService.updateEpisodeProgress(episode.getId(), 30, user.getId());
+
+    assertThat(progressWriteBuffer.flush()).isZero();
+
+    PendingProgress retried = progressWriteBuffer.pending(user.getId(), episode.getId());
+    assertThat(retried.positionSeconds()).isEqualTo(30);
+    assertThat(retried.completed()).isTrue();
+
+    assertThat(progressWriteBuffer.flush()).isEqualTo(1);
+    em.clear();
+    EpisodeProgress stored = storedProgress();
+    assertThat(stored.getLastPositionSeconds()).isEqualTo(30);
+    assertThat(stored.isCompleted()).isTrue();
+  }
+
+  @AfterEach
+  void resetFailingFlush() {
+    FailingFlushListener.duringFailingFlush = null;
+  }
+
+  private EpisodeProgress storedProgress() {
+    return episodeProgressRepository
+        .findByUserAndEpisode(user.getId(), episode.getId())
+        .orElseThrow();
+  }
+}